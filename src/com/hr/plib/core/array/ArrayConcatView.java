@@ -0,0 +1,256 @@
+package com.hr.plib.core.array;
+
+import java.security.InvalidParameterException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This is a read-only list that looks like several arrays put end to end,
+ * without copying any of them. Finding an element takes a binary search over
+ * where each array starts, so random access costs O(log k) for k arrays, and
+ * walking the list in order costs nothing extra.
+ * <p>
+ * Changes to the arrays show through the view. When one contiguous array is
+ * really needed, <code>materialize()</code> makes it.
+ * </p>
+ * 
+ * @param <T>
+ *            The type of element.
+ */
+public final class ArrayConcatView<T> extends AbstractList<T> implements
+		RandomAccess {
+
+	/**
+	 * The arrays that are not empty, in order.
+	 */
+	private final T[][] segments;
+
+	/**
+	 * Where each array starts in the view, with the size at the end.
+	 */
+	private final int[] offsets;
+
+	/**
+	 * The first array given, which decides the type of
+	 * <code>materialize()</code>.
+	 */
+	private final T[] first;
+
+	/**
+	 * The array that was used last, which is checked before searching. It is
+	 * only a hint, so it does not matter if threads see each other's values.
+	 */
+	private int lastSegment;
+
+	/**
+	 * This makes a view of arrays put end to end.
+	 * 
+	 * @param first
+	 *            The first array, which also gives the type of
+	 *            <code>materialize()</code>.
+	 * @param rest
+	 *            The other arrays.
+	 * @throws NullPointerException
+	 *             If any array is null.
+	 */
+	@SafeVarargs
+	public ArrayConcatView(T[] first, T[]... rest) {
+		if (first == null || rest == null)
+			throw new NullPointerException("Arrays cannot be null!");
+		this.first = first;
+		@SuppressWarnings("unchecked")
+		T[][] segments = (T[][]) new Object[rest.length + 1][];
+		int[] offsets = new int[rest.length + 2];
+		long total = 0;
+		int count = 0;
+		for (int ix = -1; ix < rest.length; ix++) {
+			T[] array = ix < 0 ? first : rest[ix];
+			if (array == null)
+				throw new NullPointerException("Arrays cannot be null!");
+			else if (array.length == 0)
+				continue;
+			segments[count] = array;
+			offsets[count++] = (int) total;
+			total += array.length;
+		}
+		if (total > Integer.MAX_VALUE)
+			throw new InvalidParameterException(
+					"Too many elements for a list!");
+		offsets[count] = (int) total;
+		this.segments = Arrays.copyOf(segments, count);
+		this.offsets = Arrays.copyOf(offsets, count + 1);
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		int segment = segmentOf(index);
+		return segments[segment][index - offsets[segment]];
+	}
+
+	@Override
+	public int size() {
+		return offsets[segments.length];
+	}
+
+	/**
+	 * @return The number of arrays in the view, not counting empty ones.
+	 */
+	public int getSegmentCount() {
+		return segments.length;
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		for (T[] segment : segments)
+			for (T element : segment)
+				action.accept(element);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			private int segment;
+
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return segment < segments.length;
+			}
+
+			@Override
+			public T next() {
+				if (segment >= segments.length)
+					throw new NoSuchElementException();
+				T element = segments[segment][index];
+				if (++index == segments[segment].length) {
+					segment++;
+					index = 0;
+				}
+				return element;
+			}
+
+		};
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return new ConcatSpliterator(0, size());
+	}
+
+	/**
+	 * This copies the view into one new array, with one
+	 * <code>System.arraycopy</code> for each array in the view.
+	 * 
+	 * @return A new array of every element, of the same type as the first
+	 *         array.
+	 */
+	public T[] materialize() {
+		T[] result = Arrays.copyOf(first, size());
+		for (int ix = 0; ix < segments.length; ix++)
+			System.arraycopy(segments[ix], 0, result, offsets[ix],
+					segments[ix].length);
+		return result;
+	}
+
+	/**
+	 * Finds the array that holds an index.
+	 */
+	private int segmentOf(int index) {
+		int segment = lastSegment;
+		if (index >= offsets[segment] && index < offsets[segment + 1])
+			return segment;
+		segment = Arrays.binarySearch(offsets, 0, segments.length, index);
+		// Not finding the index gives the array that starts after it.
+		if (segment < 0)
+			segment = -segment - 2;
+		lastSegment = segment;
+		return segment;
+	}
+
+	/**
+	 * This splits the view on array boundaries when it can, so that each
+	 * thread of a parallel stream works through whole arrays.
+	 */
+	private final class ConcatSpliterator implements Spliterator<T> {
+
+		/**
+		 * The next index to visit.
+		 */
+		private int index;
+
+		/**
+		 * The index after the last one to visit.
+		 */
+		private final int fence;
+
+		ConcatSpliterator(int index, int fence) {
+			this.index = index;
+			this.fence = fence;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (index >= fence)
+				return false;
+			action.accept(get(index++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			if (index >= fence)
+				return;
+			int segment = segmentOf(index);
+			while (index < fence) {
+				T[] array = segments[segment];
+				int end = Math.min(fence, offsets[segment + 1]);
+				for (int ix = index - offsets[segment], stop = end
+						- offsets[segment]; ix < stop; ix++)
+					action.accept(array[ix]);
+				index = end;
+				segment++;
+			}
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			if (fence - index < 2)
+				return null;
+			int middle = (index + fence) >>> 1;
+			// Moves the split to the closest array boundary, if there is one.
+			if (segmentOf(index) != segmentOf(fence - 1)) {
+				int segment = segmentOf(middle);
+				int before = offsets[segment], after = offsets[segment + 1];
+				boolean closer = middle - before <= after - middle;
+				if (before > index && (closer || after >= fence))
+					middle = before;
+				else if (after < fence)
+					middle = after;
+			}
+			Spliterator<T> prefix = new ConcatSpliterator(index, middle);
+			index = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED;
+		}
+
+	}
+
+}
@@ -0,0 +1,350 @@
+package com.hr.plib.core.array;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * This is the base of the big arrays, which live outside of the Java heap and
+ * are indexed by <code>long</code>, so that they can hold far more than 2^31
+ * elements. The memory is split into chunks of up to 1 GB, each one a direct
+ * or memory-mapped <code>ByteBuffer</code>, and an index is turned into a
+ * chunk and an offset with a shift and a mask.
+ * <p>
+ * Resizing only ever touches the last chunk, so growing a big array one chunk
+ * at a time never copies the data that is already there, and a file-backed
+ * array just maps more of its file. Elements are stored in the native byte
+ * order, so files written on one kind of machine may not read back on
+ * another.
+ * </p>
+ * <p>
+ * Big arrays are not thread safe, except that different threads may write to
+ * different elements at the same time, which is what the parallel fills do.
+ * </p>
+ */
+public abstract class BigArray implements Closeable {
+
+	/**
+	 * The most bytes held by a single chunk, as a power of two.
+	 */
+	static final int CHUNK_SHIFT = 30;
+
+	/**
+	 * The number of elements below which a parallel fill just fills.
+	 */
+	static final long PARALLEL_THRESHOLD = 1 << 16;
+
+	/**
+	 * The number of bytes each task of a parallel fill handles.
+	 */
+	private static final long PARALLEL_PIECE = 1 << 22;
+
+	/**
+	 * The size of each element, as a power of two.
+	 */
+	private final int elementShift;
+
+	/**
+	 * The chunks of memory.
+	 */
+	ByteBuffer[] chunks = new ByteBuffer[0];
+
+	/**
+	 * The number of elements.
+	 */
+	private long length;
+
+	/**
+	 * The most elements this array has ever had room for. Anything past the
+	 * length but before this may hold old values and is cleared when the
+	 * array grows back over it.
+	 */
+	private long highWater;
+
+	/**
+	 * The file this array is mapped to, or null if it is just in memory.
+	 */
+	private FileChannel channel;
+
+	/**
+	 * This makes an empty big array.
+	 * 
+	 * @param elementShift
+	 *            - The size of each element, as a power of two.
+	 */
+	BigArray(int elementShift) {
+		this.elementShift = elementShift;
+	}
+
+	/**
+	 * This maps the array to a file, which is created if it does not exist.
+	 * Whatever the file already holds becomes the first elements of the
+	 * array.
+	 * 
+	 * @param file
+	 *            - The file.
+	 * @param length
+	 *            - The number of elements.
+	 * @throws IOException
+	 *             - If the file cannot be opened or mapped.
+	 */
+	void mapTo(File file, long length) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long existing = channel.size() >> elementShift;
+		try {
+			resize(length);
+		} catch (RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		// Anything in the file past the end of the array counts as old values.
+		highWater = Math.max(highWater, existing);
+	}
+
+	/**
+	 * @return The number of elements.
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * @return True if this array is backed by a file, else false.
+	 */
+	public boolean isMapped() {
+		return channel != null;
+	}
+
+	/**
+	 * This changes the number of elements. Growing only adds chunks, or
+	 * remaps the file, and new elements start out as zero. At most the last
+	 * chunk is ever copied.
+	 * 
+	 * @param newLength
+	 *            - The new number of elements.
+	 * @throws InvalidParameterException
+	 *             - If the length is negative or too big.
+	 * @throws UncheckedIOException
+	 *             - If a file-backed array cannot be remapped.
+	 */
+	public void resize(long newLength) {
+		if (newLength < 0 || newLength > Long.MAX_VALUE >> elementShift)
+			throw new InvalidParameterException("Invalid length!");
+		int chunkElementShift = CHUNK_SHIFT - elementShift;
+		long perChunk = 1L << chunkElementShift;
+		long chunkCount = (newLength + perChunk - 1) >>> chunkElementShift;
+		if (chunkCount > Integer.MAX_VALUE)
+			throw new InvalidParameterException("Invalid length!");
+		ByteBuffer[] next = Arrays.copyOf(chunks, (int) chunkCount);
+		for (int ix = 0; ix < next.length; ix++) {
+			long start = (long) ix << chunkElementShift;
+			int bytes = (int) (Math.min(perChunk, newLength - start)
+					<< elementShift);
+			ByteBuffer chunk = next[ix];
+			if (chunk != null && chunk.limit() == bytes)
+				continue;
+			try {
+				next[ix] = resizeChunk(ix, chunk, bytes);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		chunks = next;
+		long oldLength = length;
+		length = newLength;
+		// Clears anything left over from when the array was longer.
+		long stale = Math.min(newLength, highWater);
+		if (stale > oldLength)
+			fillBytes(oldLength, stale, ByteBuffer.allocate(1 << elementShift),
+					false);
+		highWater = Math.max(highWater, newLength);
+	}
+
+	/**
+	 * This writes any changes to a file-backed array out to the file. It does
+	 * nothing for arrays that are only in memory.
+	 */
+	public void force() {
+		if (channel == null)
+			return;
+		for (ByteBuffer chunk : chunks) {
+			((MappedByteBuffer) chunk).force();
+		}
+	}
+
+	/**
+	 * This lets go of the memory, after writing out any changes if the array
+	 * is backed by a file. The array is empty afterwards. Direct memory is
+	 * given back once the garbage collector notices it is unused.
+	 * 
+	 * @throws IOException
+	 *             - If the file cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		force();
+		chunks = new ByteBuffer[0];
+		length = 0;
+		highWater = 0;
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * Copies a range of elements between two big arrays of the same type.
+	 */
+	static void copy(BigArray src, long srcIndex, BigArray dst,
+			long dstIndex, long count) {
+		if (src == null || dst == null)
+			throw new NullPointerException("Array cannot be null!");
+		else if (count < 0 || srcIndex < 0 || dstIndex < 0
+				|| srcIndex > src.length - count
+				|| dstIndex > dst.length - count)
+			throw new IndexOutOfBoundsException("Invalid range!");
+		int shift = src.elementShift;
+		long from = srcIndex << shift, to = dstIndex << shift;
+		long remaining = count << shift;
+		int mask = (1 << CHUNK_SHIFT) - 1;
+		while (remaining > 0) {
+			ByteBuffer in = src.chunks[(int) (from >>> CHUNK_SHIFT)]
+					.duplicate();
+			ByteBuffer out = dst.chunks[(int) (to >>> CHUNK_SHIFT)].duplicate();
+			int inOffset = (int) (from & mask), outOffset = (int) (to & mask);
+			int n = (int) Math.min(remaining, Math.min(in.limit() - inOffset,
+					out.limit() - outOffset));
+			in.limit(inOffset + n).position(inOffset);
+			out.position(outOffset);
+			out.put(in);
+			from += n;
+			to += n;
+			remaining -= n;
+		}
+	}
+
+	/**
+	 * Makes sure that a range of elements is inside the array.
+	 */
+	void checkRange(long from, long to) {
+		if (from < 0 || to > length || from > to)
+			throw new IndexOutOfBoundsException("Invalid range!");
+	}
+
+	/**
+	 * Gets the chunk that holds an element.
+	 */
+	ByteBuffer chunkOf(long index) {
+		return chunks[(int) (index >>> (CHUNK_SHIFT - elementShift))];
+	}
+
+	/**
+	 * Gets the byte offset of an element inside its chunk.
+	 */
+	int offsetOf(long index) {
+		return (int) (index << elementShift) & ((1 << CHUNK_SHIFT) - 1);
+	}
+
+	/**
+	 * Gets a duplicate of the chunk holding an element, positioned at the
+	 * element and limited to at most a number of elements.
+	 */
+	ByteBuffer window(long index, long maxElements) {
+		ByteBuffer window = chunkOf(index).duplicate().order(
+				ByteOrder.nativeOrder());
+		int offset = offsetOf(index);
+		long end = Math.min(window.limit(), offset
+				+ (maxElements << elementShift));
+		window.limit((int) end).position(offset);
+		return window;
+	}
+
+	/**
+	 * Fills a range of elements by repeatedly copying one element's worth of
+	 * bytes, optionally splitting the work across the common fork/join pool.
+	 */
+	void fillBytes(long from, long to, ByteBuffer element, boolean parallel) {
+		checkRange(from, to);
+		// Builds a block of copies so that the fill is done with bulk copies.
+		int size = 1 << elementShift;
+		final ByteBuffer block = ByteBuffer.allocate(8192);
+		for (int ix = 0; ix < block.capacity(); ix += size) {
+			for (int iy = 0; iy < size; iy++) {
+				block.put(ix + iy, element.get(iy));
+			}
+		}
+		final long start = from << elementShift, end = to << elementShift;
+		if (!parallel || to - from < PARALLEL_THRESHOLD) {
+			fillRange(start, end, block);
+			return;
+		}
+		long pieces = (end - start + PARALLEL_PIECE - 1) / PARALLEL_PIECE;
+		LongStream.range(0, pieces).parallel().forEach(piece -> {
+			long pieceStart = start + piece * PARALLEL_PIECE;
+			fillRange(pieceStart, Math.min(end, pieceStart + PARALLEL_PIECE),
+					block);
+		});
+	}
+
+	/**
+	 * Fills a range of bytes from a block of copies of an element.
+	 */
+	private void fillRange(long start, long end, ByteBuffer block) {
+		int mask = (1 << CHUNK_SHIFT) - 1;
+		while (start < end) {
+			ByteBuffer out = chunks[(int) (start >>> CHUNK_SHIFT)].duplicate();
+			int offset = (int) (start & mask);
+			int n = (int) Math.min(end - start, out.limit() - offset);
+			out.position(offset);
+			for (int left = n; left > 0;) {
+				ByteBuffer src = block.duplicate();
+				src.limit(Math.min(left, src.capacity()));
+				left -= src.remaining();
+				out.put(src);
+			}
+			start += n;
+		}
+	}
+
+	/**
+	 * Makes a chunk hold exactly a number of bytes, reusing what it can.
+	 */
+	private ByteBuffer resizeChunk(int index, ByteBuffer chunk, int bytes)
+			throws IOException {
+		if (channel != null)
+			// Mapping past the end of the file grows it, with zeros.
+			return channel.map(FileChannel.MapMode.READ_WRITE,
+					(long) index << CHUNK_SHIFT, bytes).order(
+					ByteOrder.nativeOrder());
+		else if (chunk != null && bytes <= chunk.capacity()) {
+			chunk.limit(bytes);
+			return chunk;
+		}
+		// Doubles the room so that growing a bit at a time stays cheap.
+		int capacity = bytes;
+		if (chunk != null)
+			capacity = (int) Math.min(1L << CHUNK_SHIFT,
+					Math.max(bytes, 2L * chunk.capacity()));
+		ByteBuffer bigger = ByteBuffer.allocateDirect(capacity).order(
+				ByteOrder.nativeOrder());
+		if (chunk != null) {
+			ByteBuffer old = chunk.duplicate();
+			old.position(0);
+			bigger.put(old);
+			bigger.clear();
+		}
+		bigger.limit(bytes);
+		return bigger;
+	}
+
+}
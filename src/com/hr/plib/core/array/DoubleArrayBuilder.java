@@ -0,0 +1,251 @@
+package com.hr.plib.core.array;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * This builds a <code>double</code> array one element at a time, for when the
+ * final size is not known ahead of time. It is the fast way to do what
+ * calling <code>PLArrays.resizeArray()</code> in a loop does, which copies
+ * the whole array on every call.
+ * <p>
+ * By default the elements sit in one array that doubles whenever it runs out
+ * of room, so adding n elements copies fewer than 2n in total. In chunked
+ * mode, full chunks are kept as they are and a new chunk twice as big is
+ * started instead, so nothing is ever copied until <code>build()</code> puts
+ * the chunks together, with one <code>System.arraycopy</code> per chunk.
+ * </p>
+ */
+public class DoubleArrayBuilder {
+
+	/**
+	 * The capacity used when none is given.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Whether full chunks are kept rather than copied.
+	 */
+	private final boolean chunked;
+
+	/**
+	 * The chunks that are already full, in chunked mode.
+	 */
+	private double[][] chunks;
+
+	/**
+	 * The number of full chunks.
+	 */
+	private int chunkCount;
+
+	/**
+	 * The number of elements in the full chunks.
+	 */
+	private int chunkedSize;
+
+	/**
+	 * The array currently being filled.
+	 */
+	private double[] current;
+
+	/**
+	 * The number of elements in the current array.
+	 */
+	private int size;
+
+	/**
+	 * This makes an empty builder that keeps its elements in one array.
+	 */
+	public DoubleArrayBuilder() {
+		this(DEFAULT_CAPACITY, false);
+	}
+
+	/**
+	 * This makes an empty builder.
+	 * 
+	 * @param initialCapacity
+	 *            - The number of elements to make room for at first.
+	 * @param chunked
+	 *            - True to keep full chunks rather than copy them when more
+	 *            room is needed.
+	 * @throws InvalidParameterException
+	 *             - If the capacity is negative.
+	 */
+	public DoubleArrayBuilder(int initialCapacity, boolean chunked) {
+		if (initialCapacity < 0)
+			throw new InvalidParameterException("Invalid capacity!");
+		this.chunked = chunked;
+		current = new double[initialCapacity];
+	}
+
+	/**
+	 * This adds an element to the end.
+	 * 
+	 * @param value
+	 *            - The element.
+	 */
+	public void add(double value) {
+		if (size == current.length)
+			grow(1);
+		current[size++] = value;
+	}
+
+	/**
+	 * This adds every element of an array to the end.
+	 * 
+	 * @param array
+	 *            - The array.
+	 */
+	public void addAll(double[] array) {
+		addAll(array, 0, array.length);
+	}
+
+	/**
+	 * This adds part of an array to the end.
+	 * 
+	 * @param array
+	 *            - The array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public void addAll(double[] array, int start, int end) {
+		if (array == null)
+			throw new NullPointerException("Array cannot be null!");
+		else if (start < 0 || end > array.length || start > end)
+			throw new InvalidParameterException("Invalid start or end!");
+		while (start < end) {
+			if (size == current.length)
+				grow(end - start);
+			int count = Math.min(end - start, current.length - size);
+			System.arraycopy(array, start, current, size, count);
+			size += count;
+			start += count;
+		}
+	}
+
+	/**
+	 * This gets an element that was already added.
+	 * 
+	 * @param index
+	 *            - The index of the element.
+	 * @return The element.
+	 */
+	public double get(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		if (index >= chunkedSize)
+			return current[index - chunkedSize];
+		// Chunks double in size, so this is a short walk.
+		for (int ix = 0;; ix++) {
+			if (index < chunks[ix].length)
+				return chunks[ix][index];
+			index -= chunks[ix].length;
+		}
+	}
+
+	/**
+	 * @return The number of elements added so far.
+	 */
+	public int size() {
+		return chunkedSize + size;
+	}
+
+	/**
+	 * @return True if this is in chunked mode, else false.
+	 */
+	public boolean isChunked() {
+		return chunked;
+	}
+
+	/**
+	 * This removes every element. The current array is kept for reuse, and
+	 * any full chunks are let go.
+	 */
+	public void clear() {
+		chunks = null;
+		chunkCount = 0;
+		chunkedSize = 0;
+		size = 0;
+	}
+
+	/**
+	 * This shrinks the storage so that it holds exactly the elements, putting
+	 * the chunks together first in chunked mode. Nothing is copied if the
+	 * storage is already exact.
+	 */
+	public void trimToSize() {
+		if (chunkCount == 0 && size == current.length)
+			return;
+		current = toArray();
+		size = current.length;
+		chunks = null;
+		chunkCount = 0;
+		chunkedSize = 0;
+	}
+
+	/**
+	 * This copies the elements into a new array, leaving the builder as it
+	 * is.
+	 * 
+	 * @return The elements.
+	 */
+	public double[] toArray() {
+		double[] result = new double[size()];
+		int offset = 0;
+		for (int ix = 0; ix < chunkCount; ix++) {
+			System.arraycopy(chunks[ix], 0, result, offset, chunks[ix].length);
+			offset += chunks[ix].length;
+		}
+		System.arraycopy(current, 0, result, offset, size);
+		return result;
+	}
+
+	/**
+	 * This hands over the elements as an array and empties the builder. If
+	 * the elements already fill one array exactly, that array is handed over
+	 * without being copied.
+	 * 
+	 * @return The elements.
+	 */
+	public double[] build() {
+		double[] result = chunkCount == 0 && size == current.length ? current
+				: toArray();
+		current = new double[chunked ? current.length : 0];
+		chunks = null;
+		chunkCount = 0;
+		chunkedSize = 0;
+		size = 0;
+		return result;
+	}
+
+	/**
+	 * Makes room for at least some more elements.
+	 */
+	private void grow(int needed) {
+		long wanted = Math.max((long) current.length * 2, Math.max(
+				DEFAULT_CAPACITY, needed));
+		if (size() + (long) needed > Integer.MAX_VALUE - 8)
+			throw new OutOfMemoryError("Too many elements for an array!");
+		int capacity = (int) Math.min(wanted, Integer.MAX_VALUE - 8 - size());
+		if (!chunked) {
+			current = Arrays.copyOf(current, capacity);
+			return;
+		}
+		// Keeps the full array as a chunk and starts a new one.
+		if (size > 0) {
+			if (chunks == null)
+				chunks = new double[8][];
+			else if (chunkCount == chunks.length)
+				chunks = Arrays.copyOf(chunks, chunkCount * 2);
+			chunks[chunkCount++] = current;
+			chunkedSize += size;
+		}
+		current = new double[capacity];
+		size = 0;
+	}
+
+}
\ No newline at end of file
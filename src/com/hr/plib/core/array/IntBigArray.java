@@ -0,0 +1,222 @@
+package com.hr.plib.core.array;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * This is an array of <code>int</code> values that lives outside of the Java
+ * heap and is indexed by <code>long</code>, so it can hold billions of
+ * elements. It can also be backed by a memory-mapped file.
+ * 
+ * @see BigArray
+ */
+public class IntBigArray extends BigArray {
+
+	/**
+	 * This makes a big array in direct memory with every element set to 0.
+	 * 
+	 * @param length
+	 *            - The number of elements.
+	 */
+	public IntBigArray(long length) {
+		super(2);
+		resize(length);
+	}
+
+	/**
+	 * Makes an empty big array, to be mapped.
+	 */
+	private IntBigArray() {
+		super(2);
+	}
+
+	/**
+	 * This makes a big array backed by a file, which is created if it does
+	 * not exist. Whatever the file already holds becomes the first elements,
+	 * and changes are written back to it.
+	 * 
+	 * @param file
+	 *            - The file.
+	 * @param length
+	 *            - The number of elements.
+	 * @return The big array, which should be closed once it is finished with.
+	 * @throws IOException
+	 *             - If the file cannot be opened or mapped.
+	 */
+	public static IntBigArray map(File file, long length) throws IOException {
+		IntBigArray array = new IntBigArray();
+		array.mapTo(file, length);
+		return array;
+	}
+
+	/**
+	 * This makes a big array holding a copy of a normal array.
+	 * 
+	 * @param array
+	 *            - The array to copy.
+	 * @return The big array.
+	 */
+	public static IntBigArray of(int[] array) {
+		IntBigArray big = new IntBigArray(array.length);
+		big.copyFrom(array, 0, 0, array.length);
+		return big;
+	}
+
+	/**
+	 * This copies a range of elements from one big array to another. The
+	 * ranges must not overlap if both are the same array.
+	 * 
+	 * @param src
+	 *            - The array to copy from.
+	 * @param srcIndex
+	 *            - The index of the first element to copy.
+	 * @param dst
+	 *            - The array to copy to.
+	 * @param dstIndex
+	 *            - The index to copy the first element to.
+	 * @param count
+	 *            - The number of elements to copy.
+	 */
+	public static void copy(IntBigArray src, long srcIndex, IntBigArray dst,
+			long dstIndex, long count) {
+		BigArray.copy(src, srcIndex, dst, dstIndex, count);
+	}
+
+	/**
+	 * @param index
+	 *            - The index of the element.
+	 * @return The element.
+	 */
+	public int get(long index) {
+		return chunkOf(index).getInt(offsetOf(index));
+	}
+
+	/**
+	 * @param index
+	 *            - The index of the element.
+	 * @param value
+	 *            - The new value.
+	 */
+	public void set(long index, int value) {
+		chunkOf(index).putInt(offsetOf(index), value);
+	}
+
+	/**
+	 * This copies part of a normal array into this one.
+	 * 
+	 * @param src
+	 *            - The array to copy from.
+	 * @param srcIndex
+	 *            - The index of the first element to copy.
+	 * @param index
+	 *            - The index in this array to copy the first element to.
+	 * @param count
+	 *            - The number of elements to copy.
+	 */
+	public void copyFrom(int[] src, int srcIndex, long index, int count) {
+		checkRange(index, index + count);
+		for (int left = count; left > 0;) {
+			IntBuffer window = window(index, left).asIntBuffer();
+			int n = window.remaining();
+			window.put(src, srcIndex, n);
+			srcIndex += n;
+			index += n;
+			left -= n;
+		}
+	}
+
+	/**
+	 * This copies part of this array into a normal array.
+	 * 
+	 * @param index
+	 *            - The index in this array of the first element to copy.
+	 * @param dst
+	 *            - The array to copy to.
+	 * @param dstIndex
+	 *            - The index to copy the first element to.
+	 * @param count
+	 *            - The number of elements to copy.
+	 */
+	public void copyTo(long index, int[] dst, int dstIndex, int count) {
+		checkRange(index, index + count);
+		for (int left = count; left > 0;) {
+			IntBuffer window = window(index, left).asIntBuffer();
+			int n = window.remaining();
+			window.get(dst, dstIndex, n);
+			dstIndex += n;
+			index += n;
+			left -= n;
+		}
+	}
+
+	/**
+	 * This sets every element to a value.
+	 * 
+	 * @param value
+	 *            - The value.
+	 */
+	public void fill(int value) {
+		fill(0, length(), value);
+	}
+
+	/**
+	 * This sets a range of elements to a value.
+	 * 
+	 * @param from
+	 *            - The index of the first element to set.
+	 * @param to
+	 *            - The index just past the last element to set.
+	 * @param value
+	 *            - The value.
+	 */
+	public void fill(long from, long to, int value) {
+		fillBytes(from, to, ByteBuffer.allocate(4)
+				.order(ByteOrder.nativeOrder()).putInt(0, value), false);
+	}
+
+	/**
+	 * This sets every element to a value, splitting the work across the
+	 * common fork/join pool when the array is big enough.
+	 * 
+	 * @param value
+	 *            - The value.
+	 */
+	public void parallelFill(int value) {
+		parallelFill(0, length(), value);
+	}
+
+	/**
+	 * This sets a range of elements to a value, splitting the work across the
+	 * common fork/join pool when the range is big enough.
+	 * 
+	 * @param from
+	 *            - The index of the first element to set.
+	 * @param to
+	 *            - The index just past the last element to set.
+	 * @param value
+	 *            - The value.
+	 */
+	public void parallelFill(long from, long to, int value) {
+		fillBytes(from, to, ByteBuffer.allocate(4)
+				.order(ByteOrder.nativeOrder()).putInt(0, value), true);
+	}
+
+	/**
+	 * This copies this array into a normal array.
+	 * 
+	 * @return The array.
+	 * @throws OutOfMemoryError
+	 *             - If this has too many elements for a normal array.
+	 */
+	public int[] toArray() {
+		if (length() > Integer.MAX_VALUE - 8)
+			throw new OutOfMemoryError("Too many elements for an array!");
+		int[] array = new int[(int) length()];
+		copyTo(0, array, 0, array.length);
+		return array;
+	}
+
+}
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.hr.plib.core.array;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
+import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import com.hr.plib.core.string.PLRandStrings;
+import com.hr.plib.core.string.StringCache;
 
 /**
  * This is the personal library's array methods. These methods are related to an
@@ -42,6 +46,81 @@ public final class PLArrays {
 		return result;
 	}
 
+	/**
+	 * This method concatenates 2 big arrays together into a new one.
+	 * 
+	 * @param first
+	 *            The first array.
+	 * @param second
+	 *            The second array.
+	 * @return A new big array which is the first concatenating the second.
+	 *         Returns any non-null variable if given one null value and null
+	 *         if both arrays are null.
+	 */
+	public static ByteBigArray concat(ByteBigArray first, ByteBigArray second) {
+		// Error checking.
+		if (first == null) {
+			if (second == null)
+				return null;
+			return second;
+		} else if (second == null)
+			return first;
+		ByteBigArray result = new ByteBigArray(first.length() + second.length());
+		ByteBigArray.copy(first, 0, result, 0, first.length());
+		ByteBigArray.copy(second, 0, result, first.length(), second.length());
+		return result;
+	}
+
+	/**
+	 * This method concatenates 2 big arrays together into a new one.
+	 * 
+	 * @param first
+	 *            The first array.
+	 * @param second
+	 *            The second array.
+	 * @return A new big array which is the first concatenating the second.
+	 *         Returns any non-null variable if given one null value and null
+	 *         if both arrays are null.
+	 */
+	public static IntBigArray concat(IntBigArray first, IntBigArray second) {
+		// Error checking.
+		if (first == null) {
+			if (second == null)
+				return null;
+			return second;
+		} else if (second == null)
+			return first;
+		IntBigArray result = new IntBigArray(first.length() + second.length());
+		IntBigArray.copy(first, 0, result, 0, first.length());
+		IntBigArray.copy(second, 0, result, first.length(), second.length());
+		return result;
+	}
+
+	/**
+	 * This method concatenates 2 big arrays together into a new one.
+	 * 
+	 * @param first
+	 *            The first array.
+	 * @param second
+	 *            The second array.
+	 * @return A new big array which is the first concatenating the second.
+	 *         Returns any non-null variable if given one null value and null
+	 *         if both arrays are null.
+	 */
+	public static LongBigArray concat(LongBigArray first, LongBigArray second) {
+		// Error checking.
+		if (first == null) {
+			if (second == null)
+				return null;
+			return second;
+		} else if (second == null)
+			return first;
+		LongBigArray result = new LongBigArray(first.length() + second.length());
+		LongBigArray.copy(first, 0, result, 0, first.length());
+		LongBigArray.copy(second, 0, result, first.length(), second.length());
+		return result;
+	}
+
 	/**
 	 * This concatenates 2 arbitrary number arrays with a length greater than 1.
 	 * 
@@ -70,8 +149,29 @@ public final class PLArrays {
 	}
 
 	/**
-	 * This is effectively the same thing as
-	 * <code>findStrings(objects, 100)</code>. Useful for saving time.
+	 * This puts arrays end to end like <code>concatAll()</code>, but returns
+	 * a read-only view of them rather than copying them. It is the better
+	 * choice when the result is only walked through once.
+	 * 
+	 * @param first
+	 *            The first array.
+	 * @param rest
+	 *            The other arrays.
+	 * @return A view of every array in order. Returns null if any null
+	 *         arguments are passed on to this method.
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public static <T> ArrayConcatView<T> concatView(T[] first, T[]... rest) {
+		if (first == null || rest == null)
+			return null;
+		return new ArrayConcatView<>(first, rest);
+	}
+
+	/**
+	 * This method converts any array into an array of strings by calling each
+	 * object's toString method. The strings go straight into an array of the
+	 * right size.
 	 * 
 	 * @param objects
 	 *            The array to convert.
@@ -79,31 +179,85 @@ public final class PLArrays {
 	 * @return An array of the object's toString() methods.
 	 */
 	public static String[] findStrings(Object[] objects) {
-		return findStrings(objects, 100);
+		return findStrings(objects, new String[objects.length]);
 	}
 
 	/**
 	 * This method converts any array into an array of strings by iteratively
-	 * calling each object's toString method. It uses an ArrayList with a set
-	 * size. The size defaults to zero should the initialCapacity be invalid.
+	 * calling each object's toString method. The strings now go straight into
+	 * an array of the right size, so the capacity is not needed anymore.
 	 * 
 	 * @param objects
 	 *            The array to covert.
 	 * @param initialCapacity
-	 *            The initial capacity of the ArrayList. If it is less than 1,
-	 *            then it will be set to 100.
+	 *            This is ignored, and only kept so that old callers still
+	 *            work.
 	 * @return An array of the object array's <code>toString()</code> methods.
 	 */
 	public static String[] findStrings(Object[] objects, int intitalCapacity) {
-		// Makes an array of strings, and initializes it to a real value.
-		ArrayList<String> strings = new ArrayList<String>(
-				(intitalCapacity > 0) ? intitalCapacity : 100);
-		// Goes through each object and add's its toString result.
+		return findStrings(objects);
+	}
+
+	/**
+	 * This method converts any array into an array of strings by calling each
+	 * object's toString method, putting them into an array that is already
+	 * there. Reusing the same array means nothing is allocated here.
+	 * 
+	 * @param objects
+	 *            The array to convert.
+	 * @param strings
+	 *            The array to put the strings in, which must be at least as
+	 *            long as the objects.
+	 * @return The strings array.
+	 */
+	public static String[] findStrings(Object[] objects, String[] strings) {
+		if (strings.length < objects.length)
+			throw new InvalidParameterException("Strings array is too short!");
+		// Goes through each object and adds its toString result.
+		for (int ix = 0; ix < objects.length; ix++) {
+			strings[ix] = objects[ix].toString();
+		}
+		return strings;
+	}
+
+	/**
+	 * This method converts any array into an array of strings by calling each
+	 * object's toString method, spreading the calls over several threads for
+	 * large arrays if asked to.
+	 * 
+	 * @param objects
+	 *            The array to convert.
+	 * @param parallel
+	 *            True to call toString from several threads at once, which
+	 *            is only done if the array is long enough to be worth it.
+	 * @return An array of the object array's <code>toString()</code> methods.
+	 */
+	public static String[] findStrings(Object[] objects, boolean parallel) {
+		if (!parallel || objects.length < PLParallelArrays.PARALLEL_THRESHOLD)
+			return findStrings(objects);
+		String[] strings = new String[objects.length];
+		Arrays.parallelSetAll(strings, ix -> objects[ix].toString());
+		return strings;
+	}
+
+	/**
+	 * This method converts any array into an array of strings, getting each
+	 * string from a cache so that toString is only called the first time an
+	 * object is seen. This is meant for immutable objects that are turned
+	 * into strings over and over.
+	 * 
+	 * @param objects
+	 *            The array to convert.
+	 * @param cache
+	 *            The cache of strings.
+	 * @return An array of the object array's <code>toString()</code> methods.
+	 */
+	public static String[] findStrings(Object[] objects, StringCache cache) {
+		String[] strings = new String[objects.length];
 		for (int ix = 0; ix < objects.length; ix++) {
-			strings.add(objects[ix].toString());
+			strings[ix] = cache.get(objects[ix]);
 		}
-		// Returns the strings as an array.
-		return strings.toArray(new String[strings.size()]);
+		return strings;
 	}
 
 	/**
@@ -129,6 +283,8 @@ public final class PLArrays {
 
 	/**
 	 * This method nullifies an array and sets all of it's values to null.
+	 * Large arrays are cleared in parallel by
+	 * <code>PLParallelArrays.clear()</code>.
 	 * 
 	 * @param array
 	 *            The array to nullify.
@@ -137,6 +293,8 @@ public final class PLArrays {
 	public static <T> T[] nullifyArray(T[] array) {
 		if (array == null)
 			return null;
+		if (array.length >= PLParallelArrays.PARALLEL_THRESHOLD)
+			return PLParallelArrays.clear(array);
 		for (int ix = 0; ix < array.length; ix++) {
 			array[ix] = null;
 		}
@@ -145,7 +303,11 @@ public final class PLArrays {
 
 	/**
 	 * Reallocates an array with a new size, and copies the contents of the old
-	 * array to the new array.
+	 * array to the new array. Big arrays are resized in place with
+	 * <code>BigArray.resize()</code> instead, which copies at most their last
+	 * chunk. To grow an array a little at a time, use <code>ArrayBuilder</code>
+	 * or one of the primitive builders, since calling this in a loop copies the
+	 * whole array every time.
 	 * 
 	 * @param oldArray
 	 *            The old array, to be reallocated.
@@ -188,327 +350,1225 @@ public final class PLArrays {
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D boolean array.
+	 * This returns a generic representation of a 1-D boolean array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The boolean array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(boolean[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D boolean array.
+	 * 
+	 * @param array
+	 *            The boolean array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(boolean[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 5,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D boolean array.
+	 * This writes a generic representation of a 1-D boolean array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The boolean array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, boolean[] array,
+			String separator) throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 5, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D boolean array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The boolean array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(boolean[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (boolean[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D boolean array. Large
+	 * arrays have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The boolean array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(boolean[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 5, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D boolean array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The boolean array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, boolean[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (boolean[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D byte array.
+	 * This returns a generic representation of a 1-D byte array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The byte array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(byte[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D byte array.
+	 * 
+	 * @param array
+	 *            The byte array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(byte[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 4,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D byte array.
+	 * This writes a generic representation of a 1-D byte array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The byte array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, byte[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 4, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D byte array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The byte array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(byte[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (byte[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D byte array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The byte array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(byte[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 4, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D byte array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The byte array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, byte[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (byte[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D char array.
+	 * This returns a generic representation of a 1-D char array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The char array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(char[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D char array.
+	 * 
+	 * @param array
+	 *            The char array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(char[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 1,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D char array.
+	 * This writes a generic representation of a 1-D char array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The char array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, char[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 1, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D char array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The char array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(char[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (char[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D char array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The char array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(char[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 1, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D char array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The char array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, char[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (char[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D double array.
+	 * This returns a generic representation of a 1-D double array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The double array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(double[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D double array.
+	 * 
+	 * @param array
+	 *            The double array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(double[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 20,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D double array.
+	 * This writes a generic representation of a 1-D double array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The double array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, double[] array,
+			String separator) throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 20, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D double array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The double array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(double[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (double[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D double array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The double array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(double[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 20, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D double array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The double array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, double[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (double[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D float array.
+	 * This returns a generic representation of a 1-D float array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The float array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(float[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D float array.
+	 * 
+	 * @param array
+	 *            The float array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(float[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 12,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D float array.
+	 * This writes a generic representation of a 1-D float array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The float array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, float[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 12, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D float array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The float array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(float[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (float[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D float array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The float array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(float[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 12, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D float array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The float array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, float[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (float[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D integer array.
+	 * This returns a generic representation of a 1-D int array, with the values
+	 * separated by spaces.
 	 * 
 	 * @param array
-	 *            The integer array to represent.
+	 *            The int array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(int[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D int array.
+	 * 
+	 * @param array
+	 *            The int array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(int[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 8,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D integer array.
+	 * This writes a generic representation of a 1-D int array to an Appendable,
+	 * such as a Writer, a piece at a time rather than building the whole string
+	 * first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The int array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, int[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 8, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D int array, with the values
+	 * separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
-	 *            The integer array to represent.
+	 *            The int array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(int[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (int[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D int array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The int array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(int[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 8, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D int array to an Appendable,
+	 * such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The int array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, int[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (int[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D long array.
+	 * This returns a generic representation of a 1-D long array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The long array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(long[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D long array.
+	 * 
+	 * @param array
+	 *            The long array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(long[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 12,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D long array.
+	 * This writes a generic representation of a 1-D long array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The long array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, long[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 12, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D long array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The long array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(long[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (long[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D long array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The long array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(long[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 12, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D long array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The long array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, long[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (long[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 1-D short array.
+	 * This returns a generic representation of a 1-D short array, with the
+	 * values separated by spaces.
 	 * 
 	 * @param array
 	 *            The short array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(short[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a generic representation of a 1-D short array.
+	 * 
+	 * @param array
+	 *            The short array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(short[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 6,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a generic representation of a 2-D short array.
+	 * This writes a generic representation of a 1-D short array to an
+	 * Appendable, such as a Writer, a piece at a time rather than building the
+	 * whole string first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The short array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, short[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 6, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D short array, with the
+	 * values separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The short array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static String toString(short[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (short[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a generic representation of a 2-D short array. Large arrays
+	 * have their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The short array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static String toString(short[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 6, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a generic representation of a 2-D short array to an
+	 * Appendable, such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The short array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static void appendTo(Appendable out, short[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (short[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
-		return builder.toString();
 	}
 
 	/**
-	 * This returns a representation of a 1-D generic array.
+	 * This returns a representation of a 1-D generic array, with the values
+	 * separated by spaces.
 	 * 
 	 * @param array
 	 *            The generic array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static <T> String toString(T[] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through each value and adds it the the StringBuilder.
-		for (int x = 0; x < array.length; x++) {
-			builder.append(array[x] + (x == array.length - 1 ? "" : " "));
-		}
+		return toString(array, " ");
+	}
+
+	/**
+	 * This returns a representation of a 1-D generic array.
+	 * 
+	 * @param array
+	 *            The generic array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @return A string that represents the array's values.
+	 */
+	public static <T> String toString(T[] array, String separator) {
+		// Sizes the StringBuilder up front so that it rarely has to grow.
+		StringBuilder builder = new StringBuilder(capacity(array.length, 12,
+				separator));
+		format(builder, array, 0, array.length, separator);
 		// Returns the final string.
 		return builder.toString();
 	}
 
 	/**
-	 * This returns a representation of a 2-D generic array.
+	 * This writes a representation of a 1-D generic array to an Appendable,
+	 * such as a Writer, a piece at a time rather than building the whole string
+	 * first.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The generic array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static <T> void appendTo(Appendable out, T[] array, String separator)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			format((StringBuilder) out, array, 0, array.length, separator);
+			return;
+		}
+		StringBuilder builder = new StringBuilder(capacity(Math.min(
+				array.length, APPEND_ELEMENTS), 12, separator));
+		// Formats and writes one slice of the array at a time.
+		for (int from = 0; from < array.length; from += APPEND_ELEMENTS) {
+			format(builder, array, from, Math.min(array.length, from
+					+ APPEND_ELEMENTS), separator);
+			out.append(builder);
+			builder.setLength(0);
+		}
+	}
+
+	/**
+	 * This returns a representation of a 2-D generic array, with the values
+	 * separated by spaces and each row ending in a new line.
 	 * 
 	 * @param array
 	 *            The generic array to represent.
 	 * @return A string that represents the array's values.
 	 */
 	public static <T> String toString(T[][] array) {
-		// Makes a StringBuilder to add the strings.
-		StringBuilder builder = new StringBuilder();
-		// Loops through and adds each array.
-		for (T[] arr : array) {
-			builder.append(toString(arr) + "\n");
+		return toString(array, " ", "\n");
+	}
+
+	/**
+	 * This returns a representation of a 2-D generic array. Large arrays have
+	 * their rows formatted in parallel.
+	 * 
+	 * @param array
+	 *            The generic array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @return A string that represents the array's values.
+	 */
+	public static <T> String toString(T[][] array, String separator,
+			String rowSeparator) {
+		return formatRows(array, 12, separator, rowSeparator);
+	}
+
+	/**
+	 * This writes a representation of a 2-D generic array to an Appendable,
+	 * such as a Writer, a row at a time.
+	 * 
+	 * @param out
+	 *            Where to write the string.
+	 * @param array
+	 *            The generic array to represent.
+	 * @param separator
+	 *            The string put between values.
+	 * @param rowSeparator
+	 *            The string put after each row.
+	 * @throws IOException
+	 *             If the Appendable fails.
+	 */
+	public static <T> void appendTo(Appendable out, T[][] array,
+			String separator, String rowSeparator) throws IOException {
+		for (T[] row : array) {
+			appendTo(out, row, separator);
+			out.append(rowSeparator);
 		}
-		// Returns the final string.
+	}
+
+	/**
+	 * The number of values formatted at a time when writing to an Appendable.
+	 */
+	private static final int APPEND_ELEMENTS = 1 << 12;
+
+	/**
+	 * The number of values in a 2-D array past which its rows are formatted
+	 * in parallel.
+	 */
+	private static final int PARALLEL_FORMAT_THRESHOLD = 1 << 16;
+
+	/**
+	 * Guesses how long a formatted array will be.
+	 */
+	private static int capacity(long length, int width, String separator) {
+		return (int) Math.min(length * (width + separator.length()),
+				Integer.MAX_VALUE - 8);
+	}
+
+	/**
+	 * Formats the rows of a 2-D array, in parallel if it is large, and joins
+	 * them.
+	 */
+	private static String formatRows(Object[] rows, int width,
+			String separator, String rowSeparator) {
+		long total = 0;
+		for (Object row : rows)
+			total += row == null ? 1 : Array.getLength(row);
+		if (rows.length < 2 || total < PARALLEL_FORMAT_THRESHOLD) {
+			StringBuilder builder = new StringBuilder(capacity(total
+					+ rows.length, width, separator));
+			for (Object row : rows) {
+				formatRow(builder, row, separator);
+				builder.append(rowSeparator);
+			}
+			return builder.toString();
+		}
+		// Formats every row on its own, then joins them in order.
+		String[] parts = new String[rows.length];
+		IntStream.range(0, rows.length).parallel().forEach(ix -> {
+			Object row = rows[ix];
+			StringBuilder part = new StringBuilder(capacity(row == null ? 1
+					: Array.getLength(row), width, separator));
+			formatRow(part, row, separator);
+			parts[ix] = part.toString();
+		});
+		long length = (long) rows.length * rowSeparator.length();
+		for (String part : parts)
+			length += part.length();
+		StringBuilder builder = new StringBuilder((int) Math.min(length,
+				Integer.MAX_VALUE - 8));
+		for (String part : parts)
+			builder.append(part).append(rowSeparator);
 		return builder.toString();
 	}
 
+	/**
+	 * Formats one row of any type of 2-D array.
+	 */
+	private static void formatRow(StringBuilder builder, Object row,
+			String separator) {
+		if (row instanceof int[])
+			format(builder, (int[]) row, 0, ((int[]) row).length, separator);
+		else if (row instanceof long[])
+			format(builder, (long[]) row, 0, ((long[]) row).length, separator);
+		else if (row instanceof double[])
+			format(builder, (double[]) row, 0, ((double[]) row).length,
+					separator);
+		else if (row instanceof float[])
+			format(builder, (float[]) row, 0, ((float[]) row).length,
+					separator);
+		else if (row instanceof short[])
+			format(builder, (short[]) row, 0, ((short[]) row).length,
+					separator);
+		else if (row instanceof byte[])
+			format(builder, (byte[]) row, 0, ((byte[]) row).length, separator);
+		else if (row instanceof char[])
+			format(builder, (char[]) row, 0, ((char[]) row).length, separator);
+		else if (row instanceof boolean[])
+			format(builder, (boolean[]) row, 0, ((boolean[]) row).length,
+					separator);
+		else if (row instanceof Object[])
+			format(builder, (Object[]) row, 0, ((Object[]) row).length,
+					separator);
+		else
+			throw new NullPointerException("Row cannot be null!");
+	}
+
+	/**
+	 * Appends part of a boolean array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, boolean[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a byte array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, byte[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a char array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, char[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a double array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, double[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a float array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, float[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a int array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, int[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a long array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, long[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of a short array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, short[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
+	/**
+	 * Appends part of an Object array straight to a StringBuilder, with no
+	 * temporary strings.
+	 */
+	private static void format(StringBuilder builder, Object[] array, int from,
+			int to, String separator) {
+		for (int x = from; x < to; x++) {
+			if (x > 0)
+				builder.append(separator);
+			builder.append(array[x]);
+		}
+	}
+
 }
\ No newline at end of file
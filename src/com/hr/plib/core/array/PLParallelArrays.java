@@ -0,0 +1,670 @@
+package com.hr.plib.core.array;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * This is the personal library's parallel array methods. Each one splits the
+ * array into ranges that run on the common <code>ForkJoinPool</code>, but
+ * arrays shorter than <code>PARALLEL_THRESHOLD</code> are just done on the
+ * calling thread, since handing them out would cost more than it saves.
+ * <p>
+ * The functions given to these methods may be called from many threads at
+ * once and in any order, so they should not have side effects.
+ * </p>
+ */
+public final class PLParallelArrays {
+
+	/**
+	 * The number of elements below which the methods run sequentially.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * The most ranges an array is split into for each thread in the pool.
+	 */
+	private static final int RANGES_PER_THREAD = 4;
+
+	/**
+	 * This is a piece of work over one range of an array.
+	 */
+	private interface RangeTask {
+
+		/**
+		 * Does the work for the range.
+		 * 
+		 * @param from
+		 *            The first index of the range.
+		 * @param to
+		 *            The index after the last one of the range.
+		 */
+		void run(int from, int to);
+	}
+
+	/**
+	 * Turns an int array into its running sums, so that each element becomes
+	 * the sum of itself and every element before it.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @return The same array.
+	 */
+	public static int[] prefixSum(int[] array) {
+		return prefix(array, Integer::sum);
+	}
+
+	/**
+	 * Turns a long array into its running sums, so that each element becomes
+	 * the sum of itself and every element before it.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @return The same array.
+	 */
+	public static long[] prefixSum(long[] array) {
+		return prefix(array, Long::sum);
+	}
+
+	/**
+	 * Turns a double array into its running sums, so that each element
+	 * becomes the sum of itself and every element before it. Since the sums
+	 * are grouped differently in parallel, the results may differ from a
+	 * sequential loop by rounding error.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @return The same array.
+	 */
+	public static double[] prefixSum(double[] array) {
+		return prefix(array, Double::sum);
+	}
+
+	/**
+	 * Runs an operator cumulatively over an int array, so that each element
+	 * becomes the operator applied to the element before it and itself.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @param op
+	 *            An associative operator.
+	 * @return The same array.
+	 */
+	public static int[] prefix(int[] array, IntBinaryOperator op) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			for (int ix = 1; ix < array.length; ix++)
+				array[ix] = op.applyAsInt(array[ix - 1], array[ix]);
+		} else
+			Arrays.parallelPrefix(array, op);
+		return array;
+	}
+
+	/**
+	 * Runs an operator cumulatively over a long array, so that each element
+	 * becomes the operator applied to the element before it and itself.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @param op
+	 *            An associative operator.
+	 * @return The same array.
+	 */
+	public static long[] prefix(long[] array, LongBinaryOperator op) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			for (int ix = 1; ix < array.length; ix++)
+				array[ix] = op.applyAsLong(array[ix - 1], array[ix]);
+		} else
+			Arrays.parallelPrefix(array, op);
+		return array;
+	}
+
+	/**
+	 * Runs an operator cumulatively over a double array, so that each element
+	 * becomes the operator applied to the element before it and itself.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @param op
+	 *            An associative operator.
+	 * @return The same array.
+	 */
+	public static double[] prefix(double[] array, DoubleBinaryOperator op) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			for (int ix = 1; ix < array.length; ix++)
+				array[ix] = op.applyAsDouble(array[ix - 1], array[ix]);
+		} else
+			Arrays.parallelPrefix(array, op);
+		return array;
+	}
+
+	/**
+	 * Runs an operator cumulatively over an array, so that each element
+	 * becomes the operator applied to the element before it and itself.
+	 * 
+	 * @param array
+	 *            The array, which is changed in place.
+	 * @param op
+	 *            An associative operator.
+	 * @return The same array.
+	 */
+	public static <T> T[] prefix(T[] array, BinaryOperator<T> op) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			for (int ix = 1; ix < array.length; ix++)
+				array[ix] = op.apply(array[ix - 1], array[ix]);
+		} else
+			Arrays.parallelPrefix(array, op);
+		return array;
+	}
+
+	/**
+	 * Applies a function to every element of an int array.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param function
+	 *            The function.
+	 * @return A new array of the results.
+	 */
+	public static int[] map(int[] array, IntUnaryOperator function) {
+		int[] result = new int[array.length];
+		forEachRange(array.length, (from, to) -> {
+			for (int ix = from; ix < to; ix++)
+				result[ix] = function.applyAsInt(array[ix]);
+		});
+		return result;
+	}
+
+	/**
+	 * Applies a function to every element of a long array.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param function
+	 *            The function.
+	 * @return A new array of the results.
+	 */
+	public static long[] map(long[] array, LongUnaryOperator function) {
+		long[] result = new long[array.length];
+		forEachRange(array.length, (from, to) -> {
+			for (int ix = from; ix < to; ix++)
+				result[ix] = function.applyAsLong(array[ix]);
+		});
+		return result;
+	}
+
+	/**
+	 * Applies a function to every element of a double array.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param function
+	 *            The function.
+	 * @return A new array of the results.
+	 */
+	public static double[] map(double[] array, DoubleUnaryOperator function) {
+		double[] result = new double[array.length];
+		forEachRange(array.length, (from, to) -> {
+			for (int ix = from; ix < to; ix++)
+				result[ix] = function.applyAsDouble(array[ix]);
+		});
+		return result;
+	}
+
+	/**
+	 * Keeps the elements of an int array that pass a test, in their order.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param predicate
+	 *            The test, which is called once for each element.
+	 * @return A new array of the elements that passed.
+	 */
+	public static int[] filter(int[] array, IntPredicate predicate) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			int[] result = new int[array.length];
+			int count = 0;
+			for (int value : array)
+				if (predicate.test(value))
+					result[count++] = value;
+			return Arrays.copyOf(result, count);
+		}
+		boolean[] keep = new boolean[array.length];
+		int ranges = rangeCount(array.length);
+		int[] starts = countKept(array.length, ranges, (from, to) -> {
+			for (int ix = from; ix < to; ix++)
+				keep[ix] = predicate.test(array[ix]);
+		}, keep);
+		int[] result = new int[starts[starts.length - 1]];
+		forEachRange(array.length, ranges, (from, to) -> {
+			int out = starts[rangeOf(array.length, ranges, from)];
+			for (int ix = from; ix < to; ix++)
+				if (keep[ix])
+					result[out++] = array[ix];
+		});
+		return result;
+	}
+
+	/**
+	 * Keeps the elements of a long array that pass a test, in their order.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param predicate
+	 *            The test, which is called once for each element.
+	 * @return A new array of the elements that passed.
+	 */
+	public static long[] filter(long[] array, LongPredicate predicate) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			long[] result = new long[array.length];
+			int count = 0;
+			for (long value : array)
+				if (predicate.test(value))
+					result[count++] = value;
+			return Arrays.copyOf(result, count);
+		}
+		boolean[] keep = new boolean[array.length];
+		int ranges = rangeCount(array.length);
+		int[] starts = countKept(array.length, ranges, (from, to) -> {
+			for (int ix = from; ix < to; ix++)
+				keep[ix] = predicate.test(array[ix]);
+		}, keep);
+		long[] result = new long[starts[starts.length - 1]];
+		forEachRange(array.length, ranges, (from, to) -> {
+			int out = starts[rangeOf(array.length, ranges, from)];
+			for (int ix = from; ix < to; ix++)
+				if (keep[ix])
+					result[out++] = array[ix];
+		});
+		return result;
+	}
+
+	/**
+	 * Keeps the elements of a double array that pass a test, in their order.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param predicate
+	 *            The test, which is called once for each element.
+	 * @return A new array of the elements that passed.
+	 */
+	public static double[] filter(double[] array, DoublePredicate predicate) {
+		if (array.length < PARALLEL_THRESHOLD) {
+			double[] result = new double[array.length];
+			int count = 0;
+			for (double value : array)
+				if (predicate.test(value))
+					result[count++] = value;
+			return Arrays.copyOf(result, count);
+		}
+		boolean[] keep = new boolean[array.length];
+		int ranges = rangeCount(array.length);
+		int[] starts = countKept(array.length, ranges, (from, to) -> {
+			for (int ix = from; ix < to; ix++)
+				keep[ix] = predicate.test(array[ix]);
+		}, keep);
+		double[] result = new double[starts[starts.length - 1]];
+		forEachRange(array.length, ranges, (from, to) -> {
+			int out = starts[rangeOf(array.length, ranges, from)];
+			for (int ix = from; ix < to; ix++)
+				if (keep[ix])
+					result[out++] = array[ix];
+		});
+		return result;
+	}
+
+	/**
+	 * Sets every element of an int array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static int[] fill(int[] array, int value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a long array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static long[] fill(long[] array, long value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a double array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static double[] fill(double[] array, double value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a float array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static float[] fill(float[] array, float value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a short array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static short[] fill(short[] array, short value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a byte array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static byte[] fill(byte[] array, byte value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a char array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static char[] fill(char[] array, char value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of a boolean array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static boolean[] fill(boolean[] array, boolean value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of an array to a value.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @param value
+	 *            The value.
+	 * @return The same array.
+	 */
+	public static <T> T[] fill(T[] array, T value) {
+		forEachRange(array.length, (from, to) -> Arrays.fill(array, from, to,
+				value));
+		return array;
+	}
+
+	/**
+	 * Sets every element of an array to null, so that what they referred to
+	 * can be garbage collected. This is the parallel version of
+	 * <code>PLArrays.nullifyArray()</code>.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The same array, or null if the array is null.
+	 */
+	public static <T> T[] clear(T[] array) {
+		if (array == null)
+			return null;
+		return fill(array, null);
+	}
+
+	/**
+	 * This concatenates int arrays together, copying the arrays at the same
+	 * time.
+	 * 
+	 * @param arrays
+	 *            The arrays.
+	 * @return A new array of every array in order.
+	 */
+	public static int[] concatAll(int[]... arrays) {
+		int[] offsets = offsets(arrays);
+		int[] result = new int[offsets[arrays.length]];
+		copyAll(arrays, offsets, result);
+		return result;
+	}
+
+	/**
+	 * This concatenates long arrays together, copying the arrays at the same
+	 * time.
+	 * 
+	 * @param arrays
+	 *            The arrays.
+	 * @return A new array of every array in order.
+	 */
+	public static long[] concatAll(long[]... arrays) {
+		int[] offsets = offsets(arrays);
+		long[] result = new long[offsets[arrays.length]];
+		copyAll(arrays, offsets, result);
+		return result;
+	}
+
+	/**
+	 * This concatenates double arrays together, copying the arrays at the
+	 * same time.
+	 * 
+	 * @param arrays
+	 *            The arrays.
+	 * @return A new array of every array in order.
+	 */
+	public static double[] concatAll(double[]... arrays) {
+		int[] offsets = offsets(arrays);
+		double[] result = new double[offsets[arrays.length]];
+		copyAll(arrays, offsets, result);
+		return result;
+	}
+
+	/**
+	 * This concatenates arrays together, copying the arrays at the same time.
+	 * It works like <code>PLArrays.concatAll()</code>.
+	 * 
+	 * @param first
+	 *            The first array, which also gives the type of the result.
+	 * @param rest
+	 *            The other arrays.
+	 * @return A new array of every array in order. Returns null if any null
+	 *         arguments are passed on to this method.
+	 */
+	@SafeVarargs
+	public static <T> T[] concatAll(T[] first, T[]... rest) {
+		if (first == null || rest == null)
+			return null;
+		Object[] arrays = new Object[rest.length + 1];
+		arrays[0] = first;
+		for (int ix = 0; ix < rest.length; ix++)
+			arrays[ix + 1] = rest[ix];
+		int[] offsets = offsets(arrays);
+		@SuppressWarnings("unchecked")
+		T[] result = (T[]) Array.newInstance(first.getClass()
+				.getComponentType(), offsets[arrays.length]);
+		copyAll(arrays, offsets, result);
+		return result;
+	}
+
+	/**
+	 * Works out where each array starts in the concatenated array, with the
+	 * total length at the end.
+	 */
+	private static int[] offsets(Object[] arrays) {
+		int[] offsets = new int[arrays.length + 1];
+		long total = 0;
+		for (int ix = 0; ix < arrays.length; ix++) {
+			offsets[ix] = (int) total;
+			total += Array.getLength(arrays[ix]);
+		}
+		if (total > Integer.MAX_VALUE - 8)
+			throw new OutOfMemoryError("Too many elements for an array!");
+		offsets[arrays.length] = (int) total;
+		return offsets;
+	}
+
+	/**
+	 * Copies every array into its place in the result, splitting large
+	 * arrays up so that they are copied by several threads.
+	 */
+	private static void copyAll(Object[] arrays, int[] offsets, Object result) {
+		int total = offsets[arrays.length];
+		if (total < PARALLEL_THRESHOLD) {
+			for (int ix = 0; ix < arrays.length; ix++)
+				System.arraycopy(arrays[ix], 0, result, offsets[ix],
+						offsets[ix + 1] - offsets[ix]);
+			return;
+		}
+		// Copies ranges of the result, each from whichever arrays it covers.
+		forEachRange(total, (from, to) -> {
+			int ix = Arrays.binarySearch(offsets, 0, arrays.length, from);
+			if (ix < 0)
+				ix = -ix - 2;
+			while (from < to) {
+				// Skips over empty arrays that share an offset.
+				while (offsets[ix + 1] <= from)
+					ix++;
+				int count = Math.min(to, offsets[ix + 1]) - from;
+				System.arraycopy(arrays[ix], from - offsets[ix], result, from,
+						count);
+				from += count;
+			}
+		});
+	}
+
+	/**
+	 * Runs a test over every range and works out where the elements each
+	 * range keeps will start, with the total at the end.
+	 */
+	private static int[] countKept(int length, int ranges, RangeTask test,
+			boolean[] keep) {
+		int[] starts = new int[ranges + 1];
+		forEachRange(length, ranges, (from, to) -> {
+			test.run(from, to);
+			int count = 0;
+			for (int ix = from; ix < to; ix++)
+				if (keep[ix])
+					count++;
+			starts[rangeOf(length, ranges, from) + 1] = count;
+		});
+		for (int ix = 1; ix <= ranges; ix++)
+			starts[ix] += starts[ix - 1];
+		return starts;
+	}
+
+	/**
+	 * Works out how many ranges an array of some length is split into.
+	 */
+	private static int rangeCount(int length) {
+		if (length < PARALLEL_THRESHOLD)
+			return 1;
+		int most = Runtime.getRuntime().availableProcessors()
+				* RANGES_PER_THREAD;
+		return (int) Math.min(most, (length + (long) PARALLEL_THRESHOLD - 1)
+				/ PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Works out where a range starts. Rounding up here is what lets
+	 * <code>rangeOf()</code> round down.
+	 */
+	private static int rangeStart(int length, int ranges, int range) {
+		return (int) (((long) length * range + ranges - 1) / ranges);
+	}
+
+	/**
+	 * Works out which range starts at an index.
+	 */
+	private static int rangeOf(int length, int ranges, int from) {
+		return (int) ((long) from * ranges / length);
+	}
+
+	/**
+	 * Runs a task over every range of an array, in parallel if the array is
+	 * long enough.
+	 */
+	private static void forEachRange(int length, RangeTask task) {
+		forEachRange(length, rangeCount(length), task);
+	}
+
+	/**
+	 * Runs a task over a number of ranges of an array. Operations that run
+	 * more than one pass give every pass the same count, since the number
+	 * of processors can change between them.
+	 */
+	private static void forEachRange(int length, int ranges, RangeTask task) {
+		if (ranges == 1) {
+			task.run(0, length);
+			return;
+		}
+		IntStream.range(0, ranges).parallel().forEach(range -> {
+			task.run(rangeStart(length, ranges, range), rangeStart(length,
+					ranges, range + 1));
+		});
+	}
+
+	/**
+	 * This class only has static methods.
+	 */
+	private PLParallelArrays() {
+	}
+
+}
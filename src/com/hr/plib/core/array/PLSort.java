@@ -0,0 +1,1340 @@
+package com.hr.plib.core.array;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.hr.plib.core.math.PLMath;
+
+/**
+ * This is the personal library's sorting and searching methods for primitive
+ * arrays, so that callers do not have to box everything through
+ * <code>PList.asList()</code>.
+ * <p>
+ * The sorts are least significant digit radix sorts, one byte at a time, so
+ * they take linear time. Floating point values are turned into integers that
+ * sort in the same order first, which puts -0.0 before 0.0 and NaN last, like
+ * <code>Arrays.sort()</code>. The set operations work on sorted arrays and
+ * gallop ahead through long runs, so that intersecting a small array with a
+ * huge one only costs a few binary searches. Duplicates are treated as a
+ * multiset, so a value that shows up twice in both arrays shows up twice in
+ * their intersection.
+ * </p>
+ * <p>
+ * Every method has a parallel version that splits the work over the common
+ * <code>ForkJoinPool</code> once the input is long enough.
+ * </p>
+ */
+public final class PLSort {
+
+	/**
+	 * The number of elements below which the parallel methods run
+	 * sequentially.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	/**
+	 * The number of elements below which sorting just uses
+	 * <code>Arrays.sort()</code>.
+	 */
+	private static final int RADIX_THRESHOLD = 256;
+
+	/**
+	 * The number of elements below which selection just sorts what is left.
+	 */
+	private static final int SELECT_THRESHOLD = 16;
+
+	/**
+	 * The number of values a digit can have.
+	 */
+	private static final int RADIX = 256;
+
+	/**
+	 * This is a piece of work over one block of an array.
+	 */
+	private interface BlockTask {
+
+		/**
+		 * Does the work for the block.
+		 * 
+		 * @param block
+		 *            The index of the block.
+		 * @param from
+		 *            The first index of the block.
+		 * @param to
+		 *            The index after the last one of the block.
+		 */
+		void run(int block, int from, int to);
+	}
+
+	/**
+	 * This sorts an int array into ascending order.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void radixSort(int[] array) {
+		sort(array, false);
+	}
+
+	/**
+	 * This sorts an int array into ascending order, using several threads if
+	 * it is long enough.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void parallelRadixSort(int[] array) {
+		sort(array, true);
+	}
+
+	/**
+	 * This sorts a long array into ascending order.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void radixSort(long[] array) {
+		sort(array, false);
+	}
+
+	/**
+	 * This sorts a long array into ascending order, using several threads if
+	 * it is long enough.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void parallelRadixSort(long[] array) {
+		sort(array, true);
+	}
+
+	/**
+	 * This sorts a float array into ascending order. NaN values all come out
+	 * as the standard NaN.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void radixSort(float[] array) {
+		sort(array, false);
+	}
+
+	/**
+	 * This sorts a float array into ascending order, using several threads if
+	 * it is long enough. NaN values all come out as the standard NaN.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void parallelRadixSort(float[] array) {
+		sort(array, true);
+	}
+
+	/**
+	 * This sorts a double array into ascending order. NaN values all come out
+	 * as the standard NaN.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void radixSort(double[] array) {
+		sort(array, false);
+	}
+
+	/**
+	 * This sorts a double array into ascending order, using several threads
+	 * if it is long enough. NaN values all come out as the standard NaN.
+	 * 
+	 * @param array
+	 *            The array, which is sorted in place.
+	 */
+	public static void parallelRadixSort(double[] array) {
+		sort(array, true);
+	}
+
+	/**
+	 * This works out the order that would sort an int array, without changing
+	 * it. Equal values keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] argsort(int[] array) {
+		return argsort(array, false);
+	}
+
+	/**
+	 * This works out the order that would sort an int array, without changing
+	 * it, using several threads if it is long enough. Equal values keep their
+	 * order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] parallelArgsort(int[] array) {
+		return argsort(array, true);
+	}
+
+	/**
+	 * This works out the order that would sort a long array, without
+	 * changing it. Equal values keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] argsort(long[] array) {
+		return argsort(array, false);
+	}
+
+	/**
+	 * This works out the order that would sort a long array, without
+	 * changing it, using several threads if it is long enough. Equal values
+	 * keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] parallelArgsort(long[] array) {
+		return argsort(array, true);
+	}
+
+	/**
+	 * This works out the order that would sort a float array, without
+	 * changing it. Equal values keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] argsort(float[] array) {
+		return argsort(array, false);
+	}
+
+	/**
+	 * This works out the order that would sort a float array, without
+	 * changing it, using several threads if it is long enough. Equal values
+	 * keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] parallelArgsort(float[] array) {
+		return argsort(array, true);
+	}
+
+	/**
+	 * This works out the order that would sort a double array, without
+	 * changing it. Equal values keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] argsort(double[] array) {
+		return argsort(array, false);
+	}
+
+	/**
+	 * This works out the order that would sort a double array, without
+	 * changing it, using several threads if it is long enough. Equal values
+	 * keep their order.
+	 * 
+	 * @param array
+	 *            The array.
+	 * @return The indices of the array, in the order of their values.
+	 */
+	public static int[] parallelArgsort(double[] array) {
+		return argsort(array, true);
+	}
+
+	/**
+	 * This finds the values that are in both of two sorted int arrays.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in both.
+	 */
+	public static int[] intersect(int[] a, int[] b) {
+		return intersect(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * This finds the values that are in both of two sorted int arrays, using
+	 * several threads if they are long enough.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in both.
+	 */
+	public static int[] parallelIntersect(int[] a, int[] b) {
+		if (a.length + b.length < PARALLEL_THRESHOLD)
+			return intersect(a, b);
+		int[][] cuts = cuts(a, b);
+		int[] aCuts = cuts[0], bCuts = cuts[1];
+		int[][] parts = new int[aCuts.length - 1][];
+		IntStream.range(0, parts.length).parallel().forEach(
+				part -> parts[part] = intersect(a, aCuts[part],
+						aCuts[part + 1], b, bCuts[part], bCuts[part + 1]));
+		return PLParallelArrays.concatAll(parts);
+	}
+
+	/**
+	 * This finds the values that are in either of two sorted int arrays.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in either.
+	 */
+	public static int[] union(int[] a, int[] b) {
+		return union(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * This finds the values that are in either of two sorted int arrays,
+	 * using several threads if they are long enough.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in either.
+	 */
+	public static int[] parallelUnion(int[] a, int[] b) {
+		if (a.length + b.length < PARALLEL_THRESHOLD)
+			return union(a, b);
+		int[][] cuts = cuts(a, b);
+		int[] aCuts = cuts[0], bCuts = cuts[1];
+		int[][] parts = new int[aCuts.length - 1][];
+		IntStream.range(0, parts.length).parallel().forEach(
+				part -> parts[part] = union(a, aCuts[part],
+						aCuts[part + 1], b, bCuts[part], bCuts[part + 1]));
+		return PLParallelArrays.concatAll(parts);
+	}
+
+	/**
+	 * This finds the values of a sorted int array that are not in another.
+	 * 
+	 * @param a
+	 *            The sorted array to take values from.
+	 * @param b
+	 *            The sorted array of values to leave out.
+	 * @return A new sorted array of the values in the first but not the
+	 *         second.
+	 */
+	public static int[] difference(int[] a, int[] b) {
+		return difference(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * This finds the values of a sorted int array that are not in another,
+	 * using several threads if they are long enough.
+	 * 
+	 * @param a
+	 *            The sorted array to take values from.
+	 * @param b
+	 *            The sorted array of values to leave out.
+	 * @return A new sorted array of the values in the first but not the
+	 *         second.
+	 */
+	public static int[] parallelDifference(int[] a, int[] b) {
+		if (a.length + b.length < PARALLEL_THRESHOLD)
+			return difference(a, b);
+		int[][] cuts = cuts(a, b);
+		int[] aCuts = cuts[0], bCuts = cuts[1];
+		int[][] parts = new int[aCuts.length - 1][];
+		IntStream.range(0, parts.length).parallel().forEach(
+				part -> parts[part] = difference(a, aCuts[part],
+						aCuts[part + 1], b, bCuts[part], bCuts[part + 1]));
+		return PLParallelArrays.concatAll(parts);
+	}
+
+	/**
+	 * This finds the values that are in both of two sorted long arrays.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in both.
+	 */
+	public static long[] intersect(long[] a, long[] b) {
+		return intersect(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * This finds the values that are in both of two sorted long arrays, using
+	 * several threads if they are long enough.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in both.
+	 */
+	public static long[] parallelIntersect(long[] a, long[] b) {
+		if (a.length + b.length < PARALLEL_THRESHOLD)
+			return intersect(a, b);
+		int[][] cuts = cuts(a, b);
+		int[] aCuts = cuts[0], bCuts = cuts[1];
+		long[][] parts = new long[aCuts.length - 1][];
+		IntStream.range(0, parts.length).parallel().forEach(
+				part -> parts[part] = intersect(a, aCuts[part],
+						aCuts[part + 1], b, bCuts[part], bCuts[part + 1]));
+		return PLParallelArrays.concatAll(parts);
+	}
+
+	/**
+	 * This finds the values that are in either of two sorted long arrays.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in either.
+	 */
+	public static long[] union(long[] a, long[] b) {
+		return union(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * This finds the values that are in either of two sorted long arrays,
+	 * using several threads if they are long enough.
+	 * 
+	 * @param a
+	 *            The first sorted array.
+	 * @param b
+	 *            The second sorted array.
+	 * @return A new sorted array of the values in either.
+	 */
+	public static long[] parallelUnion(long[] a, long[] b) {
+		if (a.length + b.length < PARALLEL_THRESHOLD)
+			return union(a, b);
+		int[][] cuts = cuts(a, b);
+		int[] aCuts = cuts[0], bCuts = cuts[1];
+		long[][] parts = new long[aCuts.length - 1][];
+		IntStream.range(0, parts.length).parallel().forEach(
+				part -> parts[part] = union(a, aCuts[part],
+						aCuts[part + 1], b, bCuts[part], bCuts[part + 1]));
+		return PLParallelArrays.concatAll(parts);
+	}
+
+	/**
+	 * This finds the values of a sorted long array that are not in another.
+	 * 
+	 * @param a
+	 *            The sorted array to take values from.
+	 * @param b
+	 *            The sorted array of values to leave out.
+	 * @return A new sorted array of the values in the first but not the
+	 *         second.
+	 */
+	public static long[] difference(long[] a, long[] b) {
+		return difference(a, 0, a.length, b, 0, b.length);
+	}
+
+	/**
+	 * This finds the values of a sorted long array that are not in another,
+	 * using several threads if they are long enough.
+	 * 
+	 * @param a
+	 *            The sorted array to take values from.
+	 * @param b
+	 *            The sorted array of values to leave out.
+	 * @return A new sorted array of the values in the first but not the
+	 *         second.
+	 */
+	public static long[] parallelDifference(long[] a, long[] b) {
+		if (a.length + b.length < PARALLEL_THRESHOLD)
+			return difference(a, b);
+		int[][] cuts = cuts(a, b);
+		int[] aCuts = cuts[0], bCuts = cuts[1];
+		long[][] parts = new long[aCuts.length - 1][];
+		IntStream.range(0, parts.length).parallel().forEach(
+				part -> parts[part] = difference(a, aCuts[part],
+						aCuts[part + 1], b, bCuts[part], bCuts[part + 1]));
+		return PLParallelArrays.concatAll(parts);
+	}
+
+	/**
+	 * This finds the k-th smallest value of an int array, counting from 0,
+	 * in linear time on average. It moves the array around so that the value
+	 * ends up at index k, with nothing bigger before it and nothing smaller
+	 * after it. If the search keeps picking bad pivots, it gives up and sorts
+	 * what is left, so the worst case is O(n log n).
+	 * 
+	 * @param array
+	 *            The array, which is reordered in place.
+	 * @param k
+	 *            The rank of the value to find.
+	 * @return The k-th smallest value.
+	 * @throws IndexOutOfBoundsException
+	 *             If k is not an index of the array.
+	 */
+	public static int select(int[] array, int k) {
+		if (k < 0 || k >= array.length)
+			throw new IndexOutOfBoundsException("Invalid rank " + k + "!");
+		int lo = 0, hi = array.length - 1;
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(array.length));
+		while (hi > lo) {
+			if (hi - lo < SELECT_THRESHOLD || budget-- == 0) {
+				Arrays.sort(array, lo, hi + 1);
+				break;
+			}
+			int pivot = median(array[lo], array[(lo + hi) >>> 1], array[hi]);
+			// Splits the range into less than, equal to and more than the
+			// pivot.
+			int lt = lo, ix = lo, gt = hi;
+			while (ix <= gt) {
+				int order = Integer.compare(array[ix], pivot);
+				if (order < 0)
+					swap(array, lt++, ix++);
+				else if (order > 0)
+					swap(array, ix, gt--);
+				else
+					ix++;
+			}
+			if (k < lt)
+				hi = lt - 1;
+			else if (k > gt)
+				lo = gt + 1;
+			else
+				return pivot;
+		}
+		return array[k];
+	}
+
+	/**
+	 * This finds the k-th smallest value of an int array, counting from 0,
+	 * without changing the array. Long arrays are narrowed down by counting
+	 * and filtering around random pivots on several threads.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param k
+	 *            The rank of the value to find.
+	 * @return The k-th smallest value.
+	 * @throws IndexOutOfBoundsException
+	 *             If k is not an index of the array.
+	 */
+	public static int parallelSelect(int[] array, int k) {
+		if (k < 0 || k >= array.length)
+			throw new IndexOutOfBoundsException("Invalid rank " + k + "!");
+		int[] work = array;
+		while (work.length >= PARALLEL_THRESHOLD) {
+			int[] from = work;
+			int pivot = median(from[PLMath.randIndex(from.length)],
+					from[PLMath.randIndex(from.length)],
+					from[PLMath.randIndex(from.length)]);
+			int blocks = blockCount(from.length, true);
+			int[] less = new int[blocks], same = new int[blocks];
+			forEachBlock(from.length, blocks, (block, start, end) -> {
+				for (int ix = start; ix < end; ix++) {
+					int order = Integer.compare(from[ix], pivot);
+					if (order < 0)
+						less[block]++;
+					else if (order == 0)
+						same[block]++;
+				}
+			});
+			int below = 0, equal = 0;
+			for (int block = 0; block < blocks; block++) {
+				below += less[block];
+				equal += same[block];
+			}
+			if (k < below)
+				work = PLParallelArrays.filter(from,
+						value -> Integer.compare(value, pivot) < 0);
+			else if (k < below + equal)
+				return pivot;
+			else {
+				k -= below + equal;
+				work = PLParallelArrays.filter(from,
+						value -> Integer.compare(value, pivot) > 0);
+			}
+		}
+		return select(work == array ? work.clone() : work, k);
+	}
+
+	/**
+	 * This finds the k-th smallest value of a long array, counting from 0,
+	 * in linear time on average. It moves the array around so that the value
+	 * ends up at index k, with nothing bigger before it and nothing smaller
+	 * after it. If the search keeps picking bad pivots, it gives up and sorts
+	 * what is left, so the worst case is O(n log n).
+	 * 
+	 * @param array
+	 *            The array, which is reordered in place.
+	 * @param k
+	 *            The rank of the value to find.
+	 * @return The k-th smallest value.
+	 * @throws IndexOutOfBoundsException
+	 *             If k is not an index of the array.
+	 */
+	public static long select(long[] array, int k) {
+		if (k < 0 || k >= array.length)
+			throw new IndexOutOfBoundsException("Invalid rank " + k + "!");
+		int lo = 0, hi = array.length - 1;
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(array.length));
+		while (hi > lo) {
+			if (hi - lo < SELECT_THRESHOLD || budget-- == 0) {
+				Arrays.sort(array, lo, hi + 1);
+				break;
+			}
+			long pivot = median(array[lo], array[(lo + hi) >>> 1], array[hi]);
+			// Splits the range into less than, equal to and more than the
+			// pivot.
+			int lt = lo, ix = lo, gt = hi;
+			while (ix <= gt) {
+				int order = Long.compare(array[ix], pivot);
+				if (order < 0)
+					swap(array, lt++, ix++);
+				else if (order > 0)
+					swap(array, ix, gt--);
+				else
+					ix++;
+			}
+			if (k < lt)
+				hi = lt - 1;
+			else if (k > gt)
+				lo = gt + 1;
+			else
+				return pivot;
+		}
+		return array[k];
+	}
+
+	/**
+	 * This finds the k-th smallest value of a long array, counting from 0,
+	 * without changing the array. Long arrays are narrowed down by counting
+	 * and filtering around random pivots on several threads.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param k
+	 *            The rank of the value to find.
+	 * @return The k-th smallest value.
+	 * @throws IndexOutOfBoundsException
+	 *             If k is not an index of the array.
+	 */
+	public static long parallelSelect(long[] array, int k) {
+		if (k < 0 || k >= array.length)
+			throw new IndexOutOfBoundsException("Invalid rank " + k + "!");
+		long[] work = array;
+		while (work.length >= PARALLEL_THRESHOLD) {
+			long[] from = work;
+			long pivot = median(from[PLMath.randIndex(from.length)],
+					from[PLMath.randIndex(from.length)],
+					from[PLMath.randIndex(from.length)]);
+			int blocks = blockCount(from.length, true);
+			int[] less = new int[blocks], same = new int[blocks];
+			forEachBlock(from.length, blocks, (block, start, end) -> {
+				for (int ix = start; ix < end; ix++) {
+					int order = Long.compare(from[ix], pivot);
+					if (order < 0)
+						less[block]++;
+					else if (order == 0)
+						same[block]++;
+				}
+			});
+			int below = 0, equal = 0;
+			for (int block = 0; block < blocks; block++) {
+				below += less[block];
+				equal += same[block];
+			}
+			if (k < below)
+				work = PLParallelArrays.filter(from,
+						value -> Long.compare(value, pivot) < 0);
+			else if (k < below + equal)
+				return pivot;
+			else {
+				k -= below + equal;
+				work = PLParallelArrays.filter(from,
+						value -> Long.compare(value, pivot) > 0);
+			}
+		}
+		return select(work == array ? work.clone() : work, k);
+	}
+
+	/**
+	 * This finds the k-th smallest value of a double array, counting from 0,
+	 * in linear time on average. It moves the array around so that the value
+	 * ends up at index k, with nothing bigger before it and nothing smaller
+	 * after it. If the search keeps picking bad pivots, it gives up and sorts
+	 * what is left, so the worst case is O(n log n).
+	 * 
+	 * @param array
+	 *            The array, which is reordered in place.
+	 * @param k
+	 *            The rank of the value to find.
+	 * @return The k-th smallest value.
+	 * @throws IndexOutOfBoundsException
+	 *             If k is not an index of the array.
+	 */
+	public static double select(double[] array, int k) {
+		if (k < 0 || k >= array.length)
+			throw new IndexOutOfBoundsException("Invalid rank " + k + "!");
+		int lo = 0, hi = array.length - 1;
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(array.length));
+		while (hi > lo) {
+			if (hi - lo < SELECT_THRESHOLD || budget-- == 0) {
+				Arrays.sort(array, lo, hi + 1);
+				break;
+			}
+			double pivot = median(array[lo], array[(lo + hi) >>> 1], array[hi]);
+			// Splits the range into less than, equal to and more than the
+			// pivot.
+			int lt = lo, ix = lo, gt = hi;
+			while (ix <= gt) {
+				int order = Double.compare(array[ix], pivot);
+				if (order < 0)
+					swap(array, lt++, ix++);
+				else if (order > 0)
+					swap(array, ix, gt--);
+				else
+					ix++;
+			}
+			if (k < lt)
+				hi = lt - 1;
+			else if (k > gt)
+				lo = gt + 1;
+			else
+				return pivot;
+		}
+		return array[k];
+	}
+
+	/**
+	 * This finds the k-th smallest value of a double array, counting from 0,
+	 * without changing the array. Long arrays are narrowed down by counting
+	 * and filtering around random pivots on several threads.
+	 * 
+	 * @param array
+	 *            The array, which is left as it is.
+	 * @param k
+	 *            The rank of the value to find.
+	 * @return The k-th smallest value.
+	 * @throws IndexOutOfBoundsException
+	 *             If k is not an index of the array.
+	 */
+	public static double parallelSelect(double[] array, int k) {
+		if (k < 0 || k >= array.length)
+			throw new IndexOutOfBoundsException("Invalid rank " + k + "!");
+		double[] work = array;
+		while (work.length >= PARALLEL_THRESHOLD) {
+			double[] from = work;
+			double pivot = median(from[PLMath.randIndex(from.length)],
+					from[PLMath.randIndex(from.length)],
+					from[PLMath.randIndex(from.length)]);
+			int blocks = blockCount(from.length, true);
+			int[] less = new int[blocks], same = new int[blocks];
+			forEachBlock(from.length, blocks, (block, start, end) -> {
+				for (int ix = start; ix < end; ix++) {
+					int order = Double.compare(from[ix], pivot);
+					if (order < 0)
+						less[block]++;
+					else if (order == 0)
+						same[block]++;
+				}
+			});
+			int below = 0, equal = 0;
+			for (int block = 0; block < blocks; block++) {
+				below += less[block];
+				equal += same[block];
+			}
+			if (k < below)
+				work = PLParallelArrays.filter(from,
+						value -> Double.compare(value, pivot) < 0);
+			else if (k < below + equal)
+				return pivot;
+			else {
+				k -= below + equal;
+				work = PLParallelArrays.filter(from,
+						value -> Double.compare(value, pivot) > 0);
+			}
+		}
+		return select(work == array ? work.clone() : work, k);
+	}
+
+	/**
+	 * Intersects two sorted ranges, galloping past values that only one has.
+	 */
+	private static int[] intersect(int[] a, int aFrom, int aTo, int[] b,
+			int bFrom, int bTo) {
+		int[] result = new int[Math.min(aTo - aFrom, bTo - bFrom)];
+		int count = 0, ia = aFrom, ib = bFrom;
+		while (ia < aTo && ib < bTo) {
+			if (a[ia] < b[ib])
+				ia = gallop(a, ia, aTo, b[ib]);
+			else if (b[ib] < a[ia])
+				ib = gallop(b, ib, bTo, a[ia]);
+			else {
+				result[count++] = a[ia++];
+				ib++;
+			}
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Merges two sorted ranges, copying whole runs at a time.
+	 */
+	private static int[] union(int[] a, int aFrom, int aTo, int[] b, int bFrom,
+			int bTo) {
+		int[] result = new int[(aTo - aFrom) + (bTo - bFrom)];
+		int count = 0, ia = aFrom, ib = bFrom;
+		while (ia < aTo && ib < bTo) {
+			if (a[ia] < b[ib]) {
+				int end = gallop(a, ia, aTo, b[ib]);
+				System.arraycopy(a, ia, result, count, end - ia);
+				count += end - ia;
+				ia = end;
+			} else if (b[ib] < a[ia]) {
+				int end = gallop(b, ib, bTo, a[ia]);
+				System.arraycopy(b, ib, result, count, end - ib);
+				count += end - ib;
+				ib = end;
+			} else {
+				result[count++] = a[ia++];
+				ib++;
+			}
+		}
+		System.arraycopy(a, ia, result, count, aTo - ia);
+		count += aTo - ia;
+		System.arraycopy(b, ib, result, count, bTo - ib);
+		count += bTo - ib;
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Takes one sorted range away from another, copying whole runs at a time.
+	 */
+	private static int[] difference(int[] a, int aFrom, int aTo, int[] b,
+			int bFrom, int bTo) {
+		int[] result = new int[aTo - aFrom];
+		int count = 0, ia = aFrom, ib = bFrom;
+		while (ia < aTo && ib < bTo) {
+			if (a[ia] < b[ib]) {
+				int end = gallop(a, ia, aTo, b[ib]);
+				System.arraycopy(a, ia, result, count, end - ia);
+				count += end - ia;
+				ia = end;
+			} else if (b[ib] < a[ia])
+				ib = gallop(b, ib, bTo, a[ia]);
+			else {
+				ia++;
+				ib++;
+			}
+		}
+		System.arraycopy(a, ia, result, count, aTo - ia);
+		count += aTo - ia;
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Finds the first index in a sorted range whose value is not less than a
+	 * key, by doubling the step until it overshoots and then searching
+	 * between the last two steps. It costs O(log d) when the answer is d
+	 * places ahead.
+	 */
+	private static int gallop(int[] array, int from, int to, int key) {
+		int step = 1, lo = from, hi = from;
+		while (hi < to && array[hi] < key) {
+			lo = hi + 1;
+			hi += step;
+			step <<= 1;
+		}
+		if (hi > to)
+			hi = to;
+		// Now array[lo - 1] < key and array[hi] >= key, if they exist.
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (array[mid] < key)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Cuts two sorted arrays into matching pieces for the parallel set
+	 * operations. Each cut is at the first copy of a value in both arrays, so
+	 * no value is split across pieces.
+	 */
+	private static int[][] cuts(int[] a, int[] b) {
+		int[] longer = a.length >= b.length ? a : b;
+		int pieces = blockCount(longer.length, true);
+		int[][] cuts = new int[2][pieces + 1];
+		cuts[0][pieces] = a.length;
+		cuts[1][pieces] = b.length;
+		for (int piece = 1; piece < pieces; piece++) {
+			int value = longer[(int) ((long) longer.length * piece / pieces)];
+			cuts[0][piece] = gallop(a, cuts[0][piece - 1], a.length, value);
+			cuts[1][piece] = gallop(b, cuts[1][piece - 1], b.length, value);
+		}
+		return cuts;
+	}
+
+	/**
+	 * Intersects two sorted ranges, galloping past values that only one has.
+	 */
+	private static long[] intersect(long[] a, int aFrom, int aTo, long[] b,
+			int bFrom, int bTo) {
+		long[] result = new long[Math.min(aTo - aFrom, bTo - bFrom)];
+		int count = 0, ia = aFrom, ib = bFrom;
+		while (ia < aTo && ib < bTo) {
+			if (a[ia] < b[ib])
+				ia = gallop(a, ia, aTo, b[ib]);
+			else if (b[ib] < a[ia])
+				ib = gallop(b, ib, bTo, a[ia]);
+			else {
+				result[count++] = a[ia++];
+				ib++;
+			}
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Merges two sorted ranges, copying whole runs at a time.
+	 */
+	private static long[] union(long[] a, int aFrom, int aTo, long[] b,
+			int bFrom, int bTo) {
+		long[] result = new long[(aTo - aFrom) + (bTo - bFrom)];
+		int count = 0, ia = aFrom, ib = bFrom;
+		while (ia < aTo && ib < bTo) {
+			if (a[ia] < b[ib]) {
+				int end = gallop(a, ia, aTo, b[ib]);
+				System.arraycopy(a, ia, result, count, end - ia);
+				count += end - ia;
+				ia = end;
+			} else if (b[ib] < a[ia]) {
+				int end = gallop(b, ib, bTo, a[ia]);
+				System.arraycopy(b, ib, result, count, end - ib);
+				count += end - ib;
+				ib = end;
+			} else {
+				result[count++] = a[ia++];
+				ib++;
+			}
+		}
+		System.arraycopy(a, ia, result, count, aTo - ia);
+		count += aTo - ia;
+		System.arraycopy(b, ib, result, count, bTo - ib);
+		count += bTo - ib;
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Takes one sorted range away from another, copying whole runs at a time.
+	 */
+	private static long[] difference(long[] a, int aFrom, int aTo, long[] b,
+			int bFrom, int bTo) {
+		long[] result = new long[aTo - aFrom];
+		int count = 0, ia = aFrom, ib = bFrom;
+		while (ia < aTo && ib < bTo) {
+			if (a[ia] < b[ib]) {
+				int end = gallop(a, ia, aTo, b[ib]);
+				System.arraycopy(a, ia, result, count, end - ia);
+				count += end - ia;
+				ia = end;
+			} else if (b[ib] < a[ia])
+				ib = gallop(b, ib, bTo, a[ia]);
+			else {
+				ia++;
+				ib++;
+			}
+		}
+		System.arraycopy(a, ia, result, count, aTo - ia);
+		count += aTo - ia;
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Finds the first index in a sorted range whose value is not less than a
+	 * key, by doubling the step until it overshoots and then searching
+	 * between the last two steps. It costs O(log d) when the answer is d
+	 * places ahead.
+	 */
+	private static int gallop(long[] array, int from, int to, long key) {
+		int step = 1, lo = from, hi = from;
+		while (hi < to && array[hi] < key) {
+			lo = hi + 1;
+			hi += step;
+			step <<= 1;
+		}
+		if (hi > to)
+			hi = to;
+		// Now array[lo - 1] < key and array[hi] >= key, if they exist.
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (array[mid] < key)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Cuts two sorted arrays into matching pieces for the parallel set
+	 * operations. Each cut is at the first copy of a value in both arrays, so
+	 * no value is split across pieces.
+	 */
+	private static int[][] cuts(long[] a, long[] b) {
+		long[] longer = a.length >= b.length ? a : b;
+		int pieces = blockCount(longer.length, true);
+		int[][] cuts = new int[2][pieces + 1];
+		cuts[0][pieces] = a.length;
+		cuts[1][pieces] = b.length;
+		for (int piece = 1; piece < pieces; piece++) {
+			long value = longer[(int) ((long) longer.length * piece / pieces)];
+			cuts[0][piece] = gallop(a, cuts[0][piece - 1], a.length, value);
+			cuts[1][piece] = gallop(b, cuts[1][piece - 1], b.length, value);
+		}
+		return cuts;
+	}
+
+	/**
+	 * Gives the middle of three values.
+	 */
+	private static int median(int a, int b, int c) {
+		if (Integer.compare(a, b) > 0) {
+			int swap = a;
+			a = b;
+			b = swap;
+		}
+		if (Integer.compare(b, c) <= 0)
+			return b;
+		return Integer.compare(a, c) >= 0 ? a : c;
+	}
+
+	/**
+	 * Swaps two elements.
+	 */
+	private static void swap(int[] array, int i, int j) {
+		int value = array[i];
+		array[i] = array[j];
+		array[j] = value;
+	}
+
+	/**
+	 * Gives the middle of three values.
+	 */
+	private static long median(long a, long b, long c) {
+		if (Long.compare(a, b) > 0) {
+			long swap = a;
+			a = b;
+			b = swap;
+		}
+		if (Long.compare(b, c) <= 0)
+			return b;
+		return Long.compare(a, c) >= 0 ? a : c;
+	}
+
+	/**
+	 * Swaps two elements.
+	 */
+	private static void swap(long[] array, int i, int j) {
+		long value = array[i];
+		array[i] = array[j];
+		array[j] = value;
+	}
+
+	/**
+	 * Gives the middle of three values.
+	 */
+	private static double median(double a, double b, double c) {
+		if (Double.compare(a, b) > 0) {
+			double swap = a;
+			a = b;
+			b = swap;
+		}
+		if (Double.compare(b, c) <= 0)
+			return b;
+		return Double.compare(a, c) >= 0 ? a : c;
+	}
+
+	/**
+	 * Swaps two elements.
+	 */
+	private static void swap(double[] array, int i, int j) {
+		double value = array[i];
+		array[i] = array[j];
+		array[j] = value;
+	}
+
+	/**
+	 * Sorts an int array with a radix sort, or with
+	 * <code>Arrays.sort()</code> if it is short.
+	 */
+	private static void sort(int[] array, boolean parallel) {
+		if (array.length < RADIX_THRESHOLD)
+			Arrays.sort(array);
+		else
+			radix(array, parallel);
+	}
+
+	/**
+	 * Sorts a long array with a radix sort, or with
+	 * <code>Arrays.sort()</code> if it is short.
+	 */
+	private static void sort(long[] array, boolean parallel) {
+		if (array.length < RADIX_THRESHOLD)
+			Arrays.sort(array);
+		else
+			radix(array, null, Long.BYTES, parallel);
+	}
+
+	/**
+	 * Sorts a float array by sorting its bits as ints.
+	 */
+	private static void sort(float[] array, boolean parallel) {
+		if (array.length < RADIX_THRESHOLD) {
+			Arrays.sort(array);
+			return;
+		}
+		int[] keys = new int[array.length];
+		for (int ix = 0; ix < array.length; ix++)
+			keys[ix] = sortable(Float.floatToIntBits(array[ix]));
+		radix(keys, parallel);
+		for (int ix = 0; ix < array.length; ix++)
+			array[ix] = Float.intBitsToFloat(sortable(keys[ix]));
+	}
+
+	/**
+	 * Sorts a double array by sorting its bits as longs.
+	 */
+	private static void sort(double[] array, boolean parallel) {
+		if (array.length < RADIX_THRESHOLD) {
+			Arrays.sort(array);
+			return;
+		}
+		long[] keys = new long[array.length];
+		for (int ix = 0; ix < array.length; ix++)
+			keys[ix] = sortable(Double.doubleToLongBits(array[ix]));
+		radix(keys, null, Long.BYTES, parallel);
+		for (int ix = 0; ix < array.length; ix++)
+			array[ix] = Double.longBitsToDouble(sortable(keys[ix]));
+	}
+
+	/**
+	 * Sorts the indices of an int array by its values.
+	 */
+	private static int[] argsort(int[] array, boolean parallel) {
+		long[] keys = new long[array.length];
+		for (int ix = 0; ix < array.length; ix++)
+			keys[ix] = array[ix];
+		return radix(keys, indices(array.length), Integer.BYTES, parallel);
+	}
+
+	/**
+	 * Sorts the indices of a long array by its values.
+	 */
+	private static int[] argsort(long[] array, boolean parallel) {
+		return radix(array.clone(), indices(array.length), Long.BYTES,
+				parallel);
+	}
+
+	/**
+	 * Sorts the indices of a float array by its values.
+	 */
+	private static int[] argsort(float[] array, boolean parallel) {
+		long[] keys = new long[array.length];
+		for (int ix = 0; ix < array.length; ix++)
+			keys[ix] = sortable(Float.floatToIntBits(array[ix]));
+		return radix(keys, indices(array.length), Integer.BYTES, parallel);
+	}
+
+	/**
+	 * Sorts the indices of a double array by its values.
+	 */
+	private static int[] argsort(double[] array, boolean parallel) {
+		long[] keys = new long[array.length];
+		for (int ix = 0; ix < array.length; ix++)
+			keys[ix] = sortable(Double.doubleToLongBits(array[ix]));
+		return radix(keys, indices(array.length), Long.BYTES, parallel);
+	}
+
+	/**
+	 * Turns the bits of a float into an int that sorts the same way as the
+	 * float, by flipping every bit but the sign of negative values. Doing it
+	 * twice gives back the bits.
+	 */
+	private static int sortable(int bits) {
+		return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Turns the bits of a double into a long that sorts the same way as the
+	 * double, by flipping every bit but the sign of negative values. Doing it
+	 * twice gives back the bits.
+	 */
+	private static long sortable(long bits) {
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Makes the array 0, 1, 2 and so on.
+	 */
+	private static int[] indices(int length) {
+		int[] indices = new int[length];
+		for (int ix = 0; ix < length; ix++)
+			indices[ix] = ix;
+		return indices;
+	}
+
+	/**
+	 * Radix sorts signed ints, a byte at a time from the lowest. Each pass
+	 * counts the digits of each block, works out where each block's digits
+	 * go, and then moves every block at once. Passes where every value has
+	 * the same digit are skipped.
+	 */
+	private static void radix(int[] array, boolean parallel) {
+		int length = array.length;
+		int blocks = blockCount(length, parallel);
+		int[][] counts = new int[blocks][RADIX];
+		int[] source = array, target = new int[length];
+		for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+			int[] from = source, to = target;
+			int digitShift = shift;
+			// The top byte holds the sign, so it is flipped to sort negatives
+			// first.
+			int flip = shift == Integer.SIZE - Byte.SIZE ? 0x80 : 0;
+			forEachBlock(length, blocks, (block, start, end) -> {
+				int[] count = counts[block];
+				Arrays.fill(count, 0);
+				for (int ix = start; ix < end; ix++)
+					count[((from[ix] >>> digitShift) & 0xFF) ^ flip]++;
+			});
+			if (!toOffsets(counts, length))
+				continue;
+			forEachBlock(length, blocks, (block, start, end) -> {
+				int[] offset = counts[block];
+				for (int ix = start; ix < end; ix++) {
+					int value = from[ix];
+					to[offset[((value >>> digitShift) & 0xFF) ^ flip]++] =
+							value;
+				}
+			});
+			source = to;
+			target = from;
+		}
+		if (source != array)
+			System.arraycopy(source, 0, array, 0, length);
+	}
+
+	/**
+	 * Radix sorts signed longs that fit in some number of bytes, carrying an
+	 * int along with each one if there are any. This works like the int
+	 * version.
+	 * 
+	 * @return The ints that were carried along, in their new order.
+	 */
+	private static int[] radix(long[] array, int[] values, int bytes,
+			boolean parallel) {
+		int length = array.length;
+		int blocks = blockCount(length, parallel);
+		int[][] counts = new int[blocks][RADIX];
+		long[] source = array, target = new long[length];
+		int[] sourceValues = values;
+		int[] targetValues = values == null ? null : new int[length];
+		for (int shift = 0; shift < bytes * Byte.SIZE; shift += Byte.SIZE) {
+			long[] from = source, to = target;
+			int[] fromValues = sourceValues, toValues = targetValues;
+			int digitShift = shift;
+			int flip = shift == (bytes - 1) * Byte.SIZE ? 0x80 : 0;
+			forEachBlock(length, blocks, (block, start, end) -> {
+				int[] count = counts[block];
+				Arrays.fill(count, 0);
+				for (int ix = start; ix < end; ix++)
+					count[(int) ((from[ix] >>> digitShift) & 0xFF) ^ flip]++;
+			});
+			if (!toOffsets(counts, length))
+				continue;
+			forEachBlock(length, blocks, (block, start, end) -> {
+				int[] offset = counts[block];
+				for (int ix = start; ix < end; ix++) {
+					long value = from[ix];
+					int place = offset[(int) ((value >>> digitShift) & 0xFF)
+							^ flip]++;
+					to[place] = value;
+					if (toValues != null)
+						toValues[place] = fromValues[ix];
+				}
+			});
+			source = to;
+			target = from;
+			sourceValues = toValues;
+			targetValues = fromValues;
+		}
+		if (source != array)
+			System.arraycopy(source, 0, array, 0, length);
+		return sourceValues;
+	}
+
+	/**
+	 * Turns the digit counts of every block into the index where each block
+	 * puts its first value of each digit.
+	 * 
+	 * @return False if every value has the same digit, so the pass can be
+	 *         skipped.
+	 */
+	private static boolean toOffsets(int[][] counts, int length) {
+		int offset = 0;
+		for (int digit = 0; digit < RADIX; digit++) {
+			int total = 0;
+			for (int[] count : counts) {
+				int value = count[digit];
+				count[digit] = offset + total;
+				total += value;
+			}
+			if (total == length)
+				return false;
+			offset += total;
+		}
+		return true;
+	}
+
+	/**
+	 * Works out how many blocks to split an array into.
+	 */
+	private static int blockCount(int length, boolean parallel) {
+		if (!parallel || length < PARALLEL_THRESHOLD)
+			return 1;
+		int most = Runtime.getRuntime().availableProcessors() * 4;
+		return Math.max(1, Math.min(most, length / (PARALLEL_THRESHOLD / 4)));
+	}
+
+	/**
+	 * Runs a task over every block of an array, in parallel if there is more
+	 * than one.
+	 */
+	private static void forEachBlock(int length, int blocks, BlockTask task) {
+		if (blocks == 1) {
+			task.run(0, 0, length);
+			return;
+		}
+		IntStream.range(0, blocks).parallel().forEach(
+				block -> task.run(block, (int) ((long) length * block / blocks),
+						(int) ((long) length * (block + 1) / blocks)));
+	}
+
+	/**
+	 * This class only has static methods.
+	 */
+	private PLSort() {
+	}
+
+}
@@ -0,0 +1,261 @@
+package com.hr.plib.core.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.InvalidParameterException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class keeps buffers around after they are used so that they can be
+ * handed out again rather than allocated from scratch. Buffers are sorted into
+ * size classes that are powers of two, and each class holds on to a limited
+ * number of free buffers. It is safe to use from many threads at once.
+ * <p>
+ * The pool keeps count of how often it could hand out a buffer it already had
+ * and how often buffers had to grow, so that the size classes can be tuned.
+ * </p>
+ */
+public class BufferPool {
+
+	/**
+	 * The smallest size class, as a power of two.
+	 */
+	private final int minShift;
+
+	/**
+	 * The largest size class, as a power of two. Bigger buffers are never
+	 * kept.
+	 */
+	private final int maxShift;
+
+	/**
+	 * The most free buffers kept in each size class.
+	 */
+	private final int maxPerClass;
+
+	/**
+	 * Whether the buffers are direct or on the heap.
+	 */
+	private final boolean direct;
+
+	/**
+	 * The free buffers of each size class.
+	 */
+	private final Queue<ByteBuffer>[] free;
+
+	/**
+	 * The number of free buffers in each size class.
+	 */
+	private final AtomicInteger[] freeCounts;
+
+	private final LongAdder acquires = new LongAdder();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder releases = new LongAdder();
+
+	private final LongAdder grows = new LongAdder();
+
+	private final LongAdder allocatedBytes = new LongAdder();
+
+	/**
+	 * This makes a pool of direct buffers between 256 bytes and 16 MB that
+	 * keeps up to 16 free buffers of each size.
+	 */
+	public BufferPool() {
+		this(8, 24, 16, true);
+	}
+
+	/**
+	 * This makes a pool with the given size classes.
+	 * 
+	 * @param minShift
+	 *            - The smallest buffer size, as a power of two.
+	 * @param maxShift
+	 *            - The largest buffer size that is kept, as a power of two.
+	 * @param maxPerClass
+	 *            - The most free buffers kept in each size class.
+	 * @param direct
+	 *            - True for direct buffers, false for heap buffers.
+	 * @throws InvalidParameterException
+	 *             - If the sizes are out of order or out of range.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public BufferPool(int minShift, int maxShift, int maxPerClass,
+			boolean direct) {
+		if (minShift < 0 || maxShift > 30 || minShift > maxShift)
+			throw new InvalidParameterException("Invalid size classes!");
+		else if (maxPerClass < 0)
+			throw new InvalidParameterException("Invalid number of buffers!");
+		this.minShift = minShift;
+		this.maxShift = maxShift;
+		this.maxPerClass = maxPerClass;
+		this.direct = direct;
+		int classes = maxShift - minShift + 1;
+		free = new Queue[classes];
+		freeCounts = new AtomicInteger[classes];
+		for (int ix = 0; ix < classes; ix++) {
+			free[ix] = new ConcurrentLinkedQueue<>();
+			freeCounts[ix] = new AtomicInteger();
+		}
+	}
+
+	/**
+	 * This hands out a cleared, big endian buffer with at least the given
+	 * capacity. It should be given back with <code>release()</code> once it is
+	 * no longer used.
+	 * 
+	 * @param minCapacity
+	 *            - The smallest capacity that will do.
+	 * @return A buffer.
+	 */
+	public ByteBuffer acquire(int minCapacity) {
+		if (minCapacity < 0)
+			throw new InvalidParameterException("Invalid capacity!");
+		acquires.increment();
+		int sizeClass = sizeClass(minCapacity);
+		// Too big to be pooled, so it is made to measure.
+		if (sizeClass < 0)
+			return allocate(minCapacity);
+		ByteBuffer buffer = free[sizeClass].poll();
+		if (buffer == null)
+			return allocate(1 << (sizeClass + minShift));
+		freeCounts[sizeClass].decrementAndGet();
+		hits.increment();
+		buffer.clear();
+		return buffer.order(ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * This swaps a buffer for a bigger one, copying over everything before its
+	 * position. The old buffer is given back to the pool.
+	 * 
+	 * @param buffer
+	 *            - The buffer that ran out of room.
+	 * @param minCapacity
+	 *            - The smallest capacity that will do. The new buffer is at
+	 *            least twice as big as the old one either way.
+	 * @return The new buffer, with its position just past the copied bytes.
+	 */
+	public ByteBuffer grow(ByteBuffer buffer, int minCapacity) {
+		grows.increment();
+		int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+				Math.max(minCapacity, 2L * buffer.capacity()));
+		ByteBuffer bigger = acquire(capacity);
+		buffer.flip();
+		bigger.put(buffer);
+		release(buffer);
+		return bigger;
+	}
+
+	/**
+	 * This gives a buffer back to the pool. The buffer must not be used again
+	 * afterwards. Buffers of the wrong kind or size are just dropped.
+	 * 
+	 * @param buffer
+	 *            - The buffer.
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer == null || buffer.isDirect() != direct
+				|| buffer.isReadOnly())
+			return;
+		releases.increment();
+		int capacity = buffer.capacity();
+		// Only exact size classes are kept, which also rules out slices.
+		if (Integer.bitCount(capacity) != 1)
+			return;
+		int sizeClass = Integer.numberOfTrailingZeros(capacity) - minShift;
+		if (sizeClass < 0 || sizeClass >= free.length)
+			return;
+		if (freeCounts[sizeClass].incrementAndGet() > maxPerClass) {
+			freeCounts[sizeClass].decrementAndGet();
+			return;
+		}
+		free[sizeClass].offer(buffer);
+	}
+
+	/**
+	 * @return The number of buffers handed out.
+	 */
+	public long getAcquireCount() {
+		return acquires.sum();
+	}
+
+	/**
+	 * @return The number of buffers handed out that came from the pool rather
+	 *         than being allocated.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The number of buffers handed out that had to be allocated.
+	 */
+	public long getMissCount() {
+		return acquires.sum() - hits.sum();
+	}
+
+	/**
+	 * @return The share of buffers that came from the pool, between 0 and 1.
+	 */
+	public double getHitRate() {
+		long acquired = acquires.sum();
+		return acquired == 0 ? 0 : (double) hits.sum() / acquired;
+	}
+
+	/**
+	 * @return The number of buffers given back.
+	 */
+	public long getReleaseCount() {
+		return releases.sum();
+	}
+
+	/**
+	 * @return The number of times a buffer was swapped for a bigger one.
+	 */
+	public long getGrowCount() {
+		return grows.sum();
+	}
+
+	/**
+	 * @return The total number of bytes the pool has allocated.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes.sum();
+	}
+
+	/**
+	 * @return The number of free buffers being held on to right now.
+	 */
+	public int getFreeCount() {
+		int count = 0;
+		for (AtomicInteger freeCount : freeCounts) {
+			count += freeCount.get();
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the size class for a capacity, or -1 if it is too big to pool.
+	 */
+	private int sizeClass(int capacity) {
+		if (capacity <= 1 << minShift)
+			return 0;
+		int shift = 32 - Integer.numberOfLeadingZeros(capacity - 1);
+		return shift > maxShift ? -1 : shift - minShift;
+	}
+
+	/**
+	 * Makes a new buffer of the pool's kind.
+	 */
+	private ByteBuffer allocate(int capacity) {
+		allocatedBytes.add(capacity);
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer
+				.allocate(capacity);
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.hr.plib.core.codec;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This is an input stream that reads straight out of a
+ * <code>ByteBuffer</code>, so that the bytes never have to be copied into an
+ * array first.
+ */
+class ByteBufferInputStream extends InputStream {
+
+	/**
+	 * The buffer being read from.
+	 */
+	private final ByteBuffer buffer;
+
+	ByteBufferInputStream(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public int available() {
+		return buffer.remaining();
+	}
+
+	@Override
+	public int read() {
+		return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0)
+			return 0;
+		else if (!buffer.hasRemaining())
+			return -1;
+		len = Math.min(len, buffer.remaining());
+		buffer.get(b, off, len);
+		return len;
+	}
+
+	@Override
+	public long skip(long n) {
+		int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+		buffer.position(buffer.position() + skipped);
+		return skipped;
+	}
+
+}
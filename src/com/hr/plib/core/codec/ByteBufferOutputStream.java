@@ -0,0 +1,32 @@
+package com.hr.plib.core.codec;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This is an output stream that writes straight into a <code>ByteBuffer</code>
+ * rather than into a growing array. It throws a
+ * <code>BufferOverflowException</code> once the buffer is full.
+ */
+class ByteBufferOutputStream extends OutputStream {
+
+	/**
+	 * The buffer being written to.
+	 */
+	private final ByteBuffer buffer;
+
+	ByteBufferOutputStream(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public void write(int b) {
+		buffer.put((byte) b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		buffer.put(b, off, len);
+	}
+
+}
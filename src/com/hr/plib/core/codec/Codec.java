@@ -0,0 +1,62 @@
+package com.hr.plib.core.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A codec turns one type of value into bytes and back again. Codecs write
+ * straight into a <code>ByteBuffer</code> at its position, so the same buffer
+ * can be reused for value after value without making any new streams.
+ * <p>
+ * Values are written in the byte order of the buffer they are given, and must
+ * be read back from a buffer with the same order.
+ * </p>
+ * 
+ * @param <T>
+ *            The type of value this handles.
+ */
+public interface Codec<T> {
+
+	/**
+	 * @return The type of value this handles.
+	 */
+	public Class<T> getType();
+
+	/**
+	 * This works out how many bytes a value will take up once encoded.
+	 * 
+	 * @param value
+	 *            - The value.
+	 * @return The exact number of bytes, or -1 if it cannot be known without
+	 *         actually encoding the value.
+	 */
+	public int sizeOf(T value);
+
+	/**
+	 * This writes a value into a buffer, starting at its position and moving
+	 * the position past what was written.
+	 * 
+	 * @param value
+	 *            - The value to write.
+	 * @param buffer
+	 *            - The buffer to write into.
+	 * @throws IOException
+	 *             - If the value cannot be encoded.
+	 * @throws java.nio.BufferOverflowException
+	 *             - If the buffer runs out of room.
+	 */
+	public void encode(T value, ByteBuffer buffer) throws IOException;
+
+	/**
+	 * This reads a value back out of a buffer, starting at its position and
+	 * moving the position past what was read.
+	 * 
+	 * @param buffer
+	 *            - The buffer to read from.
+	 * @return The value.
+	 * @throws IOException
+	 *             - If the bytes do not make up a valid value.
+	 */
+	public T decode(ByteBuffer buffer) throws IOException;
+
+}
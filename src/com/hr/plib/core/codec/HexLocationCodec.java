@@ -0,0 +1,42 @@
+package com.hr.plib.core.codec;
+
+import java.nio.ByteBuffer;
+
+import com.hr.plib.core.hexgrid.HexLocation;
+
+/**
+ * This encodes a <code>HexLocation</code> as its three coordinates, taking up
+ * 12 bytes.
+ */
+public class HexLocationCodec implements Codec<HexLocation> {
+
+	/**
+	 * The number of bytes each location takes up.
+	 */
+	public static final int SIZE = 12;
+
+	@Override
+	public Class<HexLocation> getType() {
+		return HexLocation.class;
+	}
+
+	@Override
+	public int sizeOf(HexLocation value) {
+		return SIZE;
+	}
+
+	@Override
+	public void encode(HexLocation value, ByteBuffer buffer) {
+		buffer.putInt(value.getX());
+		buffer.putInt(value.getY());
+		buffer.putInt(value.getZ());
+	}
+
+	@Override
+	public HexLocation decode(ByteBuffer buffer) {
+		int x = buffer.getInt();
+		int y = buffer.getInt();
+		return new HexLocation(x, y, buffer.getInt());
+	}
+
+}
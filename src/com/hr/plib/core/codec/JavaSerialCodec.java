@@ -0,0 +1,67 @@
+package com.hr.plib.core.codec;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This codec uses Java's built-in serialization, so it can handle any
+ * <code>Serializable</code> object. It is much slower and bigger than the
+ * other codecs, and is only meant as a fallback for types that do not have a
+ * codec of their own.
+ * <p>
+ * The encoded object is prefixed with its length, so that it can sit in a
+ * buffer next to other values.
+ * </p>
+ */
+public class JavaSerialCodec implements Codec<Object> {
+
+	@Override
+	public Class<Object> getType() {
+		return Object.class;
+	}
+
+	/**
+	 * Java serialization cannot work out its size ahead of time.
+	 * 
+	 * @return -1.
+	 */
+	@Override
+	public int sizeOf(Object value) {
+		return -1;
+	}
+
+	@Override
+	public void encode(Object value, ByteBuffer buffer) throws IOException {
+		// Leaves room for the length, which is only known afterwards.
+		if (buffer.remaining() < 4)
+			throw new BufferOverflowException();
+		int start = buffer.position();
+		buffer.position(start + 4);
+		try (ObjectOutputStream os = new ObjectOutputStream(
+				new ByteBufferOutputStream(buffer))) {
+			os.writeObject(value);
+		}
+		buffer.putInt(start, buffer.position() - start - 4);
+	}
+
+	@Override
+	public Object decode(ByteBuffer buffer) throws IOException {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining())
+			throw new IOException("Invalid length!");
+		// Reads from a view so that the stream cannot read past the object.
+		ByteBuffer view = buffer.slice();
+		view.limit(length);
+		buffer.position(buffer.position() + length);
+		try (ObjectInputStream is = new ObjectInputStream(
+				new ByteBufferInputStream(view))) {
+			return is.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Class of a serialized object cannot be found.", e);
+		}
+	}
+
+}
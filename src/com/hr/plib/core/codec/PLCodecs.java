@@ -0,0 +1,429 @@
+package com.hr.plib.core.codec;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class picks the right codec for a value and writes it along with a
+ * one byte tag, so that it can be read back without knowing its type ahead of
+ * time. The library's own value types and every primitive array have fast
+ * codecs, and anything else that is <code>Serializable</code> falls back to
+ * Java serialization.
+ * <p>
+ * This replaces <code>PLMath.serialize()</code> and
+ * <code>PLMath.deserialize()</code>, which always use Java serialization and
+ * make new streams for every call.
+ * </p>
+ */
+public final class PLCodecs {
+
+	/**
+	 * The tag written for null.
+	 */
+	public static final int TAG_NULL = 0;
+
+	/**
+	 * The tag written for values that fell back to Java serialization.
+	 */
+	public static final int TAG_JAVA = 1;
+
+	/**
+	 * The first tag that is free for other codecs to be registered with.
+	 */
+	public static final int FIRST_USER_TAG = 64;
+
+	/**
+	 * The codec used for anything without a codec of its own.
+	 */
+	private static final JavaSerialCodec JAVA = new JavaSerialCodec();
+
+	/**
+	 * The biggest buffer that <code>serialize()</code> will grow to.
+	 */
+	private static final int MAX_BUFFER = 1 << 30;
+
+	/**
+	 * The biggest buffer a thread keeps between calls to
+	 * <code>serialize()</code>. Bigger ones are only used for the call that
+	 * needed them, so one huge value does not tie up memory for as long as
+	 * the thread lives.
+	 */
+	private static final int MAX_KEPT_BUFFER = 1 << 16;
+
+	/**
+	 * The tag of each registered type.
+	 */
+	private static final Map<Class<?>, Integer> tags = new ConcurrentHashMap<>();
+
+	/**
+	 * The codec for each tag. This is replaced rather than changed, so that it
+	 * can be read without locking.
+	 */
+	private static volatile Codec<?>[] codecs = new Codec<?>[256];
+
+	/**
+	 * The buffer each thread reuses for <code>serialize()</code>.
+	 */
+	private static final ThreadLocal<ByteBuffer> buffers = new ThreadLocal<ByteBuffer>() {
+		@Override
+		protected ByteBuffer initialValue() {
+			return ByteBuffer.allocate(256);
+		}
+	};
+
+	// Registers the built-in codecs.
+	static {
+		put(2, new HexLocationCodec());
+		put(3, new TextFileStatCodec());
+		put(4, PrimitiveArrayCodecs.BOOLEAN_ARRAY);
+		put(5, PrimitiveArrayCodecs.BYTE_ARRAY);
+		put(6, PrimitiveArrayCodecs.CHAR_ARRAY);
+		put(7, PrimitiveArrayCodecs.SHORT_ARRAY);
+		put(8, PrimitiveArrayCodecs.INT_ARRAY);
+		put(9, PrimitiveArrayCodecs.LONG_ARRAY);
+		put(10, PrimitiveArrayCodecs.FLOAT_ARRAY);
+		put(11, PrimitiveArrayCodecs.DOUBLE_ARRAY);
+	}
+
+	/**
+	 * This registers a codec under a tag. The tag is written in front of
+	 * every value of the codec's type, so it must stay the same for as long as
+	 * anything encoded with it is kept around.
+	 * 
+	 * @param tag
+	 *            - The tag, between <code>FIRST_USER_TAG</code> and 255.
+	 * @param codec
+	 *            - The codec.
+	 * @throws InvalidParameterException
+	 *             - If the tag is not between <code>FIRST_USER_TAG</code> and
+	 *             255 or is already taken, or the type already has a codec.
+	 */
+	public static void register(int tag, Codec<?> codec) {
+		if (tag < FIRST_USER_TAG || tag > 255)
+			throw new InvalidParameterException("Invalid tag!");
+		put(tag, codec);
+	}
+
+	/**
+	 * Registers a codec under any tag, including the ones kept for the
+	 * library.
+	 */
+	private static synchronized void put(int tag, Codec<?> codec) {
+		if (codec == null)
+			throw new NullPointerException("Codec cannot be null!");
+		else if (codecs[tag] != null)
+			throw new InvalidParameterException("Tag " + tag
+					+ " is already taken!");
+		else if (tags.containsKey(codec.getType()))
+			throw new InvalidParameterException(codec.getType()
+					+ " already has a codec!");
+		Codec<?>[] copy = Arrays.copyOf(codecs, codecs.length);
+		copy[tag] = codec;
+		codecs = copy;
+		tags.put(codec.getType(), tag);
+	}
+
+	/**
+	 * This finds the codec registered for a type.
+	 * 
+	 * @param type
+	 *            - The type.
+	 * @return The codec, or null if there is none, in which case values of the
+	 *         type fall back to Java serialization.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Codec<T> codecFor(Class<T> type) {
+		Integer tag = tags.get(type);
+		return tag == null ? null : (Codec<T>) codecs[tag];
+	}
+
+	/**
+	 * This works out how many bytes a value will take up once encoded,
+	 * including its tag.
+	 * 
+	 * @param value
+	 *            - The value.
+	 * @return The number of bytes, or -1 if it cannot be known without
+	 *         encoding the value.
+	 */
+	public static int sizeOf(Object value) {
+		if (value == null)
+			return 1;
+		Codec<Object> codec = rawCodecFor(value.getClass());
+		if (codec == null)
+			return -1;
+		int size = codec.sizeOf(value);
+		return size < 0 ? -1 : size + 1;
+	}
+
+	/**
+	 * This writes a tagged value into a buffer at its position.
+	 * 
+	 * @param value
+	 *            - The value, which may be null.
+	 * @param buffer
+	 *            - The buffer to write into.
+	 * @throws IOException
+	 *             - If the value cannot be encoded.
+	 * @throws BufferOverflowException
+	 *             - If the buffer runs out of room. The position of the buffer
+	 *             is left wherever the codec stopped.
+	 */
+	public static void encode(Object value, ByteBuffer buffer)
+			throws IOException {
+		if (value == null) {
+			buffer.put((byte) TAG_NULL);
+			return;
+		}
+		Integer tag = tags.get(value.getClass());
+		if (tag == null) {
+			buffer.put((byte) TAG_JAVA);
+			JAVA.encode(value, buffer);
+		} else {
+			buffer.put(tag.byteValue());
+			rawCodec(tag).encode(value, buffer);
+		}
+	}
+
+	/**
+	 * This reads a tagged value out of a buffer at its position.
+	 * 
+	 * @param buffer
+	 *            - The buffer to read from.
+	 * @return The value, which may be null.
+	 * @throws IOException
+	 *             - If the bytes do not make up a valid value.
+	 */
+	public static Object decode(ByteBuffer buffer) throws IOException {
+		try {
+			int tag = buffer.get() & 0xFF;
+			if (tag == TAG_NULL)
+				return null;
+			else if (tag == TAG_JAVA)
+				return JAVA.decode(buffer);
+			Codec<Object> codec = rawCodec(tag);
+			if (codec == null)
+				throw new IOException("Unknown tag " + tag + "!");
+			return codec.decode(buffer);
+		} catch (BufferUnderflowException e) {
+			throw new IOException("The data ends in the middle of a value.", e);
+		}
+	}
+
+	/**
+	 * This reads a tagged value of a known type out of a buffer.
+	 * 
+	 * @param buffer
+	 *            - The buffer to read from.
+	 * @param type
+	 *            - The type the value should be.
+	 * @return The value, which may be null.
+	 * @throws IOException
+	 *             - If the bytes do not make up a valid value of that type.
+	 */
+	public static <T> T decode(ByteBuffer buffer, Class<T> type)
+			throws IOException {
+		Object value = decode(buffer);
+		if (value != null && !type.isInstance(value))
+			throw new IOException("Expected " + type.getName() + " but got "
+					+ value.getClass().getName() + "!");
+		return type.cast(value);
+	}
+
+	/**
+	 * This writes a tagged value into a buffer from a pool, so that it can be
+	 * handed straight to a channel without copying it into an array. The
+	 * buffer is sized from the codec up front, and is only grown when the size
+	 * cannot be known ahead of time.
+	 * 
+	 * @param value
+	 *            - The value, which may be null.
+	 * @param pool
+	 *            - The pool to take the buffer from.
+	 * @return The buffer, flipped so that it is ready to be read. It should be
+	 *         given back to the pool once it has been used.
+	 * @throws IOException
+	 *             - If the value cannot be encoded.
+	 */
+	public static ByteBuffer encode(Object value, BufferPool pool)
+			throws IOException {
+		if (pool == null)
+			throw new NullPointerException("Pool cannot be null!");
+		int size = sizeOf(value);
+		ByteBuffer buffer = pool.acquire(size < 0 ? 256 : size);
+		try {
+			while (true) {
+				try {
+					encode(value, buffer);
+					buffer.flip();
+					return buffer;
+				} catch (BufferOverflowException e) {
+					if (buffer.capacity() >= MAX_BUFFER)
+						throw new IOException(
+								"The value is too big to encode.", e);
+					// Nothing needs to be kept, so the grow copies no bytes.
+					buffer.clear();
+					buffer = pool.grow(buffer, buffer.capacity() * 2);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			pool.release(buffer);
+			throw e;
+		}
+	}
+
+	/**
+	 * This reads a tagged value out of part of a buffer without copying it
+	 * and without moving the position of the buffer. This lets a value be read
+	 * right out of a bigger message or a mapped file.
+	 * 
+	 * @param buffer
+	 *            - The buffer to read from.
+	 * @param offset
+	 *            - The index of the first byte of the value.
+	 * @param length
+	 *            - The number of bytes the value takes up.
+	 * @return The value, which may be null.
+	 * @throws IOException
+	 *             - If the bytes do not make up a valid value.
+	 */
+	public static Object decode(ByteBuffer buffer, int offset, int length)
+			throws IOException {
+		if (offset < 0 || length < 0 || offset > buffer.limit() - length)
+			throw new InvalidParameterException("Invalid offset or length!");
+		ByteBuffer view = buffer.duplicate().order(buffer.order());
+		view.limit(offset + length).position(offset);
+		return decode(view);
+	}
+
+	/**
+	 * This converts any value into a byte array. The bytes are written into a
+	 * buffer that each thread keeps and reuses, so for all but very big values
+	 * the only array made is the one returned.
+	 * 
+	 * @param value
+	 *            - The value.
+	 * @return The value represented as a byte array.
+	 * @throws IOException
+	 *             - If the value cannot be encoded.
+	 */
+	public static byte[] serialize(Object value) throws IOException {
+		ByteBuffer buffer = buffers.get();
+		int size = sizeOf(value);
+		if (size > buffer.capacity())
+			buffer = grow(size);
+		while (true) {
+			buffer.clear();
+			try {
+				encode(value, buffer);
+				return Arrays.copyOf(buffer.array(), buffer.position());
+			} catch (BufferOverflowException e) {
+				if (buffer.capacity() >= MAX_BUFFER)
+					throw new IOException("The value is too big to encode.", e);
+				buffer = grow(buffer.capacity() * 2);
+			}
+		}
+	}
+
+	/**
+	 * This converts a byte array made by <code>serialize()</code> back into a
+	 * value.
+	 * 
+	 * @param data
+	 *            - The byte array.
+	 * @return The value represented by the data.
+	 * @throws IOException
+	 *             - If the bytes do not make up a valid value.
+	 */
+	public static Object deserialize(byte[] data) throws IOException {
+		if (data == null)
+			throw new NullPointerException("Data cannot be null!");
+		return decode(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * This works out how many bytes <code>putString()</code> will write.
+	 * 
+	 * @param string
+	 *            - The string, which may be null.
+	 * @return The number of bytes.
+	 */
+	public static int sizeOfString(String string) {
+		return 4 + (string == null ? 0 : string.length() * 2);
+	}
+
+	/**
+	 * This writes a string as its length followed by its characters.
+	 * 
+	 * @param string
+	 *            - The string, which may be null.
+	 * @param buffer
+	 *            - The buffer to write into.
+	 */
+	public static void putString(String string, ByteBuffer buffer) {
+		if (string == null) {
+			buffer.putInt(-1);
+			return;
+		}
+		int length = string.length();
+		buffer.putInt(length);
+		for (int ix = 0; ix < length; ix++) {
+			buffer.putChar(string.charAt(ix));
+		}
+	}
+
+	/**
+	 * This reads a string written by <code>putString()</code>.
+	 * 
+	 * @param buffer
+	 *            - The buffer to read from.
+	 * @return The string, which may be null.
+	 * @throws IOException
+	 *             - If the length is invalid.
+	 */
+	public static String getString(ByteBuffer buffer) throws IOException {
+		int length = buffer.getInt();
+		if (length == -1)
+			return null;
+		else if (length < 0 || length > buffer.remaining() / 2)
+			throw new IOException("Invalid string length!");
+		char[] chars = new char[length];
+		buffer.asCharBuffer().get(chars);
+		buffer.position(buffer.position() + length * 2);
+		return new String(chars);
+	}
+
+	/**
+	 * Gets the codec for a tag without checking its type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Codec<Object> rawCodec(int tag) {
+		return (Codec<Object>) codecs[tag];
+	}
+
+	/**
+	 * Gets the codec for a type without checking its type.
+	 */
+	private static Codec<Object> rawCodecFor(Class<?> type) {
+		Integer tag = tags.get(type);
+		return tag == null ? null : rawCodec(tag);
+	}
+
+	/**
+	 * Makes a buffer with at least the given capacity, which this thread
+	 * keeps in place of its old one unless it is too big to keep.
+	 */
+	private static ByteBuffer grow(int capacity) {
+		ByteBuffer buffer = ByteBuffer.allocate(Math.min(capacity, MAX_BUFFER));
+		if (buffer.capacity() <= MAX_KEPT_BUFFER)
+			buffers.set(buffer);
+		return buffer;
+	}
+
+}
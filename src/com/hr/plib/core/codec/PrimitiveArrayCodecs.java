@@ -0,0 +1,320 @@
+package com.hr.plib.core.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * These are the codecs for arrays of primitives. Each array is written as its
+ * length followed by its elements, which are copied in bulk rather than one at
+ * a time.
+ */
+public final class PrimitiveArrayCodecs {
+
+	/**
+	 * The codec for <code>boolean[]</code>.
+	 */
+	public static final Codec<boolean[]> BOOLEAN_ARRAY = new BooleanArrayCodec();
+
+	/**
+	 * The codec for <code>byte[]</code>.
+	 */
+	public static final Codec<byte[]> BYTE_ARRAY = new ByteArrayCodec();
+
+	/**
+	 * The codec for <code>char[]</code>.
+	 */
+	public static final Codec<char[]> CHAR_ARRAY = new CharArrayCodec();
+
+	/**
+	 * The codec for <code>short[]</code>.
+	 */
+	public static final Codec<short[]> SHORT_ARRAY = new ShortArrayCodec();
+
+	/**
+	 * The codec for <code>int[]</code>.
+	 */
+	public static final Codec<int[]> INT_ARRAY = new IntArrayCodec();
+
+	/**
+	 * The codec for <code>long[]</code>.
+	 */
+	public static final Codec<long[]> LONG_ARRAY = new LongArrayCodec();
+
+	/**
+	 * The codec for <code>float[]</code>.
+	 */
+	public static final Codec<float[]> FLOAT_ARRAY = new FloatArrayCodec();
+
+	/**
+	 * The codec for <code>double[]</code>.
+	 */
+	public static final Codec<double[]> DOUBLE_ARRAY = new DoubleArrayCodec();
+
+	/**
+	 * The codec for <code>boolean[]</code>.
+	 */
+	private static final class BooleanArrayCodec implements Codec<boolean[]> {
+
+		@Override
+		public Class<boolean[]> getType() {
+			return boolean[].class;
+		}
+
+		@Override
+		public int sizeOf(boolean[] value) {
+			return 4 + value.length * 1;
+		}
+
+		@Override
+		public void encode(boolean[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			for (boolean b : value) {
+				buffer.put((byte) (b ? 1 : 0));
+			}
+		}
+
+		@Override
+		public boolean[] decode(ByteBuffer buffer) {
+			boolean[] array = new boolean[length(buffer, 1)];
+			for (int ix = 0; ix < array.length; ix++) {
+				array[ix] = buffer.get() != 0;
+			}
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>byte[]</code>.
+	 */
+	private static final class ByteArrayCodec implements Codec<byte[]> {
+
+		@Override
+		public Class<byte[]> getType() {
+			return byte[].class;
+		}
+
+		@Override
+		public int sizeOf(byte[] value) {
+			return 4 + value.length * 1;
+		}
+
+		@Override
+		public void encode(byte[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.put(value);
+		}
+
+		@Override
+		public byte[] decode(ByteBuffer buffer) {
+			byte[] array = new byte[length(buffer, 1)];
+			buffer.get(array);
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>char[]</code>.
+	 */
+	private static final class CharArrayCodec implements Codec<char[]> {
+
+		@Override
+		public Class<char[]> getType() {
+			return char[].class;
+		}
+
+		@Override
+		public int sizeOf(char[] value) {
+			return 4 + value.length * 2;
+		}
+
+		@Override
+		public void encode(char[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.asCharBuffer().put(value);
+			buffer.position(buffer.position() + value.length * 2);
+		}
+
+		@Override
+		public char[] decode(ByteBuffer buffer) {
+			char[] array = new char[length(buffer, 2)];
+			buffer.asCharBuffer().get(array);
+			buffer.position(buffer.position() + array.length * 2);
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>short[]</code>.
+	 */
+	private static final class ShortArrayCodec implements Codec<short[]> {
+
+		@Override
+		public Class<short[]> getType() {
+			return short[].class;
+		}
+
+		@Override
+		public int sizeOf(short[] value) {
+			return 4 + value.length * 2;
+		}
+
+		@Override
+		public void encode(short[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.asShortBuffer().put(value);
+			buffer.position(buffer.position() + value.length * 2);
+		}
+
+		@Override
+		public short[] decode(ByteBuffer buffer) {
+			short[] array = new short[length(buffer, 2)];
+			buffer.asShortBuffer().get(array);
+			buffer.position(buffer.position() + array.length * 2);
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>int[]</code>.
+	 */
+	private static final class IntArrayCodec implements Codec<int[]> {
+
+		@Override
+		public Class<int[]> getType() {
+			return int[].class;
+		}
+
+		@Override
+		public int sizeOf(int[] value) {
+			return 4 + value.length * 4;
+		}
+
+		@Override
+		public void encode(int[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.asIntBuffer().put(value);
+			buffer.position(buffer.position() + value.length * 4);
+		}
+
+		@Override
+		public int[] decode(ByteBuffer buffer) {
+			int[] array = new int[length(buffer, 4)];
+			buffer.asIntBuffer().get(array);
+			buffer.position(buffer.position() + array.length * 4);
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>long[]</code>.
+	 */
+	private static final class LongArrayCodec implements Codec<long[]> {
+
+		@Override
+		public Class<long[]> getType() {
+			return long[].class;
+		}
+
+		@Override
+		public int sizeOf(long[] value) {
+			return 4 + value.length * 8;
+		}
+
+		@Override
+		public void encode(long[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.asLongBuffer().put(value);
+			buffer.position(buffer.position() + value.length * 8);
+		}
+
+		@Override
+		public long[] decode(ByteBuffer buffer) {
+			long[] array = new long[length(buffer, 8)];
+			buffer.asLongBuffer().get(array);
+			buffer.position(buffer.position() + array.length * 8);
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>float[]</code>.
+	 */
+	private static final class FloatArrayCodec implements Codec<float[]> {
+
+		@Override
+		public Class<float[]> getType() {
+			return float[].class;
+		}
+
+		@Override
+		public int sizeOf(float[] value) {
+			return 4 + value.length * 4;
+		}
+
+		@Override
+		public void encode(float[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.asFloatBuffer().put(value);
+			buffer.position(buffer.position() + value.length * 4);
+		}
+
+		@Override
+		public float[] decode(ByteBuffer buffer) {
+			float[] array = new float[length(buffer, 4)];
+			buffer.asFloatBuffer().get(array);
+			buffer.position(buffer.position() + array.length * 4);
+			return array;
+		}
+
+	}
+
+	/**
+	 * The codec for <code>double[]</code>.
+	 */
+	private static final class DoubleArrayCodec implements Codec<double[]> {
+
+		@Override
+		public Class<double[]> getType() {
+			return double[].class;
+		}
+
+		@Override
+		public int sizeOf(double[] value) {
+			return 4 + value.length * 8;
+		}
+
+		@Override
+		public void encode(double[] value, ByteBuffer buffer) {
+			buffer.putInt(value.length);
+			buffer.asDoubleBuffer().put(value);
+			buffer.position(buffer.position() + value.length * 8);
+		}
+
+		@Override
+		public double[] decode(ByteBuffer buffer) {
+			double[] array = new double[length(buffer, 8)];
+			buffer.asDoubleBuffer().get(array);
+			buffer.position(buffer.position() + array.length * 8);
+			return array;
+		}
+
+	}
+
+	/**
+	 * This reads the length of an array and makes sure the buffer really has
+	 * that many elements left, so that a bad length cannot make a huge array.
+	 */
+	private static int length(ByteBuffer buffer, int elementSize) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining() / elementSize)
+			throw new BufferUnderflowException();
+		return length;
+	}
+
+}
\ No newline at end of file
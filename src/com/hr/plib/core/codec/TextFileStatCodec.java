@@ -0,0 +1,51 @@
+package com.hr.plib.core.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.hr.plib.core.io.PLTextFileStat;
+
+/**
+ * This encodes a <code>PLTextFileStat</code> as its path followed by its eight
+ * counts, in the order they are listed in <code>PLTextAnalyzer.Type</code>.
+ */
+public class TextFileStatCodec implements Codec<PLTextFileStat> {
+
+	@Override
+	public Class<PLTextFileStat> getType() {
+		return PLTextFileStat.class;
+	}
+
+	@Override
+	public int sizeOf(PLTextFileStat value) {
+		return PLCodecs.sizeOfString(value.getPath()) + 8 * 8;
+	}
+
+	@Override
+	public void encode(PLTextFileStat value, ByteBuffer buffer) {
+		PLCodecs.putString(value.getPath(), buffer);
+		buffer.putLong(value.getWordCount());
+		buffer.putLong(value.getLetterCount());
+		buffer.putLong(value.getCharacterCount());
+		buffer.putLong(value.getSymbolCount());
+		buffer.putLong(value.getDigitCount());
+		buffer.putLong(value.getSpaceCount());
+		buffer.putLong(value.getCapitalCount());
+		buffer.putLong(value.getLowerCount());
+	}
+
+	@Override
+	public PLTextFileStat decode(ByteBuffer buffer) throws IOException {
+		PLTextFileStat stat = new PLTextFileStat(PLCodecs.getString(buffer));
+		stat.setWordCount(buffer.getLong());
+		stat.setLetterCount(buffer.getLong());
+		stat.setCharacterCount(buffer.getLong());
+		stat.setSymbolCount(buffer.getLong());
+		stat.setDigitCount(buffer.getLong());
+		stat.setSpaceCount(buffer.getLong());
+		stat.setCapitalCount(buffer.getLong());
+		stat.setLowerCount(buffer.getLong());
+		return stat;
+	}
+
+}
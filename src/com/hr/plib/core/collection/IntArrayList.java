@@ -0,0 +1,277 @@
+package com.hr.plib.core.collection;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.hr.plib.core.list.IntList;
+import com.hr.plib.core.list.PList;
+
+/**
+ * This is a growable list of <code>int</code> values backed by a single
+ * array, like <code>ArrayList&lt;Integer&gt;</code> but without making an object
+ * for every element. The array grows by half of its size each time it runs
+ * out of room.
+ */
+public class IntArrayList implements IntList {
+
+	/**
+	 * The capacity used when none is given.
+	 */
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/**
+	 * The elements, followed by unused room.
+	 */
+	private int[] elements;
+
+	/**
+	 * The number of elements.
+	 */
+	private int size;
+
+	/**
+	 * This makes an empty list.
+	 */
+	public IntArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * This makes an empty list with room for a number of elements.
+	 * 
+	 * @param initialCapacity
+	 *            - The number of elements to make room for.
+	 * @throws InvalidParameterException
+	 *             - If the capacity is negative.
+	 */
+	public IntArrayList(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new InvalidParameterException("Invalid capacity!");
+		elements = new int[initialCapacity];
+	}
+
+	/**
+	 * This makes a list holding a copy of an array.
+	 * 
+	 * @param array
+	 *            - The array to copy.
+	 */
+	public IntArrayList(int[] array) {
+		elements = array.clone();
+		size = array.length;
+	}
+
+	/**
+	 * This adds an element to the end of the list.
+	 * 
+	 * @param value
+	 *            - The value to add.
+	 */
+	public void add(int value) {
+		if (size == elements.length)
+			grow(size + 1);
+		elements[size++] = value;
+	}
+
+	/**
+	 * This inserts an element, moving everything after it along by one.
+	 * 
+	 * @param index
+	 *            - The index to insert at, up to <code>size()</code>.
+	 * @param value
+	 *            - The value to insert.
+	 */
+	public void add(int index, int value) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		if (size == elements.length)
+			grow(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+	}
+
+	/**
+	 * This adds every element of an array to the end of the list.
+	 * 
+	 * @param array
+	 *            - The array.
+	 */
+	public void addAll(int[] array) {
+		addAll(array, 0, array.length);
+	}
+
+	/**
+	 * This adds part of an array to the end of the list.
+	 * 
+	 * @param array
+	 *            - The array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public void addAll(int[] array, int start, int end) {
+		if (array == null)
+			throw new NullPointerException("Array cannot be null!");
+		else if (start < 0 || end > array.length || start > end)
+			throw new InvalidParameterException("Invalid start or end!");
+		int count = end - start;
+		if (size + count > elements.length)
+			grow(size + count);
+		System.arraycopy(array, start, elements, size, count);
+		size += count;
+	}
+
+	/**
+	 * This adds every element of another list to the end of this one.
+	 * 
+	 * @param list
+	 *            - The list.
+	 */
+	public void addAll(IntList list) {
+		if (list instanceof IntArrayList) {
+			IntArrayList other = (IntArrayList) list;
+			addAll(other.elements, 0, other.size);
+			return;
+		}
+		int count = list.size();
+		if (size + count > elements.length)
+			grow(size + count);
+		for (int ix = 0; ix < count; ix++) {
+			elements[size++] = list.get(ix);
+		}
+	}
+
+	/**
+	 * This removes every element, but keeps the room that they took up.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * This makes sure there is room for a number of elements without the list
+	 * having to grow.
+	 * 
+	 * @param minCapacity
+	 *            - The number of elements.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > elements.length)
+			grow(minCapacity);
+	}
+
+	@Override
+	public int get(int index) {
+		if (index >= size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		return elements[index];
+	}
+
+	@Override
+	public int set(int index, int value) {
+		if (index >= size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		int old = elements[index];
+		elements[index] = value;
+		return old;
+	}
+
+	/**
+	 * This removes an element, moving everything after it back by one.
+	 * 
+	 * @param index
+	 *            - The index of the element.
+	 * @return The element that was removed.
+	 */
+	public int removeAt(int index) {
+		int old = get(index);
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		return old;
+	}
+
+	/**
+	 * This removes the last element.
+	 * 
+	 * @return The element that was removed.
+	 * @throws IndexOutOfBoundsException
+	 *             - If the list is empty.
+	 */
+	public int removeLast() {
+		if (size == 0)
+			throw new IndexOutOfBoundsException("The list is empty!");
+		return elements[--size];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int indexOf(int value) {
+		for (int ix = 0; ix < size; ix++) {
+			if (elements[ix] == value)
+				return ix;
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(int value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * This sorts the elements into ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(elements, 0, size);
+	}
+
+	@Override
+	public int[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * This shrinks the backing array so that it holds exactly the elements.
+	 */
+	public void trimToSize() {
+		if (size < elements.length)
+			elements = Arrays.copyOf(elements, size);
+	}
+
+	@Override
+	public List<Integer> boxed() {
+		return PList.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		return boxed().toString();
+	}
+
+	/**
+	 * Grows the array to hold at least the given number of elements.
+	 */
+	private void grow(int minCapacity) {
+		if (minCapacity < 0)
+			throw new OutOfMemoryError("The list is too big!");
+		int capacity = elements.length + (elements.length >> 1);
+		if (capacity < minCapacity || capacity < 0)
+			capacity = Math.max(minCapacity, DEFAULT_CAPACITY);
+		elements = Arrays.copyOf(elements, capacity);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.hr.plib.core.collection;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * This is a hash set of <code>int</code> values that never boxes them. It
+ * works the same way as <code>IntIntMap</code>: the values sit in one flat
+ * array, collisions are handled by linear probing, 0 marks an empty slot and
+ * is tracked off to the side, and removals shift entries back rather than
+ * leaving markers.
+ */
+public class IntHashSet {
+
+	/**
+	 * The values, with 0 meaning an empty slot.
+	 */
+	private int[] values;
+
+	/**
+	 * The number of values, including 0.
+	 */
+	private int size;
+
+	/**
+	 * The number of values the array can hold before it has to grow.
+	 */
+	private int threshold;
+
+	/**
+	 * How full the array can get before it grows.
+	 */
+	private final float loadFactor;
+
+	/**
+	 * Whether 0 is in the set.
+	 */
+	private boolean hasZero;
+
+	/**
+	 * This makes an empty set.
+	 */
+	public IntHashSet() {
+		this(16, IntIntMap.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * This makes an empty set with room for a number of values.
+	 * 
+	 * @param expectedSize
+	 *            - The number of values to make room for.
+	 */
+	public IntHashSet(int expectedSize) {
+		this(expectedSize, IntIntMap.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * This makes an empty set.
+	 * 
+	 * @param expectedSize
+	 *            - The number of values to make room for.
+	 * @param loadFactor
+	 *            - How full the array can get before it grows, greater than 0
+	 *            and less than 1. Lower is faster but takes more memory.
+	 * @throws InvalidParameterException
+	 *             - If the size or load factor is invalid.
+	 */
+	public IntHashSet(int expectedSize, float loadFactor) {
+		if (expectedSize < 0)
+			throw new InvalidParameterException("Invalid size!");
+		else if (!(loadFactor > 0 && loadFactor < 1))
+			throw new InvalidParameterException("Invalid load factor!");
+		this.loadFactor = loadFactor;
+		allocate(IntIntMap.capacityFor(expectedSize, loadFactor));
+	}
+
+	/**
+	 * This adds a value.
+	 * 
+	 * @param value
+	 *            - The value.
+	 * @return True if the value was not in the set already, else false.
+	 */
+	public boolean add(int value) {
+		if (value == 0) {
+			if (hasZero)
+				return false;
+			hasZero = true;
+			size++;
+			return true;
+		}
+		int mask = values.length - 1;
+		int slot = IntIntMap.hash(value) & mask;
+		for (int v; (v = values[slot]) != 0; slot = (slot + 1) & mask) {
+			if (v == value)
+				return false;
+		}
+		values[slot] = value;
+		if (++size > threshold)
+			rehash(values.length * 2);
+		return true;
+	}
+
+	/**
+	 * This adds every value in an array.
+	 * 
+	 * @param array
+	 *            - The array.
+	 * @return The number of values that were not in the set already.
+	 */
+	public int addAll(int[] array) {
+		if (array == null)
+			throw new NullPointerException("Array cannot be null!");
+		// Grows once up front rather than a few times along the way.
+		if (size + array.length > threshold)
+			rehash(Math.max(values.length,
+					IntIntMap.capacityFor(size + array.length, loadFactor)));
+		int added = 0;
+		for (int value : array) {
+			if (add(value))
+				added++;
+		}
+		return added;
+	}
+
+	/**
+	 * This removes every value, but keeps the room that they took up.
+	 */
+	public void clear() {
+		Arrays.fill(values, 0);
+		hasZero = false;
+		size = 0;
+	}
+
+	/**
+	 * @param value
+	 *            - The value.
+	 * @return True if the value is in the set, else false.
+	 */
+	public boolean contains(int value) {
+		if (value == 0)
+			return hasZero;
+		int mask = values.length - 1;
+		for (int slot = IntIntMap.hash(value) & mask;; slot = (slot + 1) & mask) {
+			int v = values[slot];
+			if (v == value)
+				return true;
+			else if (v == 0)
+				return false;
+		}
+	}
+
+	/**
+	 * This hands every value to a consumer, in no particular order. The set
+	 * must not be changed while this runs.
+	 * 
+	 * @param consumer
+	 *            - The consumer.
+	 */
+	public void forEach(IntConsumer consumer) {
+		if (hasZero)
+			consumer.accept(0);
+		for (int value : values) {
+			if (value != 0)
+				consumer.accept(value);
+		}
+	}
+
+	/**
+	 * @return True if there are no values, else false.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * This removes a value.
+	 * 
+	 * @param value
+	 *            - The value.
+	 * @return True if the value was in the set, else false.
+	 */
+	public boolean remove(int value) {
+		if (value == 0) {
+			if (!hasZero)
+				return false;
+			hasZero = false;
+			size--;
+			return true;
+		}
+		int mask = values.length - 1;
+		int gap = IntIntMap.hash(value) & mask;
+		for (;; gap = (gap + 1) & mask) {
+			int v = values[gap];
+			if (v == value)
+				break;
+			else if (v == 0)
+				return false;
+		}
+		size--;
+		// Moves back any value that would no longer be found past the gap.
+		for (int ix = (gap + 1) & mask; values[ix] != 0; ix = (ix + 1) & mask) {
+			int home = IntIntMap.hash(values[ix]) & mask;
+			if (((ix - home) & mask) >= ((ix - gap) & mask)) {
+				values[gap] = values[ix];
+				gap = ix;
+			}
+		}
+		values[gap] = 0;
+		return true;
+	}
+
+	/**
+	 * @return The number of values.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return A new array holding every value, in no particular order.
+	 */
+	public int[] toArray() {
+		int[] result = new int[size];
+		int count = 0;
+		if (hasZero)
+			result[count++] = 0;
+		for (int value : values) {
+			if (value != 0)
+				result[count++] = value;
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	/**
+	 * Moves every value into an array of a new capacity.
+	 */
+	private void rehash(int capacity) {
+		int[] old = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int value : old) {
+			if (value != 0) {
+				int slot = IntIntMap.hash(value) & mask;
+				while (values[slot] != 0)
+					slot = (slot + 1) & mask;
+				values[slot] = value;
+			}
+		}
+	}
+
+	/**
+	 * Makes a new, empty array.
+	 */
+	private void allocate(int capacity) {
+		values = new int[capacity];
+		threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+	}
+
+}
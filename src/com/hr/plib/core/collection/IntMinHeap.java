@@ -0,0 +1,166 @@
+package com.hr.plib.core.collection;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This is a binary min-heap of <code>int</code> values, each with an
+ * <code>int</code> priority, that never boxes either one. Each entry is packed
+ * into one <code>long</code> with the priority in the high half, so comparing
+ * two entries is a single comparison and the whole heap is one flat array.
+ * Entries with equal priorities come out smallest value first.
+ * <p>
+ * There is no way to lower the priority of an entry that is already in the
+ * heap. Searches like Dijkstra's just push the value again with its new
+ * priority and skip the stale copy when it comes out, which is usually faster
+ * than keeping track of where every value is.
+ * </p>
+ */
+public class IntMinHeap {
+
+	/**
+	 * The capacity used when none is given.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The packed entries, in heap order, followed by unused room.
+	 */
+	private long[] heap;
+
+	/**
+	 * The number of entries.
+	 */
+	private int size;
+
+	/**
+	 * This makes an empty heap.
+	 */
+	public IntMinHeap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * This makes an empty heap with room for a number of entries.
+	 * 
+	 * @param initialCapacity
+	 *            - The number of entries to make room for.
+	 * @throws InvalidParameterException
+	 *             - If the capacity is negative.
+	 */
+	public IntMinHeap(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new InvalidParameterException("Invalid capacity!");
+		heap = new long[Math.max(1, initialCapacity)];
+	}
+
+	/**
+	 * This adds a value.
+	 * 
+	 * @param value
+	 *            - The value.
+	 * @param priority
+	 *            - The priority, where lower comes out first.
+	 */
+	public void push(int value, int priority) {
+		if (size == heap.length)
+			heap = Arrays.copyOf(heap, size + (size >> 1) + 1);
+		long entry = pack(value, priority);
+		// Moves parents down until the entry's place is found.
+		int ix = size++;
+		while (ix > 0) {
+			int parent = (ix - 1) >>> 1;
+			if (heap[parent] <= entry)
+				break;
+			heap[ix] = heap[parent];
+			ix = parent;
+		}
+		heap[ix] = entry;
+	}
+
+	/**
+	 * This removes the value with the lowest priority.
+	 * 
+	 * @return The value.
+	 * @throws NoSuchElementException
+	 *             - If the heap is empty.
+	 */
+	public int pop() {
+		if (size == 0)
+			throw new NoSuchElementException("Heap is empty!");
+		int value = valueOf(heap[0]);
+		long entry = heap[--size];
+		// Moves smaller children up until the last entry's place is found.
+		int ix = 0, half = size >>> 1;
+		while (ix < half) {
+			int child = 2 * ix + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child])
+				child++;
+			if (entry <= heap[child])
+				break;
+			heap[ix] = heap[child];
+			ix = child;
+		}
+		heap[ix] = entry;
+		return value;
+	}
+
+	/**
+	 * @return The value with the lowest priority, without removing it.
+	 * @throws NoSuchElementException
+	 *             - If the heap is empty.
+	 */
+	public int peek() {
+		if (size == 0)
+			throw new NoSuchElementException("Heap is empty!");
+		return valueOf(heap[0]);
+	}
+
+	/**
+	 * @return The lowest priority in the heap.
+	 * @throws NoSuchElementException
+	 *             - If the heap is empty.
+	 */
+	public int peekPriority() {
+		if (size == 0)
+			throw new NoSuchElementException("Heap is empty!");
+		return (int) (heap[0] >> 32);
+	}
+
+	/**
+	 * This removes every entry, but keeps the room they took up.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @return True if there are no entries, else false.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return The number of entries.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Packs an entry so that entries sort by priority and then by value.
+	 */
+	private static long pack(int value, int priority) {
+		return ((long) priority << 32) | (value ^ 0x80000000L) & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Gets the value back out of an entry.
+	 */
+	private static int valueOf(long entry) {
+		return (int) entry ^ 0x80000000;
+	}
+
+}
@@ -0,0 +1,407 @@
+package com.hr.plib.core.collection;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * This is a hash map from <code>long</code> keys to <code>long</code> values that
+ * never boxes either one. The keys and values are kept in two flat arrays and
+ * collisions are handled by linear probing, so a lookup usually touches only
+ * one or two neighboring slots.
+ * <p>
+ * A key of 0 marks an empty slot, so that the arrays never need clearing
+ * beyond a fill, and the key 0 itself is stored off to the side. Removing a
+ * key shifts the entries after it back rather than leaving a marker behind,
+ * so lookups do not slow down as keys come and go.
+ * </p>
+ */
+public class LongLongMap {
+
+	/**
+	 * This is handed each entry of a map in turn.
+	 */
+	public static interface Procedure {
+
+		/**
+		 * @param key
+		 *            - The key.
+		 * @param value
+		 *            - The value.
+		 */
+		public void apply(long key, long value);
+
+	}
+
+	/**
+	 * The load factor used when none is given.
+	 */
+	public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+	/**
+	 * The keys, with 0 meaning an empty slot.
+	 */
+	private long[] keys;
+
+	/**
+	 * The value of each key.
+	 */
+	private long[] values;
+
+	/**
+	 * The number of keys, including the key 0.
+	 */
+	private int size;
+
+	/**
+	 * The number of keys the arrays can hold before they have to grow.
+	 */
+	private int threshold;
+
+	/**
+	 * How full the arrays can get before they grow.
+	 */
+	private final float loadFactor;
+
+	/**
+	 * The value returned for keys that are not in the map.
+	 */
+	private final long noEntryValue;
+
+	/**
+	 * Whether the key 0 is in the map.
+	 */
+	private boolean hasZeroKey;
+
+	/**
+	 * The value of the key 0.
+	 */
+	private long zeroValue;
+
+	/**
+	 * This makes an empty map.
+	 */
+	public LongLongMap() {
+		this(16, DEFAULT_LOAD_FACTOR, 0);
+	}
+
+	/**
+	 * This makes an empty map with room for a number of keys.
+	 * 
+	 * @param expectedSize
+	 *            - The number of keys to make room for.
+	 */
+	public LongLongMap(int expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR, 0);
+	}
+
+	/**
+	 * This makes an empty map.
+	 * 
+	 * @param expectedSize
+	 *            - The number of keys to make room for.
+	 * @param loadFactor
+	 *            - How full the arrays can get before they grow, greater than
+	 *            0 and less than 1. Lower is faster but takes more memory.
+	 * @param noEntryValue
+	 *            - The value returned for keys that are not in the map.
+	 * @throws InvalidParameterException
+	 *             - If the size or load factor is invalid.
+	 */
+	public LongLongMap(int expectedSize, float loadFactor, long noEntryValue) {
+		if (expectedSize < 0)
+			throw new InvalidParameterException("Invalid size!");
+		else if (!(loadFactor > 0 && loadFactor < 1))
+			throw new InvalidParameterException("Invalid load factor!");
+		this.loadFactor = loadFactor;
+		this.noEntryValue = noEntryValue;
+		allocate(capacityFor(expectedSize, loadFactor));
+	}
+
+	/**
+	 * This adds an amount to the value of a key, treating a missing key as
+	 * having the no entry value.
+	 * 
+	 * @param key
+	 *            - The key.
+	 * @param amount
+	 *            - The amount to add.
+	 * @return The new value.
+	 */
+	public long addTo(long key, long amount) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				zeroValue = noEntryValue;
+				size++;
+			}
+			return zeroValue += amount;
+		}
+		int slot = find(key);
+		if (slot >= 0)
+			return values[slot] += amount;
+		insert(~slot, key, noEntryValue + amount);
+		return noEntryValue + amount;
+	}
+
+	/**
+	 * This removes every key, but keeps the room that they took up.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	/**
+	 * @param key
+	 *            - The key.
+	 * @return True if the key is in the map, else false.
+	 */
+	public boolean containsKey(long key) {
+		return key == 0 ? hasZeroKey : find(key) >= 0;
+	}
+
+	/**
+	 * This hands every entry to a procedure, in no particular order. The map
+	 * must not be changed while this runs.
+	 * 
+	 * @param procedure
+	 *            - The procedure.
+	 */
+	public void forEach(Procedure procedure) {
+		if (hasZeroKey)
+			procedure.apply(0, zeroValue);
+		for (int ix = 0; ix < keys.length; ix++) {
+			if (keys[ix] != 0)
+				procedure.apply(keys[ix], values[ix]);
+		}
+	}
+
+	/**
+	 * @param key
+	 *            - The key.
+	 * @return The value of the key, or the no entry value if it is not in the
+	 *         map.
+	 */
+	public long get(long key) {
+		return getOrDefault(key, noEntryValue);
+	}
+
+	/**
+	 * @param key
+	 *            - The key.
+	 * @param defaultValue
+	 *            - The value to return if the key is not in the map.
+	 * @return The value of the key, or the default value if it is not in the
+	 *         map.
+	 */
+	public long getOrDefault(long key, long defaultValue) {
+		if (key == 0)
+			return hasZeroKey ? zeroValue : defaultValue;
+		int mask = keys.length - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			long k = keys[slot];
+			if (k == key)
+				return values[slot];
+			else if (k == 0)
+				return defaultValue;
+		}
+	}
+
+	/**
+	 * @return The value returned for keys that are not in the map.
+	 */
+	public long getNoEntryValue() {
+		return noEntryValue;
+	}
+
+	/**
+	 * @return True if there are no keys, else false.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return A new array holding every key, in no particular order.
+	 */
+	public long[] keys() {
+		long[] result = new long[size];
+		int count = 0;
+		if (hasZeroKey)
+			result[count++] = 0;
+		for (long key : keys) {
+			if (key != 0)
+				result[count++] = key;
+		}
+		return result;
+	}
+
+	/**
+	 * This sets the value of a key.
+	 * 
+	 * @param key
+	 *            - The key.
+	 * @param value
+	 *            - The value.
+	 * @return The old value, or the no entry value if the key was not in the
+	 *         map.
+	 */
+	public long put(long key, long value) {
+		if (key == 0) {
+			long old = hasZeroKey ? zeroValue : noEntryValue;
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return old;
+		}
+		int slot = find(key);
+		if (slot >= 0) {
+			long old = values[slot];
+			values[slot] = value;
+			return old;
+		}
+		insert(~slot, key, value);
+		return noEntryValue;
+	}
+
+	/**
+	 * This removes a key.
+	 * 
+	 * @param key
+	 *            - The key.
+	 * @return The value the key had, or the no entry value if it was not in
+	 *         the map.
+	 */
+	public long remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey)
+				return noEntryValue;
+			hasZeroKey = false;
+			size--;
+			return zeroValue;
+		}
+		int slot = find(key);
+		if (slot < 0)
+			return noEntryValue;
+		long old = values[slot];
+		size--;
+		// Moves back any entry that would no longer be found past the gap.
+		int mask = keys.length - 1;
+		int gap = slot;
+		for (int ix = (gap + 1) & mask; keys[ix] != 0; ix = (ix + 1) & mask) {
+			int home = hash(keys[ix]) & mask;
+			// The entry can fill the gap unless its home lies after the gap.
+			if (((ix - home) & mask) >= ((ix - gap) & mask)) {
+				keys[gap] = keys[ix];
+				values[gap] = values[ix];
+				gap = ix;
+			}
+		}
+		keys[gap] = 0;
+		return old;
+	}
+
+	/**
+	 * @return The number of keys.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		forEach(new Procedure() {
+			@Override
+			public void apply(long key, long value) {
+				if (builder.length() > 1)
+					builder.append(", ");
+				builder.append(key).append('=').append(value);
+			}
+		});
+		return builder.append('}').toString();
+	}
+
+	/**
+	 * Finds the slot of a key that is not 0. If it is missing, this returns
+	 * the bitwise complement of the empty slot where it would go.
+	 */
+	private int find(long key) {
+		int mask = keys.length - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			long k = keys[slot];
+			if (k == key)
+				return slot;
+			else if (k == 0)
+				return ~slot;
+		}
+	}
+
+	/**
+	 * Puts a new key into an empty slot, growing the arrays if they are full.
+	 */
+	private void insert(int slot, long key, long value) {
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size > threshold)
+			rehash(keys.length * 2);
+	}
+
+	/**
+	 * Moves every key into arrays of a new capacity.
+	 */
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int ix = 0; ix < oldKeys.length; ix++) {
+			long key = oldKeys[ix];
+			if (key != 0) {
+				int slot = hash(key) & mask;
+				while (keys[slot] != 0)
+					slot = (slot + 1) & mask;
+				keys[slot] = key;
+				values[slot] = oldValues[ix];
+			}
+		}
+	}
+
+	/**
+	 * Makes new, empty arrays.
+	 */
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new long[capacity];
+		threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+	}
+
+	/**
+	 * Works out the power of two capacity that holds a number of keys without
+	 * passing the load factor.
+	 */
+	static int capacityFor(int expectedSize, float loadFactor) {
+		int expected = Math.max(expectedSize, 1);
+		long needed = (long) Math.ceil(expected / (double) loadFactor);
+		if (needed > 1 << 30)
+			return 1 << 30;
+		int capacity = Math.max(2,
+				Integer.highestOneBit((int) needed - 1) << 1);
+		// Rounding in the division can leave the threshold one key short.
+		if ((int) (capacity * loadFactor) < expected && capacity < 1 << 30)
+			capacity <<= 1;
+		return capacity;
+	}
+
+	/**
+	 * Spreads the bits of a key so that nearby keys land in different slots.
+	 */
+	static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,381 @@
+package com.hr.plib.core.collection;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * This is a hash map from <code>long</code> keys, such as packed hex
+ * coordinates, to objects that never boxes the keys. The keys and values are
+ * kept in two flat arrays and collisions are handled by linear probing, so a
+ * lookup usually touches only one or two neighboring slots.
+ * <p>
+ * A key of 0 marks an empty slot, so that the arrays never need clearing
+ * beyond a fill, and the key 0 itself is stored off to the side. Removing a
+ * key shifts the entries after it back rather than leaving a marker behind,
+ * so lookups do not slow down as keys come and go.
+ * </p>
+ * <p>
+ * Null values cannot be stored, since null is what <code>get()</code> returns
+ * for a missing key.
+ * </p>
+ * 
+ * @param <V>
+ *            The type of value.
+ */
+public class LongObjectMap<V> {
+
+	/**
+	 * This is handed each entry of a map in turn.
+	 */
+	public static interface Procedure<V> {
+
+		/**
+		 * @param key
+		 *            - The key.
+		 * @param value
+		 *            - The value.
+		 */
+		public void apply(long key, V value);
+
+	}
+
+	/**
+	 * The load factor used when none is given.
+	 */
+	public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+	/**
+	 * The keys, with 0 meaning an empty slot.
+	 */
+	private long[] keys;
+
+	/**
+	 * The value of each key.
+	 */
+	private Object[] values;
+
+	/**
+	 * The number of keys, including the key 0.
+	 */
+	private int size;
+
+	/**
+	 * The number of keys the arrays can hold before they have to grow.
+	 */
+	private int threshold;
+
+	/**
+	 * How full the arrays can get before they grow.
+	 */
+	private final float loadFactor;
+
+	/**
+	 * Whether the key 0 is in the map.
+	 */
+	private boolean hasZeroKey;
+
+	/**
+	 * The value of the key 0.
+	 */
+	private V zeroValue;
+
+	/**
+	 * This makes an empty map.
+	 */
+	public LongObjectMap() {
+		this(16, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * This makes an empty map with room for a number of keys.
+	 * 
+	 * @param expectedSize
+	 *            - The number of keys to make room for.
+	 */
+	public LongObjectMap(int expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * This makes an empty map.
+	 * 
+	 * @param expectedSize
+	 *            - The number of keys to make room for.
+	 * @param loadFactor
+	 *            - How full the arrays can get before they grow, greater than
+	 *            0 and less than 1. Lower is faster but takes more memory.
+	 * @throws InvalidParameterException
+	 *             - If the size or load factor is invalid.
+	 */
+	public LongObjectMap(int expectedSize, float loadFactor) {
+		if (expectedSize < 0)
+			throw new InvalidParameterException("Invalid size!");
+		else if (!(loadFactor > 0 && loadFactor < 1))
+			throw new InvalidParameterException("Invalid load factor!");
+		this.loadFactor = loadFactor;
+		allocate(LongLongMap.capacityFor(expectedSize, loadFactor));
+	}
+
+	/**
+	 * This gets the value of a key, making it first if the key is not in the
+	 * map.
+	 * 
+	 * @param key
+	 *            - The key.
+	 * @param function
+	 *            - Makes the value from the key.
+	 * @return The value of the key.
+	 */
+	public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+		V value = get(key);
+		if (value == null) {
+			value = function.apply(key);
+			if (value != null)
+				put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * This removes every key, but keeps the room that they took up.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		hasZeroKey = false;
+		zeroValue = null;
+		size = 0;
+	}
+
+	/**
+	 * @param key
+	 *            - The key.
+	 * @return True if the key is in the map, else false.
+	 */
+	public boolean containsKey(long key) {
+		return key == 0 ? hasZeroKey : find(key) >= 0;
+	}
+
+	/**
+	 * This hands every entry to a procedure, in no particular order. The map
+	 * must not be changed while this runs.
+	 * 
+	 * @param procedure
+	 *            - The procedure.
+	 */
+	public void forEach(Procedure<? super V> procedure) {
+		if (hasZeroKey)
+			procedure.apply(0, zeroValue);
+		for (int ix = 0; ix < keys.length; ix++) {
+			if (keys[ix] != 0)
+				procedure.apply(keys[ix], valueAt(ix));
+		}
+	}
+
+	/**
+	 * @param key
+	 *            - The key.
+	 * @return The value of the key, or null if it is not in the map.
+	 */
+	public V get(long key) {
+		return getOrDefault(key, null);
+	}
+
+	/**
+	 * @param key
+	 *            - The key.
+	 * @param defaultValue
+	 *            - The value to return if the key is not in the map.
+	 * @return The value of the key, or the default value if it is not in the
+	 *         map.
+	 */
+	public V getOrDefault(long key, V defaultValue) {
+		if (key == 0)
+			return hasZeroKey ? zeroValue : defaultValue;
+		int mask = keys.length - 1;
+		for (int slot = LongLongMap.hash(key) & mask;; slot = (slot + 1) & mask) {
+			long k = keys[slot];
+			if (k == key)
+				return valueAt(slot);
+			else if (k == 0)
+				return defaultValue;
+		}
+	}
+
+	/**
+	 * @return True if there are no keys, else false.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return A new array holding every key, in no particular order.
+	 */
+	public long[] keys() {
+		long[] result = new long[size];
+		int count = 0;
+		if (hasZeroKey)
+			result[count++] = 0;
+		for (long key : keys) {
+			if (key != 0)
+				result[count++] = key;
+		}
+		return result;
+	}
+
+	/**
+	 * This sets the value of a key.
+	 * 
+	 * @param key
+	 *            - The key.
+	 * @param value
+	 *            - The value, which cannot be null.
+	 * @return The old value, or null if the key was not in the map.
+	 */
+	public V put(long key, V value) {
+		if (value == null)
+			throw new NullPointerException("Value cannot be null!");
+		if (key == 0) {
+			V old = zeroValue;
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return old;
+		}
+		int slot = find(key);
+		if (slot >= 0) {
+			V old = valueAt(slot);
+			values[slot] = value;
+			return old;
+		}
+		insert(~slot, key, value);
+		return null;
+	}
+
+	/**
+	 * This removes a key.
+	 * 
+	 * @param key
+	 *            - The key.
+	 * @return The value the key had, or null if it was not in the map.
+	 */
+	public V remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey)
+				return null;
+			V old = zeroValue;
+			hasZeroKey = false;
+			zeroValue = null;
+			size--;
+			return old;
+		}
+		int slot = find(key);
+		if (slot < 0)
+			return null;
+		V old = valueAt(slot);
+		size--;
+		// Moves back any entry that would no longer be found past the gap.
+		int mask = keys.length - 1;
+		int gap = slot;
+		for (int ix = (gap + 1) & mask; keys[ix] != 0; ix = (ix + 1) & mask) {
+			int home = LongLongMap.hash(keys[ix]) & mask;
+			// The entry can fill the gap unless its home lies after the gap.
+			if (((ix - home) & mask) >= ((ix - gap) & mask)) {
+				keys[gap] = keys[ix];
+				values[gap] = values[ix];
+				gap = ix;
+			}
+		}
+		keys[gap] = 0;
+		values[gap] = null;
+		return old;
+	}
+
+	/**
+	 * @return The number of keys.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		forEach(new Procedure<V>() {
+			@Override
+			public void apply(long key, V value) {
+				if (builder.length() > 1)
+					builder.append(", ");
+				builder.append(key).append('=').append(value);
+			}
+		});
+		return builder.append('}').toString();
+	}
+
+	/**
+	 * Finds the slot of a key that is not 0. If it is missing, this returns
+	 * the bitwise complement of the empty slot where it would go.
+	 */
+	private int find(long key) {
+		int mask = keys.length - 1;
+		for (int slot = LongLongMap.hash(key) & mask;; slot = (slot + 1) & mask) {
+			long k = keys[slot];
+			if (k == key)
+				return slot;
+			else if (k == 0)
+				return ~slot;
+		}
+	}
+
+	/**
+	 * Puts a new key into an empty slot, growing the arrays if they are full.
+	 */
+	private void insert(int slot, long key, V value) {
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size > threshold)
+			rehash(keys.length * 2);
+	}
+
+	/**
+	 * Moves every key into arrays of a new capacity.
+	 */
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int ix = 0; ix < oldKeys.length; ix++) {
+			long key = oldKeys[ix];
+			if (key != 0) {
+				int slot = LongLongMap.hash(key) & mask;
+				while (keys[slot] != 0)
+					slot = (slot + 1) & mask;
+				keys[slot] = key;
+				values[slot] = oldValues[ix];
+			}
+		}
+	}
+
+	/**
+	 * Makes new, empty arrays.
+	 */
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+	}
+
+	/**
+	 * Gets the value in a slot.
+	 */
+	@SuppressWarnings("unchecked")
+	private V valueAt(int slot) {
+		return (V) values[slot];
+	}
+
+}
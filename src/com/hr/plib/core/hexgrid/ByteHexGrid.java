@@ -0,0 +1,81 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+
+/*
+ * Dense storage of one byte per hex of a HexShape, such as a terrain or
+ * blocking layer.
+ */
+public class ByteHexGrid {
+
+	private final HexShape shape;
+
+	private final byte[] cells;
+
+	public ByteHexGrid(HexShape shape) {
+		this.shape = shape;
+		cells = new byte[shape.size()];
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	public int size() {
+		return cells.length;
+	}
+
+	public boolean contains(long loc) {
+		return shape.contains(loc);
+	}
+
+	public byte get(long loc) {
+		return cells[indexOf(loc)];
+	}
+
+	public byte get(int x, int z) {
+		return get(HexUtils.pack(x, z));
+	}
+
+	public byte get(HexLocation loc) {
+		return get(HexUtils.pack(loc));
+	}
+
+	public byte set(long loc, byte value) {
+		int index = indexOf(loc);
+		byte old = cells[index];
+		cells[index] = value;
+		return old;
+	}
+
+	public byte set(HexLocation loc, byte value) {
+		return set(HexUtils.pack(loc), value);
+	}
+
+	public byte getAt(int index) {
+		return cells[index];
+	}
+
+	public void setAt(int index, byte value) {
+		cells[index] = value;
+	}
+
+	public void fill(byte value) {
+		Arrays.fill(cells, value);
+	}
+
+	// The cells in index order, straight from the grid, for loops that walk
+	// every cell.
+	public byte[] getArray() {
+		return cells;
+	}
+
+	private int indexOf(long loc) {
+		int index = shape.index(loc);
+		if (index < 0)
+			throw new IndexOutOfBoundsException(HexUtils.unpack(loc)
+					+ " is not in " + shape + "!");
+		return index;
+	}
+
+}
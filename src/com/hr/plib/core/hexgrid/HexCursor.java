@@ -0,0 +1,259 @@
+package com.hr.plib.core.hexgrid;
+
+import static java.lang.Math.*;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/*
+ * A reusable walk over the packed locations of a range, ring, spiral, line or
+ * the overlap of two ranges. Starting a new walk only resets a few fields, so
+ * one cursor can be used every frame without allocating anything:
+ * 
+ * cursor.range(center, radius);
+ * while (cursor.hasNext())
+ *     visit(cursor.nextLong());
+ * 
+ * or cursor.range(center, radius).forEachRemaining(action) with a LongConsumer.
+ */
+public final class HexCursor implements PrimitiveIterator.OfLong {
+
+	private static final int DONE = 0, BOUNDS = 1, RINGS = 2, LINE = 3;
+
+	private int mode;
+
+	// The location nextLong() will give, if mode is not DONE.
+	private long pending;
+
+	// For BOUNDS, every hex with x, y and z inside these limits, walked x by
+	// x. z and zEnd are the rest of the current column.
+	private int xMax, yMin, yMax, zMin, zMax;
+
+	private int x, z, zEnd;
+
+	// For RINGS, the current ring and side, how many steps are left on the
+	// side, and the last ring to walk.
+	private long center;
+
+	private int radius, lastRadius, side, steps;
+
+	// For LINE, the end points as cubes and how far along the line it is.
+	private int lineX, lineY, lineZ, lineDX, lineDY, lineDZ, length, step;
+
+	// Every hex within radius of center, column by column.
+	public HexCursor range(long center, int radius) {
+		checkRadius(radius);
+		int cx = HexUtils.packedX(center), cy = HexUtils.packedY(center);
+		int cz = HexUtils.packedZ(center);
+		return bounds(cx - radius, cx + radius, cy - radius, cy + radius, cz
+				- radius, cz + radius);
+	}
+
+	public HexCursor range(HexLocation center, int radius) {
+		return range(HexUtils.pack(center), radius);
+	}
+
+	// Every hex within radius1 of center1 and radius2 of center2.
+	public HexCursor intersection(long center1, int radius1, long center2,
+			int radius2) {
+		checkRadius(radius1);
+		checkRadius(radius2);
+		int x1 = HexUtils.packedX(center1), x2 = HexUtils.packedX(center2);
+		int y1 = HexUtils.packedY(center1), y2 = HexUtils.packedY(center2);
+		int z1 = HexUtils.packedZ(center1), z2 = HexUtils.packedZ(center2);
+		return bounds(max(x1 - radius1, x2 - radius2), min(x1 + radius1, x2
+				+ radius2), max(y1 - radius1, y2 - radius2), min(y1 + radius1,
+				y2 + radius2), max(z1 - radius1, z2 - radius2), min(z1
+				+ radius1, z2 + radius2));
+	}
+
+	public HexCursor intersection(HexLocation center1, int radius1,
+			HexLocation center2, int radius2) {
+		return intersection(HexUtils.pack(center1), radius1,
+				HexUtils.pack(center2), radius2);
+	}
+
+	// Every hex exactly radius from center, going around once. A radius of 0
+	// gives just the center.
+	public HexCursor ring(long center, int radius) {
+		checkRadius(radius);
+		return rings(center, radius, radius);
+	}
+
+	public HexCursor ring(HexLocation center, int radius) {
+		return ring(HexUtils.pack(center), radius);
+	}
+
+	// Every hex within radius of center, ring by ring going out from the
+	// center, so closer hexes always come first.
+	public HexCursor spiral(long center, int radius) {
+		checkRadius(radius);
+		return rings(center, 0, radius);
+	}
+
+	public HexCursor spiral(HexLocation center, int radius) {
+		return spiral(HexUtils.pack(center), radius);
+	}
+
+	// The hexes a straight line from one hex to another passes through, both
+	// included, with one hex for each step of distance. Points exactly
+	// between two hexes are nudged the same way every time, so the line from
+	// a to b is always the same.
+	public HexCursor line(long from, long to) {
+		lineX = HexUtils.packedX(from);
+		lineY = HexUtils.packedY(from);
+		lineZ = HexUtils.packedZ(from);
+		lineDX = HexUtils.packedX(to) - lineX;
+		lineDY = HexUtils.packedY(to) - lineY;
+		lineDZ = HexUtils.packedZ(to) - lineZ;
+		length = HexUtils.distance(from, to);
+		step = 0;
+		mode = LINE;
+		pending = from;
+		return this;
+	}
+
+	public HexCursor line(HexLocation from, HexLocation to) {
+		return line(HexUtils.pack(from), HexUtils.pack(to));
+	}
+
+	@Override
+	public boolean hasNext() {
+		return mode != DONE;
+	}
+
+	@Override
+	public long nextLong() {
+		if (mode == DONE)
+			throw new NoSuchElementException();
+		long loc = pending;
+		switch (mode) {
+		case BOUNDS:
+			advanceBounds();
+			break;
+		case RINGS:
+			advanceRings();
+			break;
+		default:
+			advanceLine();
+		}
+		return loc;
+	}
+
+	@Override
+	public void forEachRemaining(LongConsumer action) {
+		while (mode != DONE)
+			action.accept(nextLong());
+	}
+
+	// Counts the rest of the walk, which uses it up.
+	public int count() {
+		int count = 0;
+		for (; mode != DONE; count++)
+			nextLong();
+		return count;
+	}
+
+	private HexCursor bounds(int xMin, int xMax, int yMin, int yMax,
+			int zMin, int zMax) {
+		this.xMax = xMax;
+		this.yMin = yMin;
+		this.yMax = yMax;
+		this.zMin = zMin;
+		this.zMax = zMax;
+		mode = BOUNDS;
+		x = xMin - 1;
+		z = 0;
+		zEnd = -1;
+		advanceBounds();
+		return this;
+	}
+
+	private void advanceBounds() {
+		// Moves to the next column with anything in it once this one is done.
+		while (z > zEnd) {
+			if (++x > xMax) {
+				mode = DONE;
+				return;
+			}
+			z = max(zMin, -x - yMax);
+			zEnd = min(zMax, -x - yMin);
+		}
+		pending = HexUtils.pack(x, z++);
+	}
+
+	private HexCursor rings(long center, int first, int last) {
+		this.center = center;
+		lastRadius = last;
+		mode = RINGS;
+		startRing(first);
+		return this;
+	}
+
+	private void startRing(int radius) {
+		this.radius = radius;
+		if (radius == 0) {
+			pending = center;
+			side = 6;
+			steps = 0;
+		} else {
+			// Starts at the corner in direction 4 and walks around through
+			// directions 0 to 5.
+			pending = HexUtils.pack(HexUtils.packedX(center) - radius,
+					HexUtils.packedZ(center) + radius);
+			side = 0;
+			steps = radius;
+		}
+	}
+
+	private void advanceRings() {
+		if (steps == 0) {
+			if (side < 5) {
+				side++;
+				steps = radius;
+			} else if (radius < lastRadius) {
+				startRing(radius + 1);
+				return;
+			} else {
+				mode = DONE;
+				return;
+			}
+		}
+		// The last step of the last side comes back to the start, which was
+		// already given.
+		if (--steps == 0 && side == 5) {
+			if (radius < lastRadius)
+				startRing(radius + 1);
+			else
+				mode = DONE;
+			return;
+		}
+		pending = HexUtils.neighbor(pending, side);
+	}
+
+	private void advanceLine() {
+		if (++step > length) {
+			mode = DONE;
+			return;
+		}
+		double t = (double) step / length;
+		double fx = lineX + lineDX * t + 1e-6;
+		double fy = lineY + lineDY * t + 2e-6;
+		double fz = lineZ + lineDZ * t - 3e-6;
+		long rx = round(fx), ry = round(fy), rz = round(fz);
+		double ex = abs(rx - fx), ey = abs(ry - fy), ez = abs(rz - fz);
+		// Fixes whichever coordinate was rounded the most, so they add to 0.
+		if (ex > ey && ex > ez)
+			rx = -ry - rz;
+		else if (ez >= ey)
+			rz = -rx - ry;
+		pending = HexUtils.pack((int) rx, (int) rz);
+	}
+
+	private static void checkRadius(int radius) {
+		if (radius < 0)
+			throw new IllegalArgumentException("Invalid radius!");
+	}
+
+}
@@ -0,0 +1,283 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/*
+ * Field of view over a HexShape, where any hex that is not 0 in a ByteHexGrid
+ * blocks sight. It works by shadowcasting ring by ring: a hex on ring r at
+ * position i (counting around the ring the way HexCursor walks it) covers the
+ * slice from (i - 0.5) / 6r to (i + 0.5) / 6r of the way around, blocking
+ * hexes add their slice to a list of shadows, and a hex is seen if the middle
+ * of its slice is not in shadow. The walk stops early once everything is in
+ * shadow. Hexes outside the shape block sight.
+ * 
+ * Observers can be added so that what each one sees is kept in a BitSet of
+ * hex indices. After changing the blocking grid, markChanged() flags the
+ * observers that could see the change, and update() only redoes those,
+ * optionally across all cores.
+ */
+public class HexFieldOfView {
+
+	private final HexShape shape;
+
+	private final byte[] blocking;
+
+	// The scratch space for each thread that computes a view.
+	private final ThreadLocal<Shadows> shadows = new ThreadLocal<Shadows>() {
+
+		@Override
+		protected Shadows initialValue() {
+			return new Shadows();
+		}
+
+	};
+
+	// Observers by id. An id with a radius of -1 has been removed.
+	private long[] locations = new long[0];
+
+	private int[] radii = new int[0];
+
+	private BitSet[] views = new BitSet[0];
+
+	private final BitSet dirty = new BitSet();
+
+	private int observerCount;
+
+	public HexFieldOfView(ByteHexGrid blocking) {
+		shape = blocking.getShape();
+		this.blocking = blocking.getArray();
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	// Works out what can be seen from a location within a radius, as hex
+	// indices set in out, which is cleared first and made if it is null.
+	// Returns out. This can be called from several threads at once.
+	public BitSet compute(long center, int radius, BitSet out) {
+		if (radius < 0)
+			throw new IllegalArgumentException("Invalid radius!");
+		if (out == null)
+			out = new BitSet();
+		else
+			out.clear();
+		int index = shape.index(center);
+		if (index < 0)
+			return out;
+		out.set(index);
+		Shadows shadows = this.shadows.get();
+		shadows.clear();
+		HexCursor cursor = shadows.cursor;
+		for (int ring = 1; ring <= radius && !shadows.isFull(); ring++) {
+			double slice = 1.0 / (6 * ring);
+			cursor.ring(center, ring);
+			for (int position = 0; cursor.hasNext(); position++) {
+				int hex = shape.index(cursor.nextLong());
+				double middle = position * slice;
+				if (hex >= 0 && !shadows.contains(middle))
+					out.set(hex);
+				if (hex < 0 || blocking[hex] != 0)
+					shadows.add(middle - 0.5 * slice, middle + 0.5 * slice);
+			}
+		}
+		return out;
+	}
+
+	// True if nothing blocks the straight line between two locations, not
+	// counting the locations themselves.
+	public boolean lineOfSight(long from, long to) {
+		HexCursor cursor = shadows.get().cursor;
+		cursor.line(from, to);
+		cursor.nextLong();
+		while (cursor.hasNext()) {
+			long loc = cursor.nextLong();
+			if (loc == to)
+				return true;
+			int hex = shape.index(loc);
+			if (hex < 0 || blocking[hex] != 0)
+				return false;
+		}
+		return true;
+	}
+
+	// Adds an observer, whose view is worked out on the next update().
+	// Returns its id.
+	public int addObserver(long location, int radius) {
+		if (radius < 0)
+			throw new IllegalArgumentException("Invalid radius!");
+		int id = 0;
+		while (id < radii.length && radii[id] >= 0)
+			id++;
+		if (id == radii.length) {
+			int capacity = Math.max(8, id + (id >> 1));
+			locations = Arrays.copyOf(locations, capacity);
+			radii = Arrays.copyOf(radii, capacity);
+			views = Arrays.copyOf(views, capacity);
+			Arrays.fill(radii, id, capacity, -1);
+		}
+		locations[id] = location;
+		radii[id] = radius;
+		views[id] = new BitSet();
+		dirty.set(id);
+		observerCount++;
+		return id;
+	}
+
+	public void moveObserver(int id, long location) {
+		checkId(id);
+		locations[id] = location;
+		dirty.set(id);
+	}
+
+	public void setRadius(int id, int radius) {
+		checkId(id);
+		if (radius < 0)
+			throw new IllegalArgumentException("Invalid radius!");
+		radii[id] = radius;
+		dirty.set(id);
+	}
+
+	public void removeObserver(int id) {
+		checkId(id);
+		radii[id] = -1;
+		views[id] = null;
+		dirty.clear(id);
+		observerCount--;
+	}
+
+	public int getObserverCount() {
+		return observerCount;
+	}
+
+	public long getLocation(int id) {
+		checkId(id);
+		return locations[id];
+	}
+
+	// The hex indices the observer saw as of the last update(), which must not
+	// be changed.
+	public BitSet getView(int id) {
+		checkId(id);
+		return views[id];
+	}
+
+	public boolean canSee(int id, long location) {
+		checkId(id);
+		int index = shape.index(location);
+		return index >= 0 && views[id].get(index);
+	}
+
+	// Flags every observer close enough to a hex to be affected by it
+	// changing in the blocking grid.
+	public void markChanged(int index) {
+		long loc = shape.location(index);
+		for (int id = 0; id < radii.length; id++)
+			if (radii[id] >= 0 && HexUtils.distance(loc, locations[id])
+					<= radii[id])
+				dirty.set(id);
+	}
+
+	public void markChanged(long location) {
+		int index = shape.index(location);
+		if (index >= 0)
+			markChanged(index);
+	}
+
+	public void markAllChanged() {
+		for (int id = 0; id < radii.length; id++)
+			if (radii[id] >= 0)
+				dirty.set(id);
+	}
+
+	public int getDirtyCount() {
+		return dirty.cardinality();
+	}
+
+	public void update() {
+		update(false);
+	}
+
+	// Works the view out again for every flagged observer, each one on its
+	// own core if parallel is true.
+	public void update(boolean parallel) {
+		IntStream ids = dirty.stream();
+		if (parallel)
+			ids = ids.parallel();
+		ids.forEach(id -> compute(locations[id], radii[id], views[id]));
+		dirty.clear();
+	}
+
+	private void checkId(int id) {
+		if (id < 0 || id >= radii.length || radii[id] < 0)
+			throw new IllegalArgumentException("Invalid observer " + id + "!");
+	}
+
+	// The slices of the circle in shadow, as sorted ranges that do not touch,
+	// from 0 to 1.
+	private static final class Shadows {
+
+		final HexCursor cursor = new HexCursor();
+
+		private double[] starts = new double[16];
+
+		private double[] ends = new double[16];
+
+		private int count;
+
+		void clear() {
+			count = 0;
+		}
+
+		boolean isFull() {
+			return count == 1 && starts[0] <= 0 && ends[0] >= 1;
+		}
+
+		boolean contains(double angle) {
+			int ix = Arrays.binarySearch(starts, 0, count, angle);
+			if (ix >= 0)
+				return true;
+			ix = -ix - 2;
+			return ix >= 0 && angle <= ends[ix];
+		}
+
+		void add(double start, double end) {
+			// Splits slices that wrap around past 0.
+			if (start < 0) {
+				insert(start + 1, 1);
+				insert(0, end);
+			} else if (end > 1) {
+				insert(start, 1);
+				insert(0, end - 1);
+			} else
+				insert(start, end);
+		}
+
+		private void insert(double start, double end) {
+			// Finds the ranges this one touches, and merges them into one.
+			int first = 0;
+			while (first < count && ends[first] < start - 1e-9)
+				first++;
+			int last = first;
+			while (last < count && starts[last] <= end + 1e-9)
+				last++;
+			if (first < last) {
+				start = Math.min(start, starts[first]);
+				end = Math.max(end, ends[last - 1]);
+			} else if (count == starts.length) {
+				starts = Arrays.copyOf(starts, count * 2);
+				ends = Arrays.copyOf(ends, count * 2);
+			}
+			int shift = first + 1 - last;
+			System.arraycopy(starts, last, starts, last + shift, count - last);
+			System.arraycopy(ends, last, ends, last + shift, count - last);
+			starts[first] = start;
+			ends[first] = end;
+			count += shift;
+		}
+
+	}
+
+}
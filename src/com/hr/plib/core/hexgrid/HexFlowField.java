@@ -0,0 +1,147 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+
+/*
+ * The step every hex of a HexShape should take to get closer to the nearest
+ * of a set of goals, worked out with one breadth-first search out from all
+ * the goals at once. Every step costs the same, so a unit only has to look
+ * up its hex to know where to go, no matter how many units or goals there
+ * are. Hexes can be walled off with a ByteHexGrid, where any hex that is not
+ * 0 cannot be entered.
+ */
+public class HexFlowField {
+
+	private final HexShape shape;
+
+	private final int[] neighbors;
+
+	private final ByteHexGrid walls;
+
+	// The number of steps to the nearest goal, or -1 if none can be reached.
+	private final int[] distance;
+
+	// The direction to step in, or -1 at goals and hexes that cannot reach
+	// one.
+	private final byte[] direction;
+
+	// The index of the goal each hex leads to, or -1.
+	private final int[] goal;
+
+	private final int[] queue;
+
+	public HexFlowField(HexShape shape) {
+		this(shape, null);
+	}
+
+	public HexFlowField(HexShape shape, ByteHexGrid walls) {
+		if (walls != null && !walls.getShape().equals(shape))
+			throw new IllegalArgumentException("Walls are for " + walls
+					.getShape() + ", not " + shape + "!");
+		this.shape = shape;
+		this.walls = walls;
+		neighbors = shape.neighbors();
+		distance = new int[shape.size()];
+		direction = new byte[shape.size()];
+		goal = new int[shape.size()];
+		queue = new int[shape.size()];
+		clear();
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	// Works the field out again for a new set of goals, given as hex indices.
+	// Goals that are walled off or given twice are still goals.
+	public void update(int... goals) {
+		clear();
+		byte[] blocked = walls == null ? null : walls.getArray();
+		int head = 0, tail = 0;
+		for (int index : goals) {
+			if (index < 0 || index >= distance.length)
+				throw new IndexOutOfBoundsException("Invalid index " + index
+						+ "!");
+			if (distance[index] == 0)
+				continue;
+			distance[index] = 0;
+			goal[index] = index;
+			queue[tail++] = index;
+		}
+		while (head < tail) {
+			int current = queue[head++];
+			int base = current * 6, next = distance[current] + 1;
+			for (int dir = 0; dir < 6; dir++) {
+				int neighbor = neighbors[base + dir];
+				if (neighbor < 0 || distance[neighbor] >= 0
+						|| blocked != null && blocked[neighbor] != 0)
+					continue;
+				distance[neighbor] = next;
+				// The neighbor steps back the opposite way.
+				direction[neighbor] = (byte) (dir < 3 ? dir + 3 : dir - 3);
+				goal[neighbor] = goal[current];
+				queue[tail++] = neighbor;
+			}
+		}
+	}
+
+	// The same as update(int...), but with packed locations. Locations that
+	// are not in the shape are left out.
+	public void update(long... goals) {
+		int[] indices = new int[goals.length];
+		int count = 0;
+		for (long loc : goals) {
+			int index = shape.index(loc);
+			if (index >= 0)
+				indices[count++] = index;
+		}
+		update(Arrays.copyOf(indices, count));
+	}
+
+	public void clear() {
+		Arrays.fill(distance, -1);
+		Arrays.fill(direction, (byte) -1);
+		Arrays.fill(goal, -1);
+	}
+
+	public int getDistance(int index) {
+		return distance[index];
+	}
+
+	public int getDirection(int index) {
+		return direction[index];
+	}
+
+	public int getGoal(int index) {
+		return goal[index];
+	}
+
+	// The index of the hex to step into from a hex, or -1 if it is a goal or
+	// cannot reach one.
+	public int next(int index) {
+		int dir = direction[index];
+		return dir < 0 ? -1 : neighbors[index * 6 + dir];
+	}
+
+	// The location to step into from a location, which is the location
+	// itself at a goal or where no goal can be reached.
+	public long next(long loc) {
+		int index = shape.index(loc);
+		if (index < 0)
+			throw new IndexOutOfBoundsException(HexUtils.unpack(loc)
+					+ " is not in " + shape + "!");
+		int dir = direction[index];
+		return dir < 0 ? loc : HexUtils.neighbor(loc, dir);
+	}
+
+	// The backing array of step counts, which must not be changed.
+	public int[] getDistances() {
+		return distance;
+	}
+
+	// The backing array of directions, which must not be changed.
+	public byte[] getDirections() {
+		return direction;
+	}
+
+}
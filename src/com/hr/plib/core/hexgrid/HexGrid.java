@@ -0,0 +1,85 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+
+/*
+ * Dense storage of one value per hex of a HexShape, in one array.
+ */
+public class HexGrid<T> {
+
+	private final HexShape shape;
+
+	private final Object[] cells;
+
+	public HexGrid(HexShape shape) {
+		this.shape = shape;
+		cells = new Object[shape.size()];
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	public int size() {
+		return cells.length;
+	}
+
+	public boolean contains(long loc) {
+		return shape.contains(loc);
+	}
+
+	@SuppressWarnings("unchecked")
+	public T get(long loc) {
+		return (T) (cells[indexOf(loc)]);
+	}
+
+	public T get(int x, int z) {
+		return get(HexUtils.pack(x, z));
+	}
+
+	public T get(HexLocation loc) {
+		return get(HexUtils.pack(loc));
+	}
+
+	@SuppressWarnings("unchecked")
+	public T set(long loc, T value) {
+		int index = indexOf(loc);
+		T old = (T) (cells[index]);
+		cells[index] = value;
+		return old;
+	}
+
+	public T set(HexLocation loc, T value) {
+		return set(HexUtils.pack(loc), value);
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getAt(int index) {
+		return (T) (cells[index]);
+	}
+
+	public void setAt(int index, T value) {
+		cells[index] = value;
+	}
+
+	public void fill(T value) {
+		Arrays.fill(cells, value);
+	}
+
+	public static <H extends Hex> HexGrid<H> of(HexShape shape,
+			Iterable<? extends H> hexes) {
+		HexGrid<H> grid = new HexGrid<>(shape);
+		for (H hex : hexes)
+			grid.set(hex.getLocation(), hex);
+		return grid;
+	}
+
+	private int indexOf(long loc) {
+		int index = shape.index(loc);
+		if (index < 0)
+			throw new IndexOutOfBoundsException(HexUtils.unpack(loc)
+					+ " is not in " + shape + "!");
+		return index;
+	}
+
+}
@@ -0,0 +1,610 @@
+package com.hr.plib.core.hexgrid;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ * A compact file of named int layers over one HexShape. Each layer is cut
+ * into square blocks of hexes, a band of rows by a range of x the same way
+ * IntHexWorld splits up chunks, encoded as runs (for layers of big flat
+ * areas, like terrain types) or as differences from the hex before (for
+ * layers that change smoothly, like heights), and then deflated on its own.
+ * An index of where every block is comes right after the header, so a region
+ * is loaded by reading only the blocks it overlaps, however big the map is.
+ * 
+ * Loading a block maps just its bytes and inflates them straight out of the
+ * mapping, so files can be bigger than 2 GB. Loads can run on several
+ * threads at once.
+ * 
+ * The layout, all big-endian, is: "HEXM", the version, the shape's name, its
+ * first z, row count, each row's first x and each row's length, the block
+ * size, the layer count, each layer's name and encoding, then for each layer
+ * and block its offset, deflated length and encoded length, and then the
+ * blocks. Blocks go band by band, and across each band from the smallest x
+ * in the shape. A block's hexes are stored row by row, and blocks with no
+ * hexes are left empty. Names are an int length followed by UTF-8.
+ */
+public final class HexMapFile implements Closeable {
+
+	public enum Encoding {
+
+		// A run length, then the value, for each run of equal values.
+		RLE,
+
+		// The difference from the previous value, starting from 0.
+		DELTA
+
+	}
+
+	public static final int DEFAULT_BLOCK_SIZE = 64;
+
+	public static final int MAX_BLOCK_SIZE = 1 << 12;
+
+	private static final int MAGIC = 0x4845584D;
+
+	private static final int VERSION = 2;
+
+	private final FileChannel channel;
+
+	private final HexShape shape;
+
+	private final Blocks blocks;
+
+	private final String[] names;
+
+	private final Encoding[] encodings;
+
+	// For each layer and then block, where it starts and its two lengths.
+	private final long[] offsets;
+
+	private final int[] deflatedLengths;
+
+	private final int[] encodedLengths;
+
+	private HexMapFile(FileChannel channel) throws IOException {
+		this.channel = channel;
+		long size = channel.size();
+		// Not closed, since that would close the channel too.
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				Channels.newInputStream(channel.position(0))));
+		try {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a hex map file!");
+			int version = in.readInt();
+			if (version != VERSION)
+				throw new IOException("Unknown version " + version + "!");
+			byte[] shapeName = readBytes(in, size);
+			int minZ = in.readInt();
+			int[] rowX = new int[checkCount(in.readInt(), size / 8)];
+			int[] rowLength = new int[rowX.length];
+			for (int row = 0; row < rowX.length; row++)
+				rowX[row] = in.readInt();
+			for (int row = 0; row < rowX.length; row++)
+				rowLength[row] = in.readInt();
+			shape = HexShape.of(new String(shapeName, StandardCharsets.UTF_8),
+					minZ, rowX, rowLength);
+			int blockSize = in.readInt();
+			if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)
+				throw new IOException("Invalid block size!");
+			blocks = new Blocks(shape, blockSize);
+			int layerCount = checkCount(in.readInt(), size);
+			names = new String[layerCount];
+			encodings = new Encoding[layerCount];
+			long header = 4 * 3 + shapeName.length + 4 * 2 + 8L * rowX.length
+					+ 4 * 2;
+			for (int layer = 0; layer < layerCount; layer++) {
+				byte[] name = readBytes(in, size);
+				names[layer] = new String(name, StandardCharsets.UTF_8);
+				int encoding = in.readByte();
+				if (encoding < 0 || encoding >= Encoding.values().length)
+					throw new IOException("Unknown encoding " + encoding + "!");
+				encodings[layer] = Encoding.values()[encoding];
+				header += 4 + name.length + 1;
+			}
+			int entries = checkCount((long) layerCount * blocks.count,
+					size / 16);
+			header += 16L * entries;
+			offsets = new long[entries];
+			deflatedLengths = new int[entries];
+			encodedLengths = new int[entries];
+			for (int entry = 0; entry < entries; entry++) {
+				offsets[entry] = in.readLong();
+				deflatedLengths[entry] = in.readInt();
+				encodedLengths[entry] = in.readInt();
+				if (offsets[entry] < header || deflatedLengths[entry] < 0
+						|| encodedLengths[entry] < 0 || offsets[entry]
+						+ deflatedLengths[entry] > size)
+					throw new IOException("Invalid block index!");
+			}
+		} catch (RuntimeException e) {
+			// Covers shapes that do not make sense.
+			throw new IOException("Corrupt hex map file!", e);
+		}
+	}
+
+	public static HexMapFile open(File file) throws IOException {
+		FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ);
+		try {
+			return new HexMapFile(channel);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public static void write(File file, String[] names, IntHexGrid[] layers,
+			Encoding[] encodings) throws IOException {
+		write(file, names, layers, encodings, DEFAULT_BLOCK_SIZE);
+	}
+
+	// Writes layers that all have the same shape, each with its own name and
+	// encoding, in blocks of blockSize by blockSize hexes. The file is written
+	// next to the target under another name and then moved over it in one
+	// step, so anything that still has the old file open keeps reading the
+	// old file, and a crash partway through leaves the old file as it was.
+	public static void write(File file, String[] names, IntHexGrid[] layers,
+			Encoding[] encodings, int blockSize) throws IOException {
+		if (names.length != layers.length || encodings.length != layers.length)
+			throw new IllegalArgumentException("Layers do not match!");
+		else if (layers.length == 0)
+			throw new IllegalArgumentException("No layers!");
+		else if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)
+			throw new IllegalArgumentException("Invalid block size!");
+		HexShape shape = layers[0].getShape();
+		for (IntHexGrid layer : layers)
+			if (!layer.getShape().equals(shape))
+				throw new IllegalArgumentException("Layers are not all "
+						+ shape + "!");
+		Blocks blocks = new Blocks(shape, blockSize);
+		if ((long) layers.length * blocks.count > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Too many blocks!");
+		int rowCount = shape.getRowCount();
+		// Encodes and deflates every block first, so the index can be written
+		// before them.
+		byte[][] data = new byte[layers.length * blocks.count][];
+		int[] encodedLengths = new int[data.length];
+		int[] cells = new int[blockSize * blockSize];
+		Bytes encoded = new Bytes(), deflated = new Bytes();
+		Deflater deflater = new Deflater();
+		try {
+			for (int layer = 0; layer < layers.length; layer++) {
+				int[] grid = layers[layer].getArray();
+				for (int block = 0; block < blocks.count; block++) {
+					int entry = layer * blocks.count + block;
+					int count = blocks.gather(block, grid, cells);
+					if (count == 0) {
+						data[entry] = new byte[0];
+						continue;
+					}
+					encoded.size = 0;
+					encode(cells, 0, count, encodings[layer], encoded);
+					encodedLengths[entry] = encoded.size;
+					data[entry] = deflate(deflater, encoded, deflated);
+				}
+			}
+		} finally {
+			deflater.end();
+		}
+		byte[][] nameBytes = new byte[names.length + 1][];
+		for (int layer = 0; layer < names.length; layer++)
+			nameBytes[layer] = names[layer].getBytes(StandardCharsets.UTF_8);
+		nameBytes[names.length] = shape.toString().getBytes(
+				StandardCharsets.UTF_8);
+		long header = 4 * 3 + nameBytes[names.length].length + 4 * 2 + 8L
+				* rowCount + 4 * 2 + 16L * data.length;
+		for (int layer = 0; layer < names.length; layer++)
+			header += 4 + nameBytes[layer].length + 1;
+		File target = file.getAbsoluteFile();
+		File temp = File.createTempFile(target.getName(), ".tmp",
+				target.getParentFile());
+		boolean moved = false;
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				writeBytes(out, nameBytes[names.length]);
+				out.writeInt(shape.getMinZ());
+				out.writeInt(rowCount);
+				for (int row = 0; row < rowCount; row++)
+					out.writeInt(shape.getRowX(row));
+				for (int row = 0; row < rowCount; row++)
+					out.writeInt(shape.getRowLength(row));
+				out.writeInt(blockSize);
+				out.writeInt(layers.length);
+				for (int layer = 0; layer < layers.length; layer++) {
+					writeBytes(out, nameBytes[layer]);
+					out.writeByte(encodings[layer].ordinal());
+				}
+				long offset = header;
+				for (int entry = 0; entry < data.length; entry++) {
+					out.writeLong(offset);
+					out.writeInt(data[entry].length);
+					out.writeInt(encodedLengths[entry]);
+					offset += data[entry].length;
+				}
+				for (byte[] block : data)
+					out.write(block);
+			}
+			Files.move(temp.toPath(), target.toPath(),
+					StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			moved = true;
+		} finally {
+			if (!moved)
+				temp.delete();
+		}
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	public int getBlockSize() {
+		return blocks.size;
+	}
+
+	// The number of blocks in each layer, counting empty ones.
+	public int getBlockCount() {
+		return blocks.count;
+	}
+
+	public int getLayerCount() {
+		return names.length;
+	}
+
+	public String getLayerName(int layer) {
+		return names[layer];
+	}
+
+	public Encoding getEncoding(int layer) {
+		return encodings[layer];
+	}
+
+	// The number of a layer by name, or -1 if there is none.
+	public int indexOf(String name) {
+		for (int layer = 0; layer < names.length; layer++)
+			if (names[layer].equals(name))
+				return layer;
+		return -1;
+	}
+
+	public IntHexGrid load(String name) throws IOException {
+		return load(name, new IntHexGrid(shape));
+	}
+
+	// Loads every hex within radius of center into a grid of just those
+	// hexes, shaped HexShape.hexagon(center, radius). Hexes that are not in
+	// the file are 0.
+	public IntHexGrid loadRegion(String name, long center, int radius)
+			throws IOException {
+		return load(name, new IntHexGrid(HexShape.hexagon(center, radius)));
+	}
+
+	// Loads the hexes of into's shape that are in the file, reading only the
+	// blocks they are in, and returns into. Its shape can be any shape, and
+	// its hexes that are not in the file are left alone.
+	public IntHexGrid load(String name, IntHexGrid into) throws IOException {
+		int layer = indexOf(name);
+		if (layer < 0)
+			throw new IllegalArgumentException("No layer named " + name + "!");
+		else if (!channel.isOpen())
+			throw new IOException("File is closed!");
+		HexShape target = into.getShape();
+		int[] grid = into.getArray();
+		int size = blocks.size, rowCount = shape.getRowCount();
+		// The rows of the file that the target has any of.
+		long offset = (long) shape.getMinZ() - target.getMinZ();
+		long firstRow = Math.max(0, -offset);
+		long lastRow = Math.min(rowCount, target.getRowCount() - offset) - 1;
+		if (firstRow > lastRow)
+			return into;
+		int[] cells = new int[size * size];
+		byte[] encoded = null;
+		Inflater inflater = new Inflater();
+		try {
+			for (int band = (int) (firstRow / size); band <= lastRow / size;
+					band++) {
+				// Finds the blocks of the band that the target overlaps.
+				long low = Long.MAX_VALUE, high = Long.MIN_VALUE;
+				int end = (int) Math.min(rowCount, (band + 1L) * size);
+				for (int row = band * size; row < end; row++) {
+					long targetRow = row + offset;
+					if (targetRow < 0 || targetRow >= target.getRowCount())
+						continue;
+					int rowX = shape.getRowX(row);
+					int targetX = target.getRowX((int) targetRow);
+					long from = Math.max(rowX, targetX);
+					long to = Math.min((long) rowX + shape.getRowLength(row),
+							(long) targetX
+									+ target.getRowLength((int) targetRow));
+					if (from < to) {
+						low = Math.min(low, from);
+						high = Math.max(high, to - 1);
+					}
+				}
+				if (low > high)
+					continue;
+				int first = band * blocks.columns + blocks.columnOf(low);
+				int last = band * blocks.columns + blocks.columnOf(high);
+				for (int block = first; block <= last; block++) {
+					int count = blocks.count(block);
+					if (count == 0)
+						continue;
+					int entry = layer * blocks.count + block;
+					// One spare byte, so that a block that inflates to too
+					// much is caught, and so that inflating reaches the
+					// checksum.
+					int expected = encodedLengths[entry];
+					if (encoded == null || encoded.length <= expected)
+						encoded = new byte[expected + 1];
+					inflater.reset();
+					inflater.setInput(channel.map(FileChannel.MapMode.READ_ONLY,
+							offsets[entry], deflatedLengths[entry]));
+					int length = 0;
+					while (length <= expected && !inflater.finished()) {
+						int read = inflater.inflate(encoded, length, expected
+								+ 1 - length);
+						if (read == 0 && (inflater.needsInput() || inflater
+								.needsDictionary()))
+							break;
+						length += read;
+					}
+					if (length != expected || !inflater.finished())
+						throw new IOException("Corrupt block " + block + "!");
+					decode(encoded, length, encodings[layer], cells, 0, count);
+					blocks.scatter(block, cells, target, grid);
+				}
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt hex map file!", e);
+		} finally {
+			inflater.end();
+		}
+		return into;
+	}
+
+	// Closes the file. Loading after that throws an IOException.
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private static void encode(int[] cells, int from, int to,
+			Encoding encoding, Bytes out) {
+		if (encoding == Encoding.RLE) {
+			for (int ix = from; ix < to;) {
+				int value = cells[ix], end = ix + 1;
+				while (end < to && cells[end] == value)
+					end++;
+				out.writeVarint(end - ix);
+				out.writeVarint(zigzag(value));
+				ix = end;
+			}
+		} else {
+			int previous = 0;
+			for (int ix = from; ix < to; ix++) {
+				out.writeVarint(zigzag(cells[ix] - previous));
+				previous = cells[ix];
+			}
+		}
+	}
+
+	private static void decode(byte[] in, int length, Encoding encoding,
+			int[] cells, int from, int to) throws IOException {
+		int pos = 0, ix = from;
+		try {
+			if (encoding == Encoding.RLE) {
+				while (ix < to) {
+					int run = 0, value = 0;
+					for (int shift = 0;; shift += 7) {
+						byte b = in[pos++];
+						run |= (b & 0x7F) << shift;
+						if (b >= 0)
+							break;
+					}
+					for (int shift = 0;; shift += 7) {
+						byte b = in[pos++];
+						value |= (b & 0x7F) << shift;
+						if (b >= 0)
+							break;
+					}
+					if (run <= 0 || run > to - ix)
+						throw new IOException("Corrupt run!");
+					Arrays.fill(cells, ix, ix += run, unzigzag(value));
+				}
+			} else {
+				int previous = 0;
+				for (; ix < to; ix++) {
+					int delta = 0;
+					for (int shift = 0;; shift += 7) {
+						byte b = in[pos++];
+						delta |= (b & 0x7F) << shift;
+						if (b >= 0)
+							break;
+					}
+					cells[ix] = previous += unzigzag(delta);
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IOException("Block ends early!", e);
+		}
+		if (pos > length)
+			throw new IOException("Block ends early!");
+	}
+
+	private static byte[] deflate(Deflater deflater, Bytes in, Bytes out) {
+		deflater.reset();
+		deflater.setInput(in.data, 0, in.size);
+		deflater.finish();
+		out.size = 0;
+		while (!deflater.finished()) {
+			if (out.size == out.data.length)
+				out.data = Arrays.copyOf(out.data, out.size * 2);
+			out.size += deflater.deflate(out.data, out.size, out.data.length
+					- out.size);
+		}
+		return Arrays.copyOf(out.data, out.size);
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes)
+			throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in, long size)
+			throws IOException {
+		byte[] bytes = new byte[checkCount(in.readInt(), size)];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	// A count from the file, which can be no more than the most that would
+	// fit in it.
+	private static int checkCount(long count, long most) throws IOException {
+		if (count < 0 || count > most)
+			throw new IOException("Invalid count!");
+		return (int) count;
+	}
+
+	// How a shape is cut into blocks: bands of size rows, each cut into
+	// columns of size x values counted from the smallest x in the shape.
+	private static final class Blocks {
+
+		final HexShape shape;
+
+		final int size;
+
+		final int minX;
+
+		final int columns, count;
+
+		Blocks(HexShape shape, int size) {
+			this.shape = shape;
+			this.size = size;
+			long low = Long.MAX_VALUE, high = Long.MIN_VALUE;
+			for (int row = 0; row < shape.getRowCount(); row++)
+				if (shape.getRowLength(row) > 0) {
+					low = Math.min(low, shape.getRowX(row));
+					high = Math.max(high, (long) shape.getRowX(row)
+							+ shape.getRowLength(row) - 1);
+				}
+			minX = low > high ? 0 : (int) low;
+			columns = low > high ? 0 : (int) ((high - low) / size + 1);
+			long total = ((long) shape.getRowCount() + size - 1) / size
+					* columns;
+			if (total > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("Too many blocks!");
+			count = (int) total;
+		}
+
+		int columnOf(long x) {
+			return (int) ((x - minX) / size);
+		}
+
+		// The number of hexes in a block.
+		int count(int block) {
+			return copy(block, null, null, null, 0);
+		}
+
+		// Copies the hexes of a block out of a grid of the shape into cells,
+		// row by row, and returns how many there were.
+		int gather(int block, int[] grid, int[] cells) {
+			return copy(block, shape, grid, cells, 1);
+		}
+
+		// Copies the hexes of a block out of cells into a grid of any shape,
+		// for the hexes that shape has.
+		void scatter(int block, int[] cells, HexShape target, int[] grid) {
+			copy(block, target, grid, cells, -1);
+		}
+
+		// Walks the rows of a block. A direction of 1 copies from the grid to
+		// cells, -1 from cells to the grid, and 0 only counts.
+		private int copy(int block, HexShape target, int[] grid, int[] cells,
+				int direction) {
+			int band = block / columns;
+			long x0 = minX + (long) (block % columns) * size, x1 = x0 + size;
+			long offset = (long) shape.getMinZ() - (target == null ? 0
+					: target.getMinZ());
+			int end = (int) Math.min(shape.getRowCount(), (band + 1L) * size);
+			int count = 0;
+			for (int row = band * size; row < end; row++) {
+				int rowX = shape.getRowX(row);
+				long from = Math.max(rowX, x0);
+				long to = Math.min((long) rowX + shape.getRowLength(row), x1);
+				if (from >= to)
+					continue;
+				long targetRow = row + offset;
+				if (direction != 0 && targetRow >= 0
+						&& targetRow < target.getRowCount()) {
+					// Only the part of the row that the target has.
+					int targetX = target.getRowX((int) targetRow);
+					long start = Math.max(from, targetX);
+					long stop = Math.min(to, (long) targetX
+							+ target.getRowLength((int) targetRow));
+					if (start < stop) {
+						int cell = count + (int) (start - from);
+						int index = target.getRowIndex((int) targetRow)
+								+ (int) (start - targetX);
+						if (direction > 0)
+							System.arraycopy(grid, index, cells, cell,
+									(int) (stop - start));
+						else
+							System.arraycopy(cells, cell, grid, index,
+									(int) (stop - start));
+					}
+				}
+				count += (int) (to - from);
+			}
+			return count;
+		}
+
+	}
+
+	// A growable byte array for building blocks.
+	private static final class Bytes {
+
+		byte[] data = new byte[1 << 12];
+
+		int size;
+
+		void writeVarint(int value) {
+			if (data.length - size < 5)
+				data = Arrays.copyOf(data, data.length * 2);
+			while ((value & ~0x7F) != 0) {
+				data[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			data[size++] = (byte) value;
+		}
+
+	}
+
+}
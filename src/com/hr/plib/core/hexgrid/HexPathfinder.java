@@ -0,0 +1,212 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+
+import com.hr.plib.core.collection.IntMinHeap;
+
+/*
+ * A* and Dijkstra searches over the hexes of a HexShape, working entirely on
+ * hex indices. The search state is kept in arrays the size of the shape that
+ * are reused by every query; instead of being cleared, each query bumps a
+ * generation number and only trusts entries stamped with it. Not thread-safe,
+ * so use one pathfinder per thread.
+ */
+public class HexPathfinder {
+
+	// The cost of stepping from one hex into a neighbor. A negative cost means
+	// the step cannot be taken.
+	public interface Cost {
+
+		int cost(int from, int to);
+
+	}
+
+	private final HexShape shape;
+
+	private final int[] neighbors;
+
+	private final Cost cost;
+
+	private final int minStepCost;
+
+	private final long[] locations;
+
+	private final IntMinHeap open = new IntMinHeap();
+
+	private final int[] distance;
+
+	private final int[] parent;
+
+	// distance and parent hold this query's values where reached == generation,
+	// and a hex is finished where closed == generation.
+	private final int[] reached;
+
+	private final int[] closed;
+
+	private int generation;
+
+	private int lastVisited;
+
+	// minStepCost must not be more than any step can cost, or A* may not find
+	// the cheapest path. Giving 0 makes every search a Dijkstra search.
+	public HexPathfinder(HexShape shape, Cost cost, int minStepCost) {
+		if (minStepCost < 0)
+			throw new IllegalArgumentException("Invalid minimum cost!");
+		this.shape = shape;
+		this.cost = cost;
+		this.minStepCost = minStepCost;
+		neighbors = shape.neighbors();
+		int size = shape.size();
+		locations = new long[size];
+		for (int index = 0; index < size; index++)
+			locations[index] = shape.location(index);
+		distance = new int[size];
+		parent = new int[size];
+		reached = new int[size];
+		closed = new int[size];
+	}
+
+	// Entering a hex costs its value in the grid, and hexes with a negative
+	// value cannot be entered.
+	public static Cost cellCost(final IntHexGrid grid) {
+		final int[] cells = grid.getArray();
+		return new Cost() {
+
+			@Override
+			public int cost(int from, int to) {
+				return cells[to];
+			}
+
+		};
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	// The indices of the cheapest path from one hex to another, both
+	// included, or null if there is none.
+	public int[] findPath(int from, int to) {
+		checkIndex(from);
+		checkIndex(to);
+		search(from, to);
+		if (!isReached(to))
+			return null;
+		int length = 1;
+		for (int index = to; index != from; index = parent[index])
+			length++;
+		int[] path = new int[length];
+		for (int index = to; length > 0; index = parent[index])
+			path[--length] = index;
+		return path;
+	}
+
+	// The same as findPath(int, int), but with packed locations in and out.
+	public long[] findPath(long from, long to) {
+		int start = shape.index(from), end = shape.index(to);
+		if (start < 0 || end < 0)
+			throw new IndexOutOfBoundsException(HexUtils.unpack(start < 0
+					? from : to) + " is not in " + shape + "!");
+		int[] path = findPath(start, end);
+		if (path == null)
+			return null;
+		long[] locs = new long[path.length];
+		for (int ix = 0; ix < path.length; ix++)
+			locs[ix] = locations[path[ix]];
+		return locs;
+	}
+
+	// A Dijkstra search from one hex to every hex it can reach, whose costs
+	// can then be read with getDistance() and the paths with getParent().
+	public void searchFrom(int source) {
+		checkIndex(source);
+		search(source, -1);
+	}
+
+	// The cost to reach a hex in the last search, or -1 if it was not reached.
+	// After findPath(), only the hexes the search finished are certain.
+	public int getDistance(int index) {
+		return isReached(index) ? distance[index] : -1;
+	}
+
+	// The hex before a hex on its cheapest path in the last search, or -1 if
+	// it is the start or was not reached.
+	public int getParent(int index) {
+		return isReached(index) ? parent[index] : -1;
+	}
+
+	// The number of hexes the last search finished.
+	public int getLastVisited() {
+		return lastVisited;
+	}
+
+	private boolean isReached(int index) {
+		return generation != 0 && reached[index] == generation;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= locations.length)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+	}
+
+	// Searches out from a hex until the target is finished, or until every
+	// hex it can reach is if the target is -1.
+	private void search(int source, int target) {
+		nextGeneration();
+		int gen = generation;
+		int weight = target < 0 ? 0 : minStepCost;
+		long goal = target < 0 ? 0 : locations[target];
+		open.clear();
+		lastVisited = 0;
+		distance[source] = 0;
+		parent[source] = -1;
+		reached[source] = gen;
+		open.push(source, (int) Math.min(Integer.MAX_VALUE,
+				heuristic(source, goal, weight)));
+		while (!open.isEmpty()) {
+			int current = open.pop();
+			// Skips copies left behind when a hex was pushed again cheaper.
+			if (closed[current] == gen)
+				continue;
+			closed[current] = gen;
+			lastVisited++;
+			if (current == target)
+				break;
+			int base = current * 6, known = distance[current];
+			for (int direction = 0; direction < 6; direction++) {
+				int next = neighbors[base + direction];
+				if (next < 0 || closed[next] == gen)
+					continue;
+				int step = cost.cost(current, next);
+				if (step < 0)
+					continue;
+				long total = (long) known + step;
+				if (total > Integer.MAX_VALUE)
+					throw new ArithmeticException("Path cost overflow!");
+				if (reached[next] != gen || total < distance[next]) {
+					distance[next] = (int) total;
+					parent[next] = current;
+					reached[next] = gen;
+					open.push(next, (int) Math.min(Integer.MAX_VALUE, total
+							+ heuristic(next, goal, weight)));
+				}
+			}
+		}
+	}
+
+	private long heuristic(int index, long goal, int weight) {
+		if (weight == 0)
+			return 0;
+		return (long) HexUtils.distance(locations[index], goal) * weight;
+	}
+
+	private void nextGeneration() {
+		// Wraps around by clearing the stamps, once every 2^32 searches.
+		if (++generation == 0) {
+			Arrays.fill(reached, 0);
+			Arrays.fill(closed, 0);
+			generation = 1;
+		}
+	}
+
+}
@@ -0,0 +1,223 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+
+/*
+ * A fixed set of hexes laid out row by row (one row per z), so that every hex
+ * in it has a dense index from 0 to size() - 1. Looking up an index is a row
+ * check and a subtraction.
+ */
+public final class HexShape {
+
+	private final String name;
+
+	private final int minZ;
+
+	// For each row, the x of its first hex, how many hexes it has, and the
+	// index of its first hex. rowIndex has one more entry holding the size.
+	private final int[] rowX;
+
+	private final int[] rowLength;
+
+	private final int[] rowIndex;
+
+	private volatile int[] neighbors;
+
+	private HexShape(String name, int minZ, int[] rowX, int[] rowLength) {
+		this.name = name;
+		this.minZ = minZ;
+		this.rowX = rowX;
+		this.rowLength = rowLength;
+		rowIndex = new int[rowX.length + 1];
+		long total = 0;
+		for (int row = 0; row < rowX.length; row++) {
+			rowIndex[row] = (int) total;
+			total += rowLength[row];
+			if (total > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("Shape is too big!");
+		}
+		rowIndex[rowX.length] = (int) total;
+	}
+
+	// Every hex within some distance of the origin.
+	public static HexShape hexagon(int radius) {
+		return hexagon("hexagon(" + radius + ")", 0, 0, radius);
+	}
+
+	// Every hex within some distance of a location.
+	public static HexShape hexagon(long center, int radius) {
+		return hexagon("hexagon(" + HexUtils.unpack(center) + ", " + radius
+				+ ")", HexUtils.packedX(center), HexUtils.packedZ(center),
+				radius);
+	}
+
+	private static HexShape hexagon(String name, int x, int z, int radius) {
+		if (radius < 0)
+			throw new IllegalArgumentException("Invalid radius!");
+		int[] rowX = new int[2 * radius + 1];
+		int[] rowLength = new int[rowX.length];
+		for (int dz = -radius; dz <= radius; dz++) {
+			int from = Math.max(-radius, -dz - radius);
+			int to = Math.min(radius, -dz + radius);
+			rowX[dz + radius] = x + from;
+			rowLength[dz + radius] = to - from + 1;
+		}
+		return new HexShape(name, z - radius, rowX, rowLength);
+	}
+
+	// Every hex with 0 <= x < width and 0 <= z < height.
+	public static HexShape rhombus(int width, int height) {
+		checkSize(width, height);
+		int[] rowX = new int[height];
+		int[] rowLength = new int[height];
+		Arrays.fill(rowLength, width);
+		return new HexShape("rhombus(" + width + ", " + height + ")", 0, rowX,
+				rowLength);
+	}
+
+	// A width by height block of rows, with every other row shifted over by
+	// half a hex, the way a rectangular map of pointy-topped hexes looks.
+	public static HexShape rectangle(int width, int height) {
+		checkSize(width, height);
+		int[] rowX = new int[height];
+		int[] rowLength = new int[height];
+		for (int z = 0; z < height; z++)
+			rowX[z] = -(z >> 1);
+		Arrays.fill(rowLength, width);
+		return new HexShape("rectangle(" + width + ", " + height + ")", 0,
+				rowX, rowLength);
+	}
+
+	// A shape from the row layout of another, for loading saved shapes.
+	static HexShape of(String name, int minZ, int[] rowX, int[] rowLength) {
+		if (rowX.length != rowLength.length)
+			throw new IllegalArgumentException("Rows do not match!");
+		for (int length : rowLength)
+			if (length < 0)
+				throw new IllegalArgumentException("Invalid row length!");
+		return new HexShape(name, minZ, rowX.clone(), rowLength.clone());
+	}
+
+	int getMinZ() {
+		return minZ;
+	}
+
+	int getRowCount() {
+		return rowX.length;
+	}
+
+	int getRowX(int row) {
+		return rowX[row];
+	}
+
+	int getRowLength(int row) {
+		return rowLength[row];
+	}
+
+	// The index of the first hex of a row, where getRowCount() gives size().
+	int getRowIndex(int row) {
+		return rowIndex[row];
+	}
+
+	private static void checkSize(int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Invalid size!");
+	}
+
+	public int size() {
+		return rowIndex[rowX.length];
+	}
+
+	public int index(int x, int z) {
+		int row = z - minZ;
+		if (row < 0 || row >= rowX.length)
+			return -1;
+		int dx = x - rowX[row];
+		if (dx < 0 || dx >= rowLength[row])
+			return -1;
+		return rowIndex[row] + dx;
+	}
+
+	public int index(long loc) {
+		return index(HexUtils.packedX(loc), HexUtils.packedZ(loc));
+	}
+
+	public int index(HexLocation loc) {
+		return index(HexUtils.pack(loc));
+	}
+
+	public boolean contains(long loc) {
+		return index(loc) >= 0;
+	}
+
+	public boolean contains(HexLocation loc) {
+		return index(loc) >= 0;
+	}
+
+	// The packed location of an index, the opposite of index().
+	public long location(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		int row = Arrays.binarySearch(rowIndex, index);
+		if (row < 0)
+			row = -row - 2;
+		// Skips over empty rows that share a start.
+		while (rowLength[row] == 0 || rowIndex[row + 1] <= index)
+			row++;
+		return HexUtils.pack(rowX[row] + index - rowIndex[row], minZ + row);
+	}
+
+	// The index of the neighbor of a hex in some direction, or -1 if it is
+	// not in the shape.
+	public int neighbor(int index, int direction) {
+		return neighbors()[index * 6 + direction];
+	}
+
+	// Every hex's six neighbor indices in a row, in HexUtils direction order,
+	// with -1 for neighbors that are not in the shape. It is worked out the
+	// first time it is needed, and must not be changed.
+	public int[] neighbors() {
+		int[] table = neighbors;
+		if (table == null) {
+			table = new int[size() * 6];
+			for (int row = 0; row < rowX.length; row++) {
+				int z = minZ + row;
+				for (int dx = 0; dx < rowLength[row]; dx++) {
+					long loc = HexUtils.pack(rowX[row] + dx, z);
+					int base = (rowIndex[row] + dx) * 6;
+					for (int direction = 0; direction < 6; direction++)
+						table[base + direction] = index(HexUtils.neighbor(loc,
+								direction));
+				}
+			}
+			neighbors = table;
+		}
+		return table;
+	}
+
+	// Shapes are equal if they hold the same hexes with the same indices,
+	// whatever their names, so a shape loaded from a file equals the one it
+	// was saved from.
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		else if (!(obj instanceof HexShape))
+			return false;
+		HexShape other = (HexShape) obj;
+		return minZ == other.minZ && Arrays.equals(rowX, other.rowX)
+				&& Arrays.equals(rowLength, other.rowLength);
+	}
+
+	@Override
+	public int hashCode() {
+		return (minZ * 31 + Arrays.hashCode(rowX)) * 31
+				+ Arrays.hashCode(rowLength);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
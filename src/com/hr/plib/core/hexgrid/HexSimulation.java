@@ -0,0 +1,148 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Steps a rule over every hex of an IntHexGrid, tick after tick, such as
+ * spreading fire or smoothing an influence map. Each tick reads one buffer
+ * and writes the other, then swaps them, so the order hexes are worked out
+ * in never matters.
+ * 
+ * Big grids are split into tiles of whole index ranges, which can start and
+ * end partway through a row, and stepped on a ForkJoinPool. A tile's edge
+ * hexes read their neighbors in other tiles straight out of the buffer being
+ * read, which no one writes during the tick, so there are no halos to copy.
+ */
+public class HexSimulation {
+
+	// Works out the next value of one hex. The hex's neighbor in direction d
+	// is at index neighbors[offset + d], which is -1 if it is not in the
+	// shape. Nothing should be allocated or written outside the result, since
+	// hexes are stepped on many threads at once.
+	public interface Rule {
+
+		int step(int index, int[] cells, int[] neighbors, int offset);
+
+	}
+
+	// The number of hexes in a tile, and so the most stepped without a split.
+	public static final int TILE_SIZE = 1 << 12;
+
+	private final Rule rule;
+
+	private final int[] neighbors;
+
+	private final ForkJoinPool pool;
+
+	private IntHexGrid front, back;
+
+	private long ticks;
+
+	// The ticks and time measured since the statistics were last reset.
+	private long measuredTicks;
+
+	private long totalNanos;
+
+	private long lastNanos;
+
+	public HexSimulation(IntHexGrid grid, Rule rule) {
+		this(grid, rule, ForkJoinPool.commonPool());
+	}
+
+	// A null pool steps every hex on the calling thread.
+	public HexSimulation(IntHexGrid grid, Rule rule, ForkJoinPool pool) {
+		this.rule = rule;
+		this.pool = pool;
+		front = grid;
+		back = new IntHexGrid(grid.getShape());
+		neighbors = grid.getShape().neighbors();
+	}
+
+	// The grid with the latest values. It changes to the other buffer on
+	// every tick.
+	public IntHexGrid getGrid() {
+		return front;
+	}
+
+	public HexShape getShape() {
+		return front.getShape();
+	}
+
+	public long getTicks() {
+		return ticks;
+	}
+
+	public void step() {
+		long start = System.nanoTime();
+		int[] cells = front.getArray(), next = back.getArray();
+		if (pool == null || cells.length <= TILE_SIZE)
+			stepRange(cells, next, 0, cells.length);
+		else
+			pool.invoke(new Tile(cells, next, 0, cells.length));
+		IntHexGrid swap = front;
+		front = back;
+		back = swap;
+		ticks++;
+		measuredTicks++;
+		lastNanos = System.nanoTime() - start;
+		totalNanos += lastNanos;
+	}
+
+	public void step(int count) {
+		for (int tick = 0; tick < count; tick++)
+			step();
+	}
+
+	public long getLastStepNanos() {
+		return lastNanos;
+	}
+
+	// Hexes stepped per second since the statistics were last reset, or 0 if
+	// nothing has been stepped.
+	public double getCellsPerSecond() {
+		if (totalNanos == 0)
+			return 0;
+		return (double) measuredTicks * front.size() * 1e9 / totalNanos;
+	}
+
+	public void resetStatistics() {
+		measuredTicks = 0;
+		totalNanos = 0;
+		lastNanos = 0;
+	}
+
+	private void stepRange(int[] cells, int[] next, int from, int to) {
+		for (int index = from; index < to; index++)
+			next[index] = rule.step(index, cells, neighbors, index * 6);
+	}
+
+	private final class Tile extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] cells, next;
+
+		private final int from, to;
+
+		Tile(int[] cells, int[] next, int from, int to) {
+			this.cells = cells;
+			this.next = next;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= TILE_SIZE) {
+				stepRange(cells, next, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Tile(cells, next, from, middle), new Tile(cells,
+					next, middle, to));
+		}
+
+	}
+
+}
@@ -0,0 +1,352 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.hr.plib.core.collection.LongObjectMap;
+
+/*
+ * An index of Hex entities by location, so that finding the ones near a hex
+ * only looks at nearby entities. Entities are kept in buckets of square
+ * rhombus blocks of hexes, the same way IntHexWorld splits up chunks, held in
+ * a map keyed by the packed block location. A bucket shift of 0 gives one
+ * bucket per hex.
+ * 
+ * The index remembers where each entity was when it was added or last
+ * updated, so after an entity moves, update() has to be called with it.
+ * Entities are told apart by identity, not equals(). Any number of threads
+ * can query at once, but only one should change the index at a time, and
+ * query callbacks must not change it.
+ */
+public class HexSpatialIndex<E extends Hex> {
+
+	private final int bucketShift;
+
+	private final LongObjectMap<Bucket<E>> buckets = new LongObjectMap<>();
+
+	private final Map<E, Entry<E>> entries = new IdentityHashMap<>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private static final class Entry<E> {
+
+		final E entity;
+
+		long loc;
+
+		Bucket<E> bucket;
+
+		// Where the entry is in its bucket.
+		int slot;
+
+		Entry(E entity) {
+			this.entity = entity;
+		}
+
+	}
+
+	private static final class Bucket<E> {
+
+		final long key;
+
+		Entry<E>[] entries;
+
+		int size;
+
+		@SuppressWarnings("unchecked")
+		Bucket(long key) {
+			this.key = key;
+			entries = (Entry<E>[]) new Entry<?>[4];
+		}
+
+		void add(Entry<E> entry) {
+			if (size == entries.length)
+				entries = Arrays.copyOf(entries, size * 2);
+			entry.bucket = this;
+			entry.slot = size;
+			entries[size++] = entry;
+		}
+
+		// Removes an entry by moving the last one into its slot.
+		void remove(Entry<E> entry) {
+			Entry<E> moved = entries[--size];
+			entries[entry.slot] = moved;
+			moved.slot = entry.slot;
+			entries[size] = null;
+			entry.bucket = null;
+		}
+
+	}
+
+	public HexSpatialIndex() {
+		this(3);
+	}
+
+	public HexSpatialIndex(int bucketShift) {
+		if (bucketShift < 0 || bucketShift > 16)
+			throw new IllegalArgumentException("Invalid bucket shift!");
+		this.bucketShift = bucketShift;
+	}
+
+	public int getBucketSize() {
+		return 1 << bucketShift;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int getBucketCount() {
+		lock.readLock().lock();
+		try {
+			return buckets.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public boolean contains(E entity) {
+		lock.readLock().lock();
+		try {
+			return entries.containsKey(entity);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Where the index has an entity, which is where it was when last added or
+	// updated.
+	public long getLocation(E entity) {
+		lock.readLock().lock();
+		try {
+			Entry<E> entry = entries.get(entity);
+			if (entry == null)
+				throw new IllegalArgumentException(entity + " is not indexed!");
+			return entry.loc;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Adds an entity at its current location. Returns false if it was
+	// already in the index.
+	public boolean add(E entity) {
+		long loc = HexUtils.pack(entity.getLocation());
+		lock.writeLock().lock();
+		try {
+			if (entries.containsKey(entity))
+				return false;
+			Entry<E> entry = new Entry<>(entity);
+			entries.put(entity, entry);
+			place(entry, loc);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public boolean remove(E entity) {
+		lock.writeLock().lock();
+		try {
+			Entry<E> entry = entries.remove(entity);
+			if (entry == null)
+				return false;
+			unplace(entry);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Moves an entity in the index to its current location, which only
+	// touches the buckets if it left its block. Returns false if it is not in
+	// the index.
+	public boolean update(E entity) {
+		long loc = HexUtils.pack(entity.getLocation());
+		lock.writeLock().lock();
+		try {
+			Entry<E> entry = entries.get(entity);
+			if (entry == null)
+				return false;
+			if (entry.loc != loc) {
+				if (bucketOf(loc) == entry.bucket.key)
+					entry.loc = loc;
+				else {
+					unplace(entry);
+					place(entry, loc);
+				}
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			entries.clear();
+			buckets.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Gives every entity within radius of center to action, in no order.
+	// Returns how many there were.
+	public int forEachInRange(long center, int radius,
+			final Consumer<? super E> action) {
+		if (radius < 0)
+			throw new IllegalArgumentException("Invalid radius!");
+		lock.readLock().lock();
+		try {
+			return scan(center, radius, entry -> action.accept(entry.entity));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int forEachInRange(HexLocation center, int radius,
+			Consumer<? super E> action) {
+		return forEachInRange(HexUtils.pack(center), radius, action);
+	}
+
+	// Adds every entity within radius of center to out, and returns out.
+	public <C extends Collection<? super E>> C inRange(long center,
+			int radius, C out) {
+		forEachInRange(center, radius, out::add);
+		return out;
+	}
+
+	public List<E> inRange(HexLocation center, int radius) {
+		return inRange(HexUtils.pack(center), radius, new ArrayList<E>());
+	}
+
+	// The k entities closest to center, closest first, with ties in no
+	// particular order. There are fewer than k if the index has fewer.
+	public List<E> nearest(long center, int k) {
+		if (k < 0)
+			throw new IllegalArgumentException("Invalid count!");
+		final List<Entry<E>> found = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			int total = entries.size();
+			if (k > total)
+				k = total;
+			if (k == 0)
+				return new ArrayList<>();
+			// Widens the range until it holds k entities. Everything closer
+			// than the k-th one is then in it too.
+			for (int radius = 1 << bucketShift;; radius = radius * 2) {
+				found.clear();
+				scan(center, radius, found::add);
+				if (found.size() >= k || found.size() == total
+						|| radius >= Integer.MAX_VALUE / 4)
+					break;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		// Sorts by distance with the position in found as a tie breaker.
+		long[] keys = new long[found.size()];
+		for (int ix = 0; ix < keys.length; ix++)
+			keys[ix] = (long) HexUtils.distance(center, found.get(ix).loc)
+					<< 32 | ix;
+		Arrays.sort(keys);
+		List<E> result = new ArrayList<>(Math.min(k, keys.length));
+		for (int ix = 0; ix < k && ix < keys.length; ix++)
+			result.add(found.get((int) keys[ix]).entity);
+		return result;
+	}
+
+	public List<E> nearest(HexLocation center, int k) {
+		return nearest(HexUtils.pack(center), k);
+	}
+
+	// Gives every entry within radius of center to action, looking only at
+	// the buckets the range overlaps, or at every bucket if there are fewer
+	// of those. The read lock must be held.
+	private int scan(final long center, final int radius,
+			final Consumer<Entry<E>> action) {
+		int cx = HexUtils.packedX(center), cz = HexUtils.packedZ(center);
+		int bx0 = (cx - radius) >> bucketShift;
+		int bx1 = (cx + radius) >> bucketShift;
+		int bz0 = (cz - radius) >> bucketShift;
+		int bz1 = (cz + radius) >> bucketShift;
+		final int[] count = new int[1];
+		if (((long) bx1 - bx0 + 1) * ((long) bz1 - bz0 + 1) > buckets.size()) {
+			buckets.forEach(new LongObjectMap.Procedure<Bucket<E>>() {
+
+				@Override
+				public void apply(long key, Bucket<E> bucket) {
+					count[0] += scan(bucket, center, radius, action);
+				}
+
+			});
+			return count[0];
+		}
+		long sumMin = (long) cx + cz - radius, sumMax = (long) cx + cz
+				+ radius;
+		for (int bx = bx0; bx <= bx1; bx++)
+			for (int bz = bz0; bz <= bz1; bz++) {
+				// Skips blocks entirely past the slanted sides of the range,
+				// where x + z is too big or too small.
+				long low = ((long) bx + bz) << bucketShift;
+				long high = low + (2L << bucketShift) - 2;
+				if (high < sumMin || low > sumMax)
+					continue;
+				Bucket<E> bucket = buckets.get(HexUtils.pack(bx, bz));
+				if (bucket != null)
+					count[0] += scan(bucket, center, radius, action);
+			}
+		return count[0];
+	}
+
+	private static <E> int scan(Bucket<E> bucket, long center, int radius,
+			Consumer<Entry<E>> action) {
+		int count = 0;
+		for (int ix = 0; ix < bucket.size; ix++) {
+			Entry<E> entry = bucket.entries[ix];
+			if (HexUtils.distance(center, entry.loc) <= radius) {
+				action.accept(entry);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private long bucketOf(long loc) {
+		return HexUtils.pack(HexUtils.packedX(loc) >> bucketShift,
+				HexUtils.packedZ(loc) >> bucketShift);
+	}
+
+	private void place(Entry<E> entry, long loc) {
+		entry.loc = loc;
+		long key = bucketOf(loc);
+		Bucket<E> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new Bucket<>(key);
+			buckets.put(key, bucket);
+		}
+		bucket.add(entry);
+	}
+
+	private void unplace(Entry<E> entry) {
+		Bucket<E> bucket = entry.bucket;
+		bucket.remove(entry);
+		if (bucket.size == 0)
+			buckets.remove(bucket.key);
+	}
+
+}
@@ -4,6 +4,10 @@ import static java.lang.Math.*;
 
 public final class HexUtils {
 
+	// The six neighbor offsets, packed, going around from +x.
+	private static final long[] DIRECTIONS = { pack(1, 0), pack(1, -1),
+			pack(0, -1), pack(-1, 0), pack(-1, 1), pack(0, 1) };
+
 	public static int distance(HexLocation loc1, HexLocation loc2) {
 		return max(
 				max(abs(loc2.getX() - loc1.getX()),
@@ -22,5 +26,141 @@ public final class HexUtils {
 	public static int zOffset(HexLocation loc1, HexLocation loc2) {
 		return loc2.getZ() - loc1.getZ();
 	}
-	
-}
\ No newline at end of file
+
+	/*
+	 * Packed locations hold x in the high 32 bits and z in the low 32 bits of
+	 * a long. Since x + y + z = 0, y is worked out when it is needed. They are
+	 * immutable and make good keys, and they never allocate anything.
+	 */
+
+	public static long pack(int x, int z) {
+		return ((long) x << 32) | (z & 0xFFFFFFFFL);
+	}
+
+	public static long pack(HexLocation loc) {
+		if (loc.getX() + loc.getY() + loc.getZ() != 0)
+			throw new IllegalArgumentException("Not a hex location: " + loc);
+		return pack(loc.getX(), loc.getZ());
+	}
+
+	public static HexLocation unpack(long packed) {
+		return new HexLocation(packedX(packed), packedY(packed),
+				packedZ(packed));
+	}
+
+	public static int packedX(long packed) {
+		return (int) (packed >> 32);
+	}
+
+	public static int packedY(long packed) {
+		return -packedX(packed) - packedZ(packed);
+	}
+
+	public static int packedZ(long packed) {
+		return (int) packed;
+	}
+
+	public static int distance(long loc1, long loc2) {
+		int dx = packedX(loc2) - packedX(loc1);
+		int dz = packedZ(loc2) - packedZ(loc1);
+		return max(max(abs(dx), abs(dz)), abs(dx + dz));
+	}
+
+	public static long add(long loc, long offset) {
+		return pack(packedX(loc) + packedX(offset), packedZ(loc)
+				+ packedZ(offset));
+	}
+
+	public static long subtract(long loc1, long loc2) {
+		return pack(packedX(loc1) - packedX(loc2), packedZ(loc1)
+				- packedZ(loc2));
+	}
+
+	public static long direction(int direction) {
+		return DIRECTIONS[direction];
+	}
+
+	public static long neighbor(long loc, int direction) {
+		return add(loc, DIRECTIONS[direction]);
+	}
+
+	/*
+	 * Batch distances over arrays of packed locations. The coordinates are
+	 * split into plain int arrays first, so the inner loops are simple enough
+	 * for the JIT to unroll and vectorize.
+	 */
+
+	// The distance from one location to each of several, written into out,
+	// which is made if it is null. Returns out.
+	public static int[] distances(long from, long[] to, int[] out) {
+		if (out == null)
+			out = new int[to.length];
+		else if (out.length < to.length)
+			throw new IllegalArgumentException("Output is too small!");
+		int[] xs = new int[to.length], zs = new int[to.length];
+		split(to, xs, zs);
+		distances(packedX(from), packedZ(from), xs, zs, out, 0);
+		return out;
+	}
+
+	// The distance from every location in from to every location in to, row
+	// by row, so the distance from from[i] to to[j] is at i * to.length + j.
+	public static int[] distanceMatrix(long[] from, long[] to) {
+		long size = (long) from.length * to.length;
+		if (size > Integer.MAX_VALUE - 8)
+			throw new OutOfMemoryError("Too many elements for an array!");
+		return distanceMatrix(from, to, new int[(int) size]);
+	}
+
+	// The same as distanceMatrix(long[], long[]), but written into out.
+	public static int[] distanceMatrix(long[] from, long[] to, int[] out) {
+		if ((long) from.length * to.length > out.length)
+			throw new IllegalArgumentException("Output is too small!");
+		int[] xs = new int[to.length], zs = new int[to.length];
+		split(to, xs, zs);
+		for (int row = 0; row < from.length; row++)
+			distances(packedX(from[row]), packedZ(from[row]), xs, zs, out, row
+					* to.length);
+		return out;
+	}
+
+	// For each location in from, the index in to of the closest location in
+	// to, the first one if several are as close, or -1 if to is empty.
+	// Written into out, which is made if it is null. Returns out.
+	public static int[] nearest(long[] from, long[] to, int[] out) {
+		if (out == null)
+			out = new int[from.length];
+		else if (out.length < from.length)
+			throw new IllegalArgumentException("Output is too small!");
+		int[] xs = new int[to.length], zs = new int[to.length];
+		int[] row = new int[to.length];
+		split(to, xs, zs);
+		for (int ix = 0; ix < from.length; ix++) {
+			distances(packedX(from[ix]), packedZ(from[ix]), xs, zs, row, 0);
+			int best = -1, bestDistance = Integer.MAX_VALUE;
+			for (int jx = 0; jx < row.length; jx++)
+				if (row[jx] < bestDistance) {
+					bestDistance = row[jx];
+					best = jx;
+				}
+			out[ix] = best;
+		}
+		return out;
+	}
+
+	private static void split(long[] locs, int[] xs, int[] zs) {
+		for (int ix = 0; ix < locs.length; ix++) {
+			xs[ix] = (int) (locs[ix] >> 32);
+			zs[ix] = (int) locs[ix];
+		}
+	}
+
+	private static void distances(int x, int z, int[] xs, int[] zs, int[] out,
+			int offset) {
+		for (int ix = 0; ix < xs.length; ix++) {
+			int dx = xs[ix] - x, dz = zs[ix] - z;
+			out[offset + ix] = max(max(abs(dx), abs(dz)), abs(dx + dz));
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.hr.plib.core.hexgrid;
+
+import java.util.Arrays;
+
+/*
+ * Dense storage of one int per hex of a HexShape, such as a terrain or cost
+ * layer.
+ */
+public class IntHexGrid {
+
+	private final HexShape shape;
+
+	private final int[] cells;
+
+	public IntHexGrid(HexShape shape) {
+		this.shape = shape;
+		cells = new int[shape.size()];
+	}
+
+	public HexShape getShape() {
+		return shape;
+	}
+
+	public int size() {
+		return cells.length;
+	}
+
+	public boolean contains(long loc) {
+		return shape.contains(loc);
+	}
+
+	public int get(long loc) {
+		return cells[indexOf(loc)];
+	}
+
+	public int get(int x, int z) {
+		return get(HexUtils.pack(x, z));
+	}
+
+	public int get(HexLocation loc) {
+		return get(HexUtils.pack(loc));
+	}
+
+	public int set(long loc, int value) {
+		int index = indexOf(loc);
+		int old = cells[index];
+		cells[index] = value;
+		return old;
+	}
+
+	public int set(HexLocation loc, int value) {
+		return set(HexUtils.pack(loc), value);
+	}
+
+	public int getAt(int index) {
+		return cells[index];
+	}
+
+	public void setAt(int index, int value) {
+		cells[index] = value;
+	}
+
+	public void fill(int value) {
+		Arrays.fill(cells, value);
+	}
+
+	// The cells in index order, straight from the grid, for loops that walk
+	// every cell.
+	public int[] getArray() {
+		return cells;
+	}
+
+	private int indexOf(long loc) {
+		int index = shape.index(loc);
+		if (index < 0)
+			throw new IndexOutOfBoundsException(HexUtils.unpack(loc)
+					+ " is not in " + shape + "!");
+		return index;
+	}
+
+}
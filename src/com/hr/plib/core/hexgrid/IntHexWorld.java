@@ -0,0 +1,322 @@
+package com.hr.plib.core.hexgrid;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.hr.plib.core.collection.LongLongMap;
+import com.hr.plib.core.collection.LongObjectMap;
+
+/*
+ * An unbounded int layer over hexes, split into square rhombus chunks that are
+ * only allocated once something is set in them. Chunks are kept in a map keyed
+ * by their packed chunk location, and the least recently used ones are
+ * unloaded once there are too many. With a page directory, each chunk lives
+ * in its own memory-mapped file, so unloading loses nothing and loading it
+ * again is just a mapping. Without one, unloaded chunks are thrown away. The
+ * page files are listed once when the world is made, so files added to the
+ * directory by anything else after that are not seen.
+ * 
+ * Page files are little-endian whatever the machine, so a page directory can
+ * be moved between machines. The directory also holds a small info file with
+ * the chunk shift, and opening it with any other shift fails instead of
+ * reading every chunk wrong.
+ * 
+ * This is not thread safe.
+ */
+public class IntHexWorld {
+
+	private static final String INFO_NAME = "world.info";
+
+	private static final int MAGIC = 0x48455857;
+
+	private static final int VERSION = 1;
+
+	private final int chunkShift;
+
+	private final int chunkMask;
+
+	private final int defaultValue;
+
+	private final int maxLoadedChunks;
+
+	private final File pageDirectory;
+
+	private final LongObjectMap<Chunk> chunks = new LongObjectMap<>();
+
+	// The chunks that have a page file, found when the world is made and kept
+	// up to date after, so missing chunks never have to be looked for on disk.
+	private final LongLongMap paged = new LongLongMap();
+
+	// The loaded chunks from most to least recently used.
+	private Chunk newest, oldest;
+
+	// The last chunk looked up, checked first since lookups tend to cluster.
+	private Chunk last;
+
+	private static final class Chunk {
+
+		final long key;
+
+		final int[] cells;
+
+		final MappedByteBuffer page;
+
+		final IntBuffer mapped;
+
+		Chunk newer, older;
+
+		Chunk(long key, int[] cells, MappedByteBuffer page) {
+			this.key = key;
+			this.cells = cells;
+			this.page = page;
+			mapped = page == null ? null : page.asIntBuffer();
+		}
+
+		int get(int index) {
+			return cells != null ? cells[index] : mapped.get(index);
+		}
+
+		void set(int index, int value) {
+			if (cells != null)
+				cells[index] = value;
+			else
+				mapped.put(index, value);
+		}
+
+	}
+
+	public IntHexWorld(int chunkShift, int defaultValue) {
+		this(chunkShift, defaultValue, Integer.MAX_VALUE, null);
+	}
+
+	public IntHexWorld(int chunkShift, int defaultValue, int maxLoadedChunks,
+			File pageDirectory) {
+		if (chunkShift < 1 || chunkShift > 12)
+			throw new IllegalArgumentException("Invalid chunk shift!");
+		else if (maxLoadedChunks < 1)
+			throw new IllegalArgumentException("Invalid chunk limit!");
+		else if (pageDirectory != null && !pageDirectory.isDirectory())
+			throw new IllegalArgumentException(pageDirectory
+					+ " is not a directory!");
+		this.chunkShift = chunkShift;
+		chunkMask = (1 << chunkShift) - 1;
+		this.defaultValue = defaultValue;
+		this.maxLoadedChunks = maxLoadedChunks;
+		this.pageDirectory = pageDirectory;
+		if (pageDirectory != null) {
+			findPages();
+			checkInfo();
+		}
+	}
+
+	public int getChunkSize() {
+		return 1 << chunkShift;
+	}
+
+	public int getDefaultValue() {
+		return defaultValue;
+	}
+
+	public int getLoadedChunkCount() {
+		return chunks.size();
+	}
+
+	// The packed location of the chunk that holds a hex.
+	public long chunkOf(long loc) {
+		return HexUtils.pack(HexUtils.packedX(loc) >> chunkShift,
+				HexUtils.packedZ(loc) >> chunkShift);
+	}
+
+	// The shape of every chunk, whose indices match the cells of a chunk.
+	public HexShape chunkShape() {
+		return HexShape.rhombus(getChunkSize(), getChunkSize());
+	}
+
+	public int get(long loc) {
+		Chunk chunk = chunk(chunkOf(loc), false);
+		return chunk == null ? defaultValue : chunk.get(cellOf(loc));
+	}
+
+	public int get(HexLocation loc) {
+		return get(HexUtils.pack(loc));
+	}
+
+	public int set(long loc, int value) {
+		Chunk chunk = chunk(chunkOf(loc), true);
+		int cell = cellOf(loc);
+		int old = chunk.get(cell);
+		chunk.set(cell, value);
+		return old;
+	}
+
+	public int set(HexLocation loc, int value) {
+		return set(HexUtils.pack(loc), value);
+	}
+
+	public boolean isLoaded(long chunkLoc) {
+		return chunks.containsKey(chunkLoc);
+	}
+
+	// Unloads a chunk, writing it out first if it is paged.
+	public void unload(long chunkLoc) {
+		Chunk chunk = chunks.remove(chunkLoc);
+		if (chunk == null)
+			return;
+		unlink(chunk);
+		if (chunk == last)
+			last = null;
+		if (chunk.page != null)
+			chunk.page.force();
+	}
+
+	public void unloadAll() {
+		while (oldest != null)
+			unload(oldest.key);
+	}
+
+	// Writes every loaded paged chunk out to its file.
+	public void flush() {
+		for (Chunk chunk = newest; chunk != null; chunk = chunk.older)
+			if (chunk.page != null)
+				chunk.page.force();
+	}
+
+	private int cellOf(long loc) {
+		return ((HexUtils.packedZ(loc) & chunkMask) << chunkShift)
+				| (HexUtils.packedX(loc) & chunkMask);
+	}
+
+	private Chunk chunk(long key, boolean create) {
+		Chunk chunk = last;
+		if (chunk != null && chunk.key == key)
+			return chunk;
+		chunk = chunks.get(key);
+		if (chunk == null) {
+			if (!create && !onDisk(key))
+				return null;
+			chunk = load(key);
+			chunks.put(key, chunk);
+			while (chunks.size() > maxLoadedChunks)
+				unload(oldest.key);
+		} else
+			unlink(chunk);
+		// Moves the chunk to the front of the list.
+		chunk.older = newest;
+		if (newest != null)
+			newest.newer = chunk;
+		newest = chunk;
+		if (oldest == null)
+			oldest = chunk;
+		last = chunk;
+		return chunk;
+	}
+
+	private void unlink(Chunk chunk) {
+		if (chunk.newer != null)
+			chunk.newer.older = chunk.older;
+		else
+			newest = chunk.older;
+		if (chunk.older != null)
+			chunk.older.newer = chunk.newer;
+		else
+			oldest = chunk.newer;
+		chunk.newer = chunk.older = null;
+	}
+
+	private Chunk load(long key) {
+		int cells = 1 << (2 * chunkShift);
+		if (pageDirectory == null) {
+			int[] array = new int[cells];
+			if (defaultValue != 0)
+				Arrays.fill(array, defaultValue);
+			return new Chunk(key, array, null);
+		}
+		File file = pageFile(key);
+		boolean fresh = !onDisk(key);
+		long bytes = (long) cells * Integer.BYTES;
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			if (!fresh && channel.size() != bytes)
+				throw new IOException(file + " is not a chunk of size "
+						+ getChunkSize() + "!");
+			// The mapping stays valid after the channel is closed.
+			MappedByteBuffer page = channel.map(FileChannel.MapMode.READ_WRITE,
+					0, bytes);
+			page.order(ByteOrder.LITTLE_ENDIAN);
+			Chunk chunk = new Chunk(key, null, page);
+			paged.put(key, 1);
+			if (fresh && defaultValue != 0)
+				for (int ix = 0; ix < cells; ix++)
+					chunk.set(ix, defaultValue);
+			return chunk;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private boolean onDisk(long key) {
+		return paged.containsKey(key);
+	}
+
+	private void findPages() {
+		String[] names = pageDirectory.list();
+		if (names == null)
+			throw new UncheckedIOException(new IOException("Cannot list "
+					+ pageDirectory + "!"));
+		for (String name : names) {
+			int split = name.indexOf('_');
+			if (split < 0 || !name.endsWith(".chunk"))
+				continue;
+			try {
+				int x = Integer.parseInt(name.substring(0, split));
+				int z = Integer.parseInt(name.substring(split + 1,
+						name.length() - ".chunk".length()));
+				paged.put(HexUtils.pack(x, z), 1);
+			} catch (NumberFormatException e) {
+				// Not a page file.
+			}
+		}
+	}
+
+	// Checks the page directory was made with the same chunk shift, or marks
+	// it as made with this one if it is new.
+	private void checkInfo() {
+		File info = new File(pageDirectory, INFO_NAME);
+		try {
+			if (!info.exists()) {
+				if (!paged.isEmpty())
+					throw new IOException(pageDirectory + " has pages but no "
+							+ INFO_NAME + "!");
+				Files.write(info.toPath(), ByteBuffer.allocate(12).putInt(MAGIC)
+						.putInt(VERSION).putInt(chunkShift).array());
+				return;
+			}
+			ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(info.toPath()));
+			if (in.remaining() != 12 || in.getInt() != MAGIC
+					|| in.getInt() != VERSION)
+				throw new IOException(info + " is not a hex world info file!");
+			int shift = in.getInt();
+			if (shift != chunkShift)
+				throw new IOException(pageDirectory + " has a chunk shift of "
+						+ shift + ", not " + chunkShift + "!");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private File pageFile(long key) {
+		return new File(pageDirectory, HexUtils.packedX(key) + "_"
+				+ HexUtils.packedZ(key) + ".chunk");
+	}
+
+}
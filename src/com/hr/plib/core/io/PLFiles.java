@@ -5,10 +5,16 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Scanner;
 
+import com.hr.plib.core.string.MatchListener;
+import com.hr.plib.core.string.PatternMatcher;
+
 /**
  * This class has methods that deal directly with files.
  * 
@@ -16,6 +22,49 @@ import java.util.Scanner;
  */
 public class PLFiles {
 
+	/**
+	 * The most bytes of a file that are mapped into memory at once.
+	 */
+	private static final int MAP_WINDOW = 1 << 30;
+
+	/**
+	 * This counts the matches of each pattern in a file. The file is mapped
+	 * into memory rather than read, and is treated as one character per byte.
+	 * 
+	 * @param file
+	 *            The file to search.
+	 * @param matcher
+	 *            The patterns to count.
+	 * @return The number of matches of each pattern.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 */
+	public static long[] countMatches(File file, PatternMatcher matcher)
+			throws IOException {
+		long[] counts = new long[matcher.getPatternCount()];
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			int overlap = matcher.getMaxPatternLength() - 1;
+			for (long base = 0; base < size; base += MAP_WINDOW) {
+				MappedByteBuffer window = channel.map(
+						FileChannel.MapMode.READ_ONLY, base,
+						Math.min(size - base, (long) MAP_WINDOW + overlap));
+				matcher.count(window, counts);
+				// Matches that start in the overlap belong to the next window.
+				if (window.limit() > MAP_WINDOW) {
+					window.position(MAP_WINDOW);
+					long[] extra = new long[counts.length];
+					matcher.count(window, extra);
+					for (int ix = 0; ix < counts.length; ix++) {
+						counts[ix] -= extra[ix];
+					}
+				}
+			}
+		}
+		return counts;
+	}
+
 	/**
 	 * This method gets the number of letters in a text file. This returns a
 	 * long, as the number of letters may be rather high. This only parses the
@@ -255,6 +304,43 @@ public class PLFiles {
 		return top;
 	}
 
+	/**
+	 * This finds every match of a set of patterns in a file. The file is
+	 * mapped into memory rather than read, and is treated as one character
+	 * per byte, so the positions given to the listener are byte offsets.
+	 * 
+	 * @param file
+	 *            The file to search.
+	 * @param matcher
+	 *            The patterns to search for.
+	 * @param listener
+	 *            The listener to tell about each match.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 */
+	public static void searchFile(File file, PatternMatcher matcher,
+			final MatchListener listener) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			int overlap = matcher.getMaxPatternLength() - 1;
+			for (long base = 0; base < size; base += MAP_WINDOW) {
+				MappedByteBuffer window = channel.map(
+						FileChannel.MapMode.READ_ONLY, base,
+						Math.min(size - base, (long) MAP_WINDOW + overlap));
+				// Matches that start in the overlap belong to the next window.
+				final long end = base + MAP_WINDOW;
+				matcher.search(window, base, new MatchListener() {
+					@Override
+					public void match(int pattern, long start) {
+						if (start < end)
+							listener.match(pattern, start);
+					}
+				});
+			}
+		}
+	}
+
 	/**
 	 * This sorts a list text data.
 	 * 
@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.Scanner;
 
+import com.hr.plib.core.string.MatchListener;
 import com.hr.plib.core.string.PLStrings;
+import com.hr.plib.core.string.PatternMatcher;
 
 /**
  * This class analyzes a text file and can print out statistics about it. This
@@ -89,6 +91,34 @@ public class PLTextAnalyzer implements Comparable<PLTextAnalyzer> {
 	 */
 	private long digitCount;
 
+	/**
+	 * These are the patterns to search for while the file is read, or null if
+	 * there are none.
+	 */
+	private PatternMatcher matcher;
+
+	/**
+	 * This is told about every match that is found, or null if only the counts
+	 * are wanted.
+	 */
+	private MatchListener listener;
+
+	/**
+	 * This is the number of matches of each pattern in a text file.
+	 */
+	private long[] matchCounts;
+
+	/**
+	 * This counts each match and then passes it on to the listener.
+	 */
+	private final MatchListener countingListener = new MatchListener() {
+		@Override
+		public void match(int pattern, long start) {
+			matchCounts[pattern]++;
+			listener.match(pattern, start);
+		}
+	};
+
 	/**
 	 * This immediately gets all of the info about a File as soon as it has been
 	 * acquired. This may cause issues with a limits on memory. All variables
@@ -124,6 +154,48 @@ public class PLTextAnalyzer implements Comparable<PLTextAnalyzer> {
 		getInfo(new File(filePath)); // Gets info about the file.
 	}
 
+	/**
+	 * This gets all of the info about a File, and counts the matches of a set
+	 * of patterns in the same pass, so the file is only read once. Patterns
+	 * that span more than one line are never found.
+	 * 
+	 * @param file
+	 *            The file to analyze
+	 * @param matcher
+	 *            The patterns to count.
+	 * @throws FileNotFoundException
+	 */
+	public PLTextAnalyzer(File file, PatternMatcher matcher)
+			throws FileNotFoundException {
+		this(file, matcher, null);
+	}
+
+	/**
+	 * This gets all of the info about a File, and finds the matches of a set
+	 * of patterns in the same pass, so the file is only read once. Patterns
+	 * that span more than one line are never found. The positions given to the
+	 * listener are character offsets into the file, counting each line break
+	 * as one character.
+	 * 
+	 * @param file
+	 *            The file to analyze
+	 * @param matcher
+	 *            The patterns to search for.
+	 * @param listener
+	 *            The listener to tell about each match, or null if only the
+	 *            counts are wanted.
+	 * @throws FileNotFoundException
+	 */
+	public PLTextAnalyzer(File file, PatternMatcher matcher,
+			MatchListener listener) throws FileNotFoundException {
+		super(); // Initiates any object values.
+		if (matcher == null)
+			throw new NullPointerException("Matcher cannot be null!");
+		this.matcher = matcher; // Sets the patterns to search for.
+		this.listener = listener; // Sets the listener for the matches.
+		getInfo(file); // Gets info about the file.
+	}
+
 	/**
 	 * This compares multiple <code>PLTextAnalyzer</code> classes.
 	 * 
@@ -213,10 +285,23 @@ public class PLTextAnalyzer implements Comparable<PLTextAnalyzer> {
 	private void getInfo(File file) throws FileNotFoundException {
 		// Makes the reader point to the file.
 		reader = new Scanner(file);
+		// Makes room for the match counts.
+		if (matcher != null)
+			matchCounts = new long[matcher.getPatternCount()];
+		// The position of the current line in the file.
+		long offset = 0;
 		// Loops through the document
 		while (reader.hasNext()) {
 			// Gets the line.
 			String line = reader.nextLine();
+			// Searches the line while it is still in memory.
+			if (matcher != null) {
+				if (listener == null)
+					matcher.count(line, matchCounts);
+				else
+					matcher.search(line, offset, countingListener);
+				offset += line.length() + 1;
+			}
 			// Gets some info about the line.
 			long[] temp = PLStrings.getTypes(line);
 			// Adds this info to the master variables.
@@ -246,6 +331,21 @@ public class PLTextAnalyzer implements Comparable<PLTextAnalyzer> {
 		return lowerCount;
 	}
 
+	/**
+	 * @return The patterns that were searched for, or null if there were none.
+	 */
+	public PatternMatcher getMatcher() {
+		return matcher;
+	}
+
+	/**
+	 * @return The number of matches of each pattern, or null if no patterns
+	 *         were searched for.
+	 */
+	public long[] getMatchCounts() {
+		return matchCounts;
+	}
+
 	/**
 	 * @return The number of spaces.
 	 */
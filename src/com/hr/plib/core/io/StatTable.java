@@ -0,0 +1,515 @@
+package com.hr.plib.core.io;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+import com.hr.plib.core.array.PLSort;
+import com.hr.plib.core.io.PLTextAnalyzer.Type;
+import com.hr.plib.core.list.LongList;
+import com.hr.plib.core.list.PList;
+
+/**
+ * This class holds the same information as a lot of
+ * <code>PLTextFileStat</code> objects, but stores each count as its own
+ * <code>long</code> column instead of one object per file. A row costs 64
+ * bytes plus a reference to its path, which is kept just as it was given,
+ * so millions of files fit where millions of objects would not. Sorting,
+ * filtering and adding up a count only ever walk the columns they need.
+ * <p>
+ * The columns are in the order of <code>PLTextAnalyzer.Type</code>, and
+ * <code>Type.NUMBER</code> is the digit count. Rows are read through a
+ * <code>Cursor</code>, which has the same getters as a
+ * <code>PLTextFileStat</code> but can be moved from row to row without making
+ * anything new.
+ * </p>
+ */
+public class StatTable {
+
+	/**
+	 * The number of counts each row has.
+	 */
+	private static final int COLUMNS = Type.values().length;
+
+	/**
+	 * The counts, by <code>Type</code> and then by row.
+	 */
+	private final long[][] columns = new long[COLUMNS][];
+
+	/**
+	 * The path of each row.
+	 */
+	private String[] paths;
+
+	/**
+	 * The number of rows.
+	 */
+	private int size;
+
+	/**
+	 * This is a flyweight view of one row of the table, with the getters of a
+	 * <code>PLTextFileStat</code>. Moving it to another row does not allocate
+	 * anything, so one cursor can walk the whole table.
+	 */
+	public final class Cursor {
+
+		/**
+		 * The row being looked at.
+		 */
+		private int row;
+
+		Cursor(int row) {
+			this.row = row;
+		}
+
+		/**
+		 * This moves to a row.
+		 * 
+		 * @param row
+		 *            The row to look at.
+		 * @return This cursor.
+		 */
+		public Cursor moveTo(int row) {
+			this.row = checkRow(row);
+			return this;
+		}
+
+		/**
+		 * This moves to the next row.
+		 * 
+		 * @return True if there was a next row, else false.
+		 */
+		public boolean next() {
+			if (row + 1 >= size)
+				return false;
+			row++;
+			return true;
+		}
+
+		/**
+		 * @return The row being looked at.
+		 */
+		public int getRow() {
+			return row;
+		}
+
+		/**
+		 * @param type
+		 *            The type of count.
+		 * @return The count of that type.
+		 */
+		public long get(Type type) {
+			return StatTable.this.get(type, row);
+		}
+
+		/**
+		 * @return The number of capital letters.
+		 */
+		public long getCapitalCount() {
+			return get(Type.CAPITAL);
+		}
+
+		/**
+		 * @return The number of characters.
+		 */
+		public long getCharacterCount() {
+			return get(Type.CHARACTER);
+		}
+
+		/**
+		 * @return The number of digits.
+		 */
+		public long getDigitCount() {
+			return get(Type.NUMBER);
+		}
+
+		/**
+		 * @return The number of letters.
+		 */
+		public long getLetterCount() {
+			return get(Type.LETTER);
+		}
+
+		/**
+		 * @return The number of lower case letters.
+		 */
+		public long getLowerCount() {
+			return get(Type.LOWER);
+		}
+
+		/**
+		 * @return The path of the file of origin.
+		 */
+		public String getPath() {
+			return StatTable.this.getPath(row);
+		}
+
+		/**
+		 * @return The number of spaces.
+		 */
+		public long getSpaceCount() {
+			return get(Type.SPACE);
+		}
+
+		/**
+		 * @return The number of symbols.
+		 */
+		public long getSymbolCount() {
+			return get(Type.SYMBOL);
+		}
+
+		/**
+		 * @return The number of words.
+		 */
+		public long getWordCount() {
+			return get(Type.WORD);
+		}
+
+		/**
+		 * @return true if this has a path, else false.
+		 */
+		public boolean hasPath() {
+			String path = getPath();
+			return path != null && path.length() > 0;
+		}
+
+		/**
+		 * @return A new <code>PLTextFileStat</code> with this row's values.
+		 */
+		public PLTextFileStat toStat() {
+			return StatTable.this.toStat(row);
+		}
+
+	}
+
+	/**
+	 * This makes an empty table.
+	 */
+	public StatTable() {
+		this(16);
+	}
+
+	/**
+	 * This makes an empty table with room for some rows.
+	 * 
+	 * @param initialCapacity
+	 *            The number of rows to make room for at first.
+	 * @throws InvalidParameterException
+	 *             If the capacity is negative.
+	 */
+	public StatTable(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new InvalidParameterException("Invalid capacity!");
+		for (int ix = 0; ix < COLUMNS; ix++)
+			columns[ix] = new long[initialCapacity];
+		paths = new String[initialCapacity];
+	}
+
+	/**
+	 * This adds a row with the values of a <code>PLTextFileStat</code>.
+	 * 
+	 * @param stat
+	 *            The statistics to add.
+	 * @return The index of the new row.
+	 */
+	public int add(PLTextFileStat stat) {
+		return add(stat.getPath(), stat.getWordCount(), stat.getLetterCount(),
+				stat.getCharacterCount(), stat.getSymbolCount(),
+				stat.getSpaceCount(), stat.getCapitalCount(),
+				stat.getLowerCount(), stat.getDigitCount());
+	}
+
+	/**
+	 * This adds a row. The counts are in the same order as the
+	 * <code>PLTextFileStat</code> constructor takes them.
+	 * 
+	 * @param path
+	 *            The system path, which may be null.
+	 * @param wordCount
+	 *            The number of words.
+	 * @param letterCount
+	 *            The number of letters.
+	 * @param characterCount
+	 *            The number of characters.
+	 * @param symbolCount
+	 *            The number of symbols.
+	 * @param spaceCount
+	 *            The number of spaces.
+	 * @param capitalCount
+	 *            The number of capital letters.
+	 * @param lowerCount
+	 *            The number of lower case letters.
+	 * @param digitCount
+	 *            The number of digits.
+	 * @return The index of the new row.
+	 */
+	public int add(String path, long wordCount, long letterCount,
+			long characterCount, long symbolCount, long spaceCount,
+			long capitalCount, long lowerCount, long digitCount) {
+		ensureCapacity(size + 1);
+		int row = size++;
+		paths[row] = path;
+		columns[Type.WORD.ordinal()][row] = wordCount;
+		columns[Type.LETTER.ordinal()][row] = letterCount;
+		columns[Type.CHARACTER.ordinal()][row] = characterCount;
+		columns[Type.SYMBOL.ordinal()][row] = symbolCount;
+		columns[Type.NUMBER.ordinal()][row] = digitCount;
+		columns[Type.SPACE.ordinal()][row] = spaceCount;
+		columns[Type.CAPITAL.ordinal()][row] = capitalCount;
+		columns[Type.LOWER.ordinal()][row] = lowerCount;
+		return row;
+	}
+
+	/**
+	 * This gets one count of a row.
+	 * 
+	 * @param type
+	 *            The type of count.
+	 * @param row
+	 *            The row.
+	 * @return The count.
+	 */
+	public long get(Type type, int row) {
+		return columns[type.ordinal()][checkRow(row)];
+	}
+
+	/**
+	 * This sets one count of a row.
+	 * 
+	 * @param type
+	 *            The type of count.
+	 * @param row
+	 *            The row.
+	 * @param value
+	 *            The count to set to.
+	 */
+	public void set(Type type, int row, long value) {
+		columns[type.ordinal()][checkRow(row)] = value;
+	}
+
+	/**
+	 * @param row
+	 *            The row.
+	 * @return The path of the row, which may be null.
+	 */
+	public String getPath(int row) {
+		return paths[checkRow(row)];
+	}
+
+	/**
+	 * This sets the path of a row.
+	 * 
+	 * @param row
+	 *            The row.
+	 * @param path
+	 *            The system path to the file.
+	 */
+	public void setPath(int row, String path) {
+		paths[checkRow(row)] = path;
+	}
+
+	/**
+	 * This gets a whole column without copying it.
+	 * 
+	 * @param type
+	 *            The type of count.
+	 * @return A list that reads and writes straight through to the column.
+	 *         It stops working properly once more rows are added.
+	 */
+	public LongList getColumn(Type type) {
+		return PList.asLongList(columns[type.ordinal()], 0, size);
+	}
+
+	/**
+	 * @return The number of rows.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return A cursor that is before the first row, so that
+	 *         <code>next()</code> moves it to the first row.
+	 */
+	public Cursor cursor() {
+		return new Cursor(-1);
+	}
+
+	/**
+	 * @param row
+	 *            The row.
+	 * @return A new <code>PLTextFileStat</code> with the values of the row.
+	 */
+	public PLTextFileStat toStat(int row) {
+		checkRow(row);
+		return new PLTextFileStat(paths[row],
+				columns[Type.WORD.ordinal()][row],
+				columns[Type.LETTER.ordinal()][row],
+				columns[Type.CHARACTER.ordinal()][row],
+				columns[Type.SYMBOL.ordinal()][row],
+				columns[Type.SPACE.ordinal()][row],
+				columns[Type.CAPITAL.ordinal()][row],
+				columns[Type.LOWER.ordinal()][row],
+				columns[Type.NUMBER.ordinal()][row]);
+	}
+
+	/**
+	 * This adds up one count over every row.
+	 * 
+	 * @param type
+	 *            The type of count.
+	 * @return The total.
+	 */
+	public long sum(Type type) {
+		long[] column = columns[type.ordinal()];
+		long total = 0;
+		for (int row = 0; row < size; row++)
+			total += column[row];
+		return total;
+	}
+
+	/**
+	 * This adds up one count over some rows.
+	 * 
+	 * @param type
+	 *            The type of count.
+	 * @param rows
+	 *            The rows, such as the ones <code>filter()</code> gives.
+	 * @return The total.
+	 */
+	public long sum(Type type, int[] rows) {
+		long[] column = columns[type.ordinal()];
+		long total = 0;
+		for (int row : rows)
+			total += column[checkRow(row)];
+		return total;
+	}
+
+	/**
+	 * This finds the rows whose count passes a test, only reading that one
+	 * column.
+	 * 
+	 * @param type
+	 *            The type of count to test.
+	 * @param predicate
+	 *            The test.
+	 * @return The rows that passed, in order.
+	 */
+	public int[] filter(Type type, LongPredicate predicate) {
+		long[] column = columns[type.ordinal()];
+		int[] rows = new int[size];
+		int count = 0;
+		for (int row = 0; row < size; row++)
+			if (predicate.test(column[row]))
+				rows[count++] = row;
+		return Arrays.copyOf(rows, count);
+	}
+
+	/**
+	 * This copies some rows into a new table.
+	 * 
+	 * @param rows
+	 *            The rows, in the order they should be in.
+	 * @return A new table of just those rows.
+	 */
+	public StatTable select(int[] rows) {
+		StatTable table = new StatTable(rows.length);
+		for (int row : rows)
+			checkRow(row);
+		for (int ix = 0; ix < COLUMNS; ix++) {
+			long[] from = columns[ix], to = table.columns[ix];
+			for (int row = 0; row < rows.length; row++)
+				to[row] = from[rows[row]];
+		}
+		for (int row = 0; row < rows.length; row++)
+			table.paths[row] = paths[rows[row]];
+		table.size = rows.length;
+		return table;
+	}
+
+	/**
+	 * This works out the order that would sort the rows by one count, without
+	 * changing the table. Rows with equal counts keep their order.
+	 * 
+	 * @param type
+	 *            The type of count to sort by.
+	 * @return The rows in sorted order.
+	 */
+	public int[] order(Type type) {
+		return PLSort.argsort(Arrays.copyOf(columns[type.ordinal()], size));
+	}
+
+	/**
+	 * This sorts the rows by one count, with a radix sort over that column.
+	 * Rows with equal counts keep their order.
+	 * 
+	 * @param type
+	 *            The type of count to sort by.
+	 * @param ascending
+	 *            True for smallest first, false for biggest first.
+	 */
+	public void sort(Type type, boolean ascending) {
+		long[] keys = Arrays.copyOf(columns[type.ordinal()], size);
+		// Flipping every bit reverses the order without overflowing.
+		if (!ascending)
+			for (int row = 0; row < size; row++)
+				keys[row] = ~keys[row];
+		int[] order = PLSort.argsort(keys);
+		// Moves every column into the new order, one column at a time.
+		long[] buffer = new long[columns[0].length];
+		for (int ix = 0; ix < COLUMNS; ix++) {
+			long[] column = columns[ix];
+			for (int row = 0; row < size; row++)
+				buffer[row] = column[order[row]];
+			columns[ix] = buffer;
+			buffer = column;
+		}
+		String[] sorted = new String[paths.length];
+		for (int row = 0; row < size; row++)
+			sorted[row] = paths[order[row]];
+		paths = sorted;
+	}
+
+	/**
+	 * This removes every row.
+	 */
+	public void clear() {
+		Arrays.fill(paths, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * This shrinks the columns down to the number of rows.
+	 */
+	public void trimToSize() {
+		if (paths.length == size)
+			return;
+		for (int ix = 0; ix < COLUMNS; ix++)
+			columns[ix] = Arrays.copyOf(columns[ix], size);
+		paths = Arrays.copyOf(paths, size);
+	}
+
+	/**
+	 * Makes sure there is room for some number of rows, growing by half each
+	 * time so that adding rows one at a time stays cheap.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity <= paths.length)
+			return;
+		int newCapacity = Math.max(capacity, paths.length + (paths.length >> 1)
+				+ 1);
+		for (int ix = 0; ix < COLUMNS; ix++)
+			columns[ix] = Arrays.copyOf(columns[ix], newCapacity);
+		paths = Arrays.copyOf(paths, newCapacity);
+	}
+
+	/**
+	 * Makes sure a row is in the table.
+	 */
+	private int checkRow(int row) {
+		if (row < 0 || row >= size)
+			throw new IndexOutOfBoundsException("Invalid row " + row + "!");
+		return row;
+	}
+
+}
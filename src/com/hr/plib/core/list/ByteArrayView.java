@@ -0,0 +1,60 @@
+package com.hr.plib.core.list;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * This is a fixed size list that boxes the elements of part of a
+ * <code>byte</code> array only when they are asked for.
+ */
+final class ByteArrayView extends AbstractList<Byte> implements RandomAccess {
+
+	/**
+	 * The array behind this view.
+	 */
+	private final byte[] array;
+
+	/**
+	 * The index of the first element in the array.
+	 */
+	private final int offset;
+
+	/**
+	 * The number of elements.
+	 */
+	private final int size;
+
+	ByteArrayView(byte[] array, int offset, int size) {
+		this.array = array;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	@Override
+	public Byte get(int index) {
+		return Byte.valueOf(array[offset + checkIndex(index)]);
+	}
+
+	@Override
+	public Byte set(int index, Byte element) {
+		int ix = offset + checkIndex(index);
+		byte old = array[ix];
+		array[ix] = element;
+		return Byte.valueOf(old);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Makes sure an index is inside the view.
+	 */
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		return index;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.hr.plib.core.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * This is a fixed size <code>DoubleList</code> that reads and writes straight
+ * through to part of an array.
+ */
+final class DoubleArrayView implements DoubleList, RandomAccess {
+
+	/**
+	 * The array behind this view.
+	 */
+	private final double[] array;
+
+	/**
+	 * The index of the first element in the array.
+	 */
+	private final int offset;
+
+	/**
+	 * The number of elements.
+	 */
+	private final int size;
+
+	DoubleArrayView(double[] array, int offset, int size) {
+		this.array = array;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public double get(int index) {
+		return array[offset + checkIndex(index)];
+	}
+
+	@Override
+	public double set(int index, double value) {
+		int ix = offset + checkIndex(index);
+		double old = array[ix];
+		array[ix] = value;
+		return old;
+	}
+
+	@Override
+	public int indexOf(double value) {
+		for (int ix = offset, end = offset + size; ix < end; ix++) {
+			if (Double.doubleToLongBits(array[ix]) == Double.doubleToLongBits(value))
+				return ix - offset;
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(double value) {
+		return indexOf(value) >= 0;
+	}
+
+	@Override
+	public double[] toArray() {
+		return Arrays.copyOfRange(array, offset, offset + size);
+	}
+
+	@Override
+	public List<Double> boxed() {
+		return new Boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		return boxed().toString();
+	}
+
+	/**
+	 * Makes sure an index is inside the view.
+	 */
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		return index;
+	}
+
+	/**
+	 * This is a boxed view of any <code>DoubleList</code>.
+	 */
+	static final class Boxed extends AbstractList<Double> implements RandomAccess {
+
+		/**
+		 * The list behind this view.
+		 */
+		private final DoubleList list;
+
+		Boxed(DoubleList list) {
+			this.list = list;
+		}
+
+		@Override
+		public Double get(int index) {
+			return Double.valueOf(list.get(index));
+		}
+
+		@Override
+		public Double set(int index, Double element) {
+			return Double.valueOf(list.set(index, element));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			return o instanceof Double ? list.indexOf((Double) o) : -1;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return indexOf(o) >= 0;
+		}
+
+	}
+
+}
\ No newline at end of file
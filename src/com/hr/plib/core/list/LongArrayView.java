@@ -0,0 +1,137 @@
+package com.hr.plib.core.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * This is a fixed size <code>LongList</code> that reads and writes straight
+ * through to part of an array.
+ */
+final class LongArrayView implements LongList, RandomAccess {
+
+	/**
+	 * The array behind this view.
+	 */
+	private final long[] array;
+
+	/**
+	 * The index of the first element in the array.
+	 */
+	private final int offset;
+
+	/**
+	 * The number of elements.
+	 */
+	private final int size;
+
+	LongArrayView(long[] array, int offset, int size) {
+		this.array = array;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public long get(int index) {
+		return array[offset + checkIndex(index)];
+	}
+
+	@Override
+	public long set(int index, long value) {
+		int ix = offset + checkIndex(index);
+		long old = array[ix];
+		array[ix] = value;
+		return old;
+	}
+
+	@Override
+	public int indexOf(long value) {
+		for (int ix = offset, end = offset + size; ix < end; ix++) {
+			if (array[ix] == value)
+				return ix - offset;
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(long value) {
+		return indexOf(value) >= 0;
+	}
+
+	@Override
+	public long[] toArray() {
+		return Arrays.copyOfRange(array, offset, offset + size);
+	}
+
+	@Override
+	public List<Long> boxed() {
+		return new Boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		return boxed().toString();
+	}
+
+	/**
+	 * Makes sure an index is inside the view.
+	 */
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		return index;
+	}
+
+	/**
+	 * This is a boxed view of any <code>LongList</code>.
+	 */
+	static final class Boxed extends AbstractList<Long> implements RandomAccess {
+
+		/**
+		 * The list behind this view.
+		 */
+		private final LongList list;
+
+		Boxed(LongList list) {
+			this.list = list;
+		}
+
+		@Override
+		public Long get(int index) {
+			return Long.valueOf(list.get(index));
+		}
+
+		@Override
+		public Long set(int index, Long element) {
+			return Long.valueOf(list.set(index, element));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			return o instanceof Long ? list.indexOf((Long) o) : -1;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return indexOf(o) >= 0;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.hr.plib.core.list;
+
+import java.util.List;
+
+/**
+ * This is a list of <code>long</code> values that never boxes them. It is the
+ * primitive version of <code>List&lt;Long&gt;</code>, for hot code where
+ * making an object for every element would be too slow.
+ */
+public interface LongList {
+
+	/**
+	 * @return The number of elements.
+	 */
+	public int size();
+
+	/**
+	 * @return True if there are no elements, else false.
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * @param index
+	 *            - The index of the element.
+	 * @return The element.
+	 * @throws IndexOutOfBoundsException
+	 *             - If the index is invalid.
+	 */
+	public long get(int index);
+
+	/**
+	 * This replaces an element.
+	 * 
+	 * @param index
+	 *            - The index of the element.
+	 * @param value
+	 *            - The new value.
+	 * @return The old value.
+	 * @throws IndexOutOfBoundsException
+	 *             - If the index is invalid.
+	 */
+	public long set(int index, long value);
+
+	/**
+	 * @param value
+	 *            - The value to look for.
+	 * @return The index of the first element equal to the value, or -1 if
+	 *         there is none.
+	 */
+	public int indexOf(long value);
+
+	/**
+	 * @param value
+	 *            - The value to look for.
+	 * @return True if an element is equal to the value, else false.
+	 */
+	public boolean contains(long value);
+
+	/**
+	 * @return A new array holding the elements.
+	 */
+	public long[] toArray();
+
+	/**
+	 * This gets a view of this list that boxes each element only when it is
+	 * asked for. Changes to one show up in the other.
+	 * 
+	 * @return A boxed view of this list.
+	 */
+	public List<Long> boxed();
+
+}
\ No newline at end of file
@@ -47,6 +47,54 @@ public class PList {
 		return subList(array, 0);
 	}
 
+	/**
+	 * This gets a view of any <code>IntList</code> that boxes each element
+	 * only when it is asked for. Changes to one show up in the other.
+	 * 
+	 * @param list
+	 *            - The list.
+	 * @return A boxed view of the list.
+	 * @throws NullPointerException
+	 *             - If the list is null.
+	 */
+	public static List<Integer> boxed(IntList list) {
+		if (list == null)
+			throw new NullPointerException("List cannot be null!");
+		return new IntArrayView.Boxed(list);
+	}
+
+	/**
+	 * This gets a view of any <code>LongList</code> that boxes each element
+	 * only when it is asked for. Changes to one show up in the other.
+	 * 
+	 * @param list
+	 *            - The list.
+	 * @return A boxed view of the list.
+	 * @throws NullPointerException
+	 *             - If the list is null.
+	 */
+	public static List<Long> boxed(LongList list) {
+		if (list == null)
+			throw new NullPointerException("List cannot be null!");
+		return new LongArrayView.Boxed(list);
+	}
+
+	/**
+	 * This gets a view of any <code>DoubleList</code> that boxes each element
+	 * only when it is asked for. Changes to one show up in the other.
+	 * 
+	 * @param list
+	 *            - The list.
+	 * @return A boxed view of the list.
+	 * @throws NullPointerException
+	 *             - If the list is null.
+	 */
+	public static List<Double> boxed(DoubleList list) {
+		if (list == null)
+			throw new NullPointerException("List cannot be null!");
+		return new DoubleArrayView.Boxed(list);
+	}
+
 	/**
 	 * This converts part of a generic array to a list.
 	 * 
@@ -148,6 +196,22 @@ public class PList {
 		return subList(array, start, array.length);
 	}
 
+	/**
+	 * This copies part of a double array into a list of boxed values. Use
+	 * <code>view()</code> instead to avoid boxing every element up front.
+	 * 
+	 * @param array
+	 *            - The double array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list containing all of the specified elements of the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
 	public static List<Double> subList(double[] array, int start, int end) {
 		// Error Checking.
 		if (array == null)
@@ -155,15 +219,31 @@ public class PList {
 		else if (start < 0 || start > array.length || end < 0
 				|| end > array.length || start > end)
 			throw new InvalidParameterException("Invalid start or end!");
-		List<Double> list = new ArrayList<>(array.length);
+		List<Double> list = new ArrayList<>(end - start);
 
-		for (double d : array) {
-			list.add(valueOf(d));
+		for (int ix = start; ix < end; ix++) {
+			list.add(valueOf(array[ix]));
 		}
 
 		return list;
 	}
 
+	/**
+	 * This copies part of a long array into a list of boxed values. Use
+	 * <code>view()</code> instead to avoid boxing every element up front.
+	 * 
+	 * @param array
+	 *            - The long array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list containing all of the specified elements of the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
 	public static List<Long> subList(long[] array, int start, int end) {
 		// Error Checking.
 		if (array == null)
@@ -171,15 +251,31 @@ public class PList {
 		else if (start < 0 || start > array.length || end < 0
 				|| end > array.length || start > end)
 			throw new InvalidParameterException("Invalid start or end!");
-		List<Long> list = new ArrayList<>(array.length);
+		List<Long> list = new ArrayList<>(end - start);
 
-		for (long l : array) {
-			list.add(valueOf(l));
+		for (int ix = start; ix < end; ix++) {
+			list.add(valueOf(array[ix]));
 		}
 
 		return list;
 	}
 
+	/**
+	 * This copies part of a int array into a list of boxed values. Use
+	 * <code>view()</code> instead to avoid boxing every element up front.
+	 * 
+	 * @param array
+	 *            - The int array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list containing all of the specified elements of the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
 	public static List<Integer> subList(int[] array, int start, int end) {
 		// Error Checking.
 		if (array == null)
@@ -187,15 +283,31 @@ public class PList {
 		else if (start < 0 || start > array.length || end < 0
 				|| end > array.length || start > end)
 			throw new InvalidParameterException("Invalid start or end!");
-		List<Integer> list = new ArrayList<>(array.length);
+		List<Integer> list = new ArrayList<>(end - start);
 
-		for (int i : array) {
-			list.add(valueOf(i));
+		for (int ix = start; ix < end; ix++) {
+			list.add(valueOf(array[ix]));
 		}
 
 		return list;
 	}
 
+	/**
+	 * This copies part of a short array into a list of boxed values. Use
+	 * <code>view()</code> instead to avoid boxing every element up front.
+	 * 
+	 * @param array
+	 *            - The short array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list containing all of the specified elements of the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
 	public static List<Short> subList(short[] array, int start, int end) {
 		// Error Checking.
 		if (array == null)
@@ -203,15 +315,31 @@ public class PList {
 		else if (start < 0 || start > array.length || end < 0
 				|| end > array.length || start > end)
 			throw new InvalidParameterException("Invalid start or end!");
-		List<Short> list = new ArrayList<>(array.length);
+		List<Short> list = new ArrayList<>(end - start);
 
-		for (short i : array) {
-			list.add(valueOf(i));
+		for (int ix = start; ix < end; ix++) {
+			list.add(valueOf(array[ix]));
 		}
 
 		return list;
 	}
 
+	/**
+	 * This copies part of a byte array into a list of boxed values. Use
+	 * <code>view()</code> instead to avoid boxing every element up front.
+	 * 
+	 * @param array
+	 *            - The byte array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list containing all of the specified elements of the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
 	public static List<Byte> subList(byte[] array, int start, int end) {
 		// Error Checking.
 		if (array == null)
@@ -219,13 +347,303 @@ public class PList {
 		else if (start < 0 || start > array.length || end < 0
 				|| end > array.length || start > end)
 			throw new InvalidParameterException("Invalid start or end!");
-		List<Byte> list = new ArrayList<>(array.length);
+		List<Byte> list = new ArrayList<>(end - start);
 
-		for (byte i : array) {
-			list.add(valueOf(i));
+		for (int ix = start; ix < end; ix++) {
+			list.add(valueOf(array[ix]));
 		}
 
 		return list;
 	}
 
+	/**
+	 * This makes a fixed size list that reads and writes straight through to
+	 * a int array, without boxing anything.
+	 * 
+	 * @param array
+	 *            - The int array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static IntList asIntList(int[] array) {
+		return asIntList(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list that reads and writes straight through to
+	 * part of a int array, without boxing anything.
+	 * 
+	 * @param array
+	 *            - The int array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static IntList asIntList(int[] array, int start, int end) {
+		checkRange(array == null ? -1 : array.length, start, end);
+		return new IntArrayView(array, start, end - start);
+	}
+
+	/**
+	 * This makes a fixed size list backed by a int array. Nothing is copied,
+	 * and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The int array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static List<Integer> view(int[] array) {
+		return view(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list backed by part of a int array. Nothing is
+	 * copied, and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The int array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static List<Integer> view(int[] array, int start, int end) {
+		return asIntList(array, start, end).boxed();
+	}
+
+	/**
+	 * This makes a fixed size list that reads and writes straight through to
+	 * a long array, without boxing anything.
+	 * 
+	 * @param array
+	 *            - The long array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static LongList asLongList(long[] array) {
+		return asLongList(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list that reads and writes straight through to
+	 * part of a long array, without boxing anything.
+	 * 
+	 * @param array
+	 *            - The long array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static LongList asLongList(long[] array, int start, int end) {
+		checkRange(array == null ? -1 : array.length, start, end);
+		return new LongArrayView(array, start, end - start);
+	}
+
+	/**
+	 * This makes a fixed size list backed by a long array. Nothing is copied,
+	 * and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The long array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static List<Long> view(long[] array) {
+		return view(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list backed by part of a long array. Nothing is
+	 * copied, and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The long array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static List<Long> view(long[] array, int start, int end) {
+		return asLongList(array, start, end).boxed();
+	}
+
+	/**
+	 * This makes a fixed size list that reads and writes straight through to
+	 * a double array, without boxing anything.
+	 * 
+	 * @param array
+	 *            - The double array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static DoubleList asDoubleList(double[] array) {
+		return asDoubleList(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list that reads and writes straight through to
+	 * part of a double array, without boxing anything.
+	 * 
+	 * @param array
+	 *            - The double array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static DoubleList asDoubleList(double[] array, int start, int end) {
+		checkRange(array == null ? -1 : array.length, start, end);
+		return new DoubleArrayView(array, start, end - start);
+	}
+
+	/**
+	 * This makes a fixed size list backed by a double array. Nothing is copied,
+	 * and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The double array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static List<Double> view(double[] array) {
+		return view(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list backed by part of a double array. Nothing is
+	 * copied, and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The double array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static List<Double> view(double[] array, int start, int end) {
+		return asDoubleList(array, start, end).boxed();
+	}
+
+	/**
+	 * This makes a fixed size list backed by a short array. Nothing is copied,
+	 * and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The short array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static List<Short> view(short[] array) {
+		return view(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list backed by part of a short array. Nothing is
+	 * copied, and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The short array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static List<Short> view(short[] array, int start, int end) {
+		checkRange(array == null ? -1 : array.length, start, end);
+		return new ShortArrayView(array, start, end - start);
+	}
+
+	/**
+	 * This makes a fixed size list backed by a byte array. Nothing is copied,
+	 * and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The byte array.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 */
+	public static List<Byte> view(byte[] array) {
+		return view(array, 0, array.length);
+	}
+
+	/**
+	 * This makes a fixed size list backed by part of a byte array. Nothing is
+	 * copied, and each element is only boxed when it is asked for.
+	 * 
+	 * @param array
+	 *            - The byte array.
+	 * @param start
+	 *            - The start index.
+	 * @param end
+	 *            - The end index.
+	 * @return A list backed by the array.
+	 * @throws NullPointerException
+	 *             - If the array is null.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public static List<Byte> view(byte[] array, int start, int end) {
+		checkRange(array == null ? -1 : array.length, start, end);
+		return new ByteArrayView(array, start, end - start);
+	}
+
+	/**
+	 * Makes sure that start and end make a valid range of an array with the
+	 * given length, where a negative length means the array is null.
+	 */
+	private static void checkRange(int length, int start, int end) {
+		// Error checking.
+		if (length < 0)
+			throw new NullPointerException("Array cannot be null!");
+		else if (start < 0 || start > length || end < 0 || end > length
+				|| start > end)
+			throw new InvalidParameterException("Invalid start or end!");
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.hr.plib.core.list;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * This is a fixed size list that boxes the elements of part of a
+ * <code>short</code> array only when they are asked for.
+ */
+final class ShortArrayView extends AbstractList<Short> implements RandomAccess {
+
+	/**
+	 * The array behind this view.
+	 */
+	private final short[] array;
+
+	/**
+	 * The index of the first element in the array.
+	 */
+	private final int offset;
+
+	/**
+	 * The number of elements.
+	 */
+	private final int size;
+
+	ShortArrayView(short[] array, int offset, int size) {
+		this.array = array;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	@Override
+	public Short get(int index) {
+		return Short.valueOf(array[offset + checkIndex(index)]);
+	}
+
+	@Override
+	public Short set(int index, Short element) {
+		int ix = offset + checkIndex(index);
+		short old = array[ix];
+		array[ix] = element;
+		return Short.valueOf(old);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Makes sure an index is inside the view.
+	 */
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Invalid index " + index + "!");
+		return index;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.hr.plib.core.math;
+
+import java.security.InvalidParameterException;
+
+/**
+ * This class draws random indices according to a set of weights. It uses
+ * Vose's alias method, so building the sampler takes linear time, but every
+ * draw afterwards takes constant time no matter how many weights there are.
+ * <p>
+ * For example, the weights <code>{1, 3}</code> will return 0 a quarter of the
+ * time and 1 the rest of the time.
+ * </p>
+ */
+public class AliasSampler {
+
+	/**
+	 * The chance of keeping the column that was picked rather than its alias.
+	 */
+	private final double[] probability;
+
+	/**
+	 * The index that each column falls back to.
+	 */
+	private final int[] alias;
+
+	/**
+	 * This builds the alias tables for a set of weights. The weights do not
+	 * need to add up to anything in particular.
+	 * 
+	 * @param weights
+	 *            - The weight of each index.
+	 * @throws NullPointerException
+	 *             - If the weights are null.
+	 * @throws InvalidParameterException
+	 *             - If there are no weights, any weight is negative or not a
+	 *             number, or all of the weights are zero.
+	 */
+	public AliasSampler(double[] weights) {
+		// Error checking.
+		if (weights == null)
+			throw new NullPointerException("Weights cannot be null!");
+		else if (weights.length == 0)
+			throw new InvalidParameterException("No weights given!");
+		double total = 0;
+		for (double weight : weights) {
+			if (!(weight >= 0) || Double.isInfinite(weight))
+				throw new InvalidParameterException("Invalid weight!");
+			total += weight;
+		}
+		if (total == 0)
+			throw new InvalidParameterException("Weights are all zero!");
+
+		int n = weights.length;
+		probability = new double[n];
+		alias = new int[n];
+
+		// Scales each weight so that the average column is exactly 1.
+		double[] scaled = new double[n];
+		// Both work lists share one array: small from the front, large from
+		// the back.
+		int[] work = new int[n];
+		int small = 0, large = n;
+		for (int ix = 0; ix < n; ix++) {
+			scaled[ix] = weights[ix] * n / total;
+			if (scaled[ix] < 1)
+				work[small++] = ix;
+			else
+				work[--large] = ix;
+		}
+
+		// Tops up each small column with part of a large one.
+		int smallTop = small, largeTop = large;
+		while (smallTop > 0 && largeTop < n) {
+			int less = work[--smallTop];
+			int more = work[largeTop];
+			probability[less] = scaled[less];
+			alias[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1) {
+				// The large column is now small, so it moves lists.
+				largeTop++;
+				work[smallTop++] = more;
+			}
+		}
+
+		// Anything left over is full up to rounding error.
+		while (largeTop < n)
+			probability[work[largeTop++]] = 1;
+		while (smallTop > 0)
+			probability[work[--smallTop]] = 1;
+	}
+
+	/**
+	 * @return The number of indices this can return.
+	 */
+	public int size() {
+		return probability.length;
+	}
+
+	/**
+	 * This draws a random index.
+	 * 
+	 * @return An index between 0 and <code>size() - 1</code>, picked with a
+	 *         chance proportional to its weight.
+	 */
+	public int sample() {
+		int column = PLMath.randIndex(probability.length);
+		return PLMath.randFraction() < probability[column] ? column
+				: alias[column];
+	}
+
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.hr.plib.core.math;
 
+import static java.lang.Math.log;
 import static java.lang.Math.random;
 import static java.lang.Math.pow;
 import static java.lang.Math.sqrt;
@@ -26,6 +27,58 @@ public class PLMath {
 		return random() < 0.5 ? true : false;
 	}
 
+	/**
+	 * This returns a random double between 0 (inclusive) and 1 (exclusive).
+	 * 
+	 * @return A random double in the range [0, 1).
+	 */
+	public static double randFraction() {
+		return random();
+	}
+
+	/**
+	 * This returns a normally distributed random double with a mean of 0 and a
+	 * standard deviation of 1. It uses the Marsaglia polar method.
+	 * 
+	 * @return A random double from the standard normal distribution.
+	 */
+	public static double randGaussian() {
+		double u, v, s;
+		// Picks points in the unit square until one lands inside the circle.
+		do {
+			u = 2 * random() - 1;
+			v = 2 * random() - 1;
+			s = u * u + v * v;
+		} while (s >= 1 || s == 0);
+		return u * sqrt(-2 * log(s) / s);
+	}
+
+	/**
+	 * This returns a normally distributed random double.
+	 * 
+	 * @param mean
+	 *            The mean of the distribution.
+	 * @param stdDev
+	 *            The standard deviation of the distribution.
+	 * @return A random double from the given normal distribution.
+	 */
+	public static double randGaussian(double mean, double stdDev) {
+		return mean + stdDev * randGaussian();
+	}
+
+	/**
+	 * This returns a random index into something of a given size.
+	 * 
+	 * @param bound
+	 *            The size, which must be positive.
+	 * @return A random integer in the range [0, bound).
+	 */
+	public static int randIndex(int bound) {
+		int index = (int) (random() * bound);
+		// Guards against rounding up to the bound itself.
+		return index < bound ? index : bound - 1;
+	}
+
 	/**
 	 * This method generates a random double.
 	 * 
@@ -67,7 +120,10 @@ public class PLMath {
 
 	/**
 	 * This converts any object into a byte array containing the info about this
-	 * object.
+	 * object. This always uses Java serialization, which is slow and bulky;
+	 * <code>PLCodecs.serialize()</code> is much faster for the library's own
+	 * types and primitive arrays, and falls back to this format for anything
+	 * else.
 	 * 
 	 * @param obj
 	 *            - The object.
@@ -77,9 +133,10 @@ public class PLMath {
 	 */
 	public static byte[] serialize(Object obj) throws IOException {
 		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		ObjectOutputStream os;
-		os = new ObjectOutputStream(out);
-		os.writeObject(obj);
+		// Closing the stream flushes whatever it still has buffered.
+		try (ObjectOutputStream os = new ObjectOutputStream(out)) {
+			os.writeObject(obj);
+		}
 		return out.toByteArray();
 	}
 
@@ -97,8 +154,9 @@ public class PLMath {
 	public static Object deserialize(byte[] data) throws IOException,
 			ClassNotFoundException {
 		ByteArrayInputStream in = new ByteArrayInputStream(data);
-		ObjectInputStream is = new ObjectInputStream(in);
-		return is.readObject();
+		try (ObjectInputStream is = new ObjectInputStream(in)) {
+			return is.readObject();
+		}
 	}
 
 	/**
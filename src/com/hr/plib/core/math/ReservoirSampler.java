@@ -0,0 +1,184 @@
+package com.hr.plib.core.math;
+
+import static java.lang.Math.exp;
+import static java.lang.Math.floor;
+import static java.lang.Math.log;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * This class keeps a uniform random sample of a fixed size from a stream of
+ * unknown length. Items are offered one at a time, and at any moment the
+ * sample holds each item seen so far with the same chance.
+ * <p>
+ * It uses Li's "Algorithm L", which works out how many items to skip rather
+ * than rolling a random number for every single item, so long streams only
+ * cost a few random numbers per kept item.
+ * </p>
+ * 
+ * @param <T>
+ *            The type of item being sampled.
+ */
+public class ReservoirSampler<T> {
+
+	/**
+	 * The items currently in the sample.
+	 */
+	private final Object[] reservoir;
+
+	/**
+	 * The number of items offered so far.
+	 */
+	private long seen;
+
+	/**
+	 * The position in the stream of the next item that will be kept.
+	 */
+	private long next;
+
+	/**
+	 * The running weight used to work out the size of each skip.
+	 */
+	private double w;
+
+	/**
+	 * This makes an empty sampler.
+	 * 
+	 * @param size
+	 *            - The size of the sample to keep.
+	 * @throws InvalidParameterException
+	 *             - If the size is less than 1.
+	 */
+	public ReservoirSampler(int size) {
+		if (size < 1)
+			throw new InvalidParameterException("Invalid sample size!");
+		reservoir = new Object[size];
+		clear();
+	}
+
+	/**
+	 * This samples a whole stream in one go.
+	 * 
+	 * @param items
+	 *            - The stream of items.
+	 * @param size
+	 *            - The size of the sample to keep.
+	 * @return A sampler holding the sample of the stream.
+	 */
+	public static <T> ReservoirSampler<T> sample(Iterator<? extends T> items,
+			int size) {
+		if (items == null)
+			throw new NullPointerException("Items cannot be null!");
+		ReservoirSampler<T> sampler = new ReservoirSampler<>(size);
+		while (items.hasNext())
+			sampler.offer(items.next());
+		return sampler;
+	}
+
+	/**
+	 * This empties the sample so that the sampler can be used again.
+	 */
+	public void clear() {
+		Arrays.fill(reservoir, null);
+		seen = 0;
+		next = reservoir.length;
+		w = 1;
+	}
+
+	/**
+	 * @return The number of items offered so far.
+	 */
+	public long getSeen() {
+		return seen;
+	}
+
+	/**
+	 * This gets one item of the sample.
+	 * 
+	 * @param index
+	 *            - The index of the item, less than <code>size()</code>.
+	 * @return The item.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Invalid index!");
+		return (T) reservoir[index];
+	}
+
+	/**
+	 * This offers the next item of the stream to the sampler.
+	 * 
+	 * @param item
+	 *            - The item.
+	 * @return True if the item was put into the sample, else false.
+	 */
+	public boolean offer(T item) {
+		long position = seen++;
+		int k = reservoir.length;
+		// Fills the reservoir first.
+		if (position < k) {
+			reservoir[(int) position] = item;
+			if (position == k - 1)
+				skip();
+			return true;
+		}
+		if (position < next)
+			return false;
+		// This is the item we skipped ahead to, so it replaces a random one.
+		reservoir[PLMath.randIndex(k)] = item;
+		skip();
+		return true;
+	}
+
+	/**
+	 * @return The number of items in the sample, which is less than the
+	 *         requested size only if fewer items than that have been offered.
+	 */
+	public int size() {
+		return (int) Math.min(seen, reservoir.length);
+	}
+
+	/**
+	 * This copies the sample into an array.
+	 * 
+	 * @param array
+	 *            - An array to fill, or a smaller one to get the type from.
+	 * @return The sample.
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] toArray(T[] array) {
+		int size = size();
+		if (array.length < size)
+			array = (T[]) Arrays.copyOf(array, size, array.getClass());
+		System.arraycopy(reservoir, 0, array, 0, size);
+		return array;
+	}
+
+	/**
+	 * This works out which item will be kept next.
+	 */
+	private void skip() {
+		int k = reservoir.length;
+		w *= exp(log(nonZeroFraction()) / k);
+		double gap = floor(log(nonZeroFraction()) / log(1 - w));
+		// A huge gap just means nothing else will be kept for a long time.
+		if (!(gap >= 0 && gap < Long.MAX_VALUE / 2))
+			gap = Long.MAX_VALUE / 2;
+		next = seen + (long) gap;
+	}
+
+	/**
+	 * @return A random fraction that is never 0, so that it can be logged.
+	 */
+	private static double nonZeroFraction() {
+		double u;
+		do {
+			u = PLMath.randFraction();
+		} while (u == 0);
+		return u;
+	}
+
+}
\ No newline at end of file
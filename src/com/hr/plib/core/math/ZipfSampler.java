@@ -0,0 +1,144 @@
+package com.hr.plib.core.math;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.exp;
+import static java.lang.Math.expm1;
+import static java.lang.Math.log;
+import static java.lang.Math.log1p;
+
+import java.security.InvalidParameterException;
+
+/**
+ * This class draws ranks from a Zipf distribution, where rank k comes up with
+ * a chance proportional to <code>1 / k^exponent</code>. It uses the
+ * rejection-inversion method of Hormann and Derflinger, so it needs no tables
+ * and each draw takes constant expected time, even with billions of ranks.
+ */
+public class ZipfSampler {
+
+	/**
+	 * The number of ranks.
+	 */
+	private final int elements;
+
+	/**
+	 * The exponent of the distribution.
+	 */
+	private final double exponent;
+
+	/**
+	 * The integral of the hat function at 1.5, minus 1.
+	 */
+	private final double hIntegralX1;
+
+	/**
+	 * The integral of the hat function past the last rank.
+	 */
+	private final double hIntegralElements;
+
+	/**
+	 * The squeeze width that lets most draws skip the rejection test.
+	 */
+	private final double squeeze;
+
+	/**
+	 * This sets up a Zipf distribution.
+	 * 
+	 * @param elements
+	 *            - The number of ranks, which must be positive.
+	 * @param exponent
+	 *            - The exponent, which must be positive.
+	 * @throws InvalidParameterException
+	 *             - If either value is invalid.
+	 */
+	public ZipfSampler(int elements, double exponent) {
+		if (elements < 1)
+			throw new InvalidParameterException("Invalid number of elements!");
+		else if (!(exponent > 0) || Double.isInfinite(exponent))
+			throw new InvalidParameterException("Invalid exponent!");
+		this.elements = elements;
+		this.exponent = exponent;
+		hIntegralX1 = hIntegral(1.5) - 1;
+		hIntegralElements = hIntegral(elements + 0.5);
+		squeeze = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+	}
+
+	/**
+	 * @return The number of ranks.
+	 */
+	public int getElements() {
+		return elements;
+	}
+
+	/**
+	 * @return The exponent of the distribution.
+	 */
+	public double getExponent() {
+		return exponent;
+	}
+
+	/**
+	 * This draws a random rank.
+	 * 
+	 * @return A rank between 1 and <code>getElements()</code>.
+	 */
+	public int sample() {
+		while (true) {
+			double u = hIntegralElements + PLMath.randFraction()
+					* (hIntegralX1 - hIntegralElements);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+			if (k < 1)
+				k = 1;
+			else if (k > elements)
+				k = elements;
+			// Accepts right away inside the squeeze, else does the full test.
+			if (k - x <= squeeze || u >= hIntegral(k + 0.5) - h(k))
+				return k;
+		}
+	}
+
+	/**
+	 * The hat function, <code>x^-exponent</code>.
+	 */
+	private double h(double x) {
+		return exp(-exponent * log(x));
+	}
+
+	/**
+	 * The integral of the hat function.
+	 */
+	private double hIntegral(double x) {
+		double logX = log(x);
+		return expm1Over((1 - exponent) * logX) * logX;
+	}
+
+	/**
+	 * The inverse of the integral of the hat function.
+	 */
+	private double hIntegralInverse(double x) {
+		double t = x * (1 - exponent);
+		if (t < -1)
+			t = -1;
+		return exp(log1pOver(t) * x);
+	}
+
+	/**
+	 * <code>log(1 + x) / x</code>, which stays accurate when x is near 0.
+	 */
+	private static double log1pOver(double x) {
+		if (abs(x) > 1e-8)
+			return log1p(x) / x;
+		return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+	}
+
+	/**
+	 * <code>(e^x - 1) / x</code>, which stays accurate when x is near 0.
+	 */
+	private static double expm1Over(double x) {
+		if (abs(x) > 1e-8)
+			return expm1(x) / x;
+		return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+	}
+
+}
\ No newline at end of file
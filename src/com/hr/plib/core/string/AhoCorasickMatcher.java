@@ -0,0 +1,247 @@
+package com.hr.plib.core.string;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * This finds many patterns at once with the Aho-Corasick algorithm, so the
+ * text is only read once no matter how many patterns there are.
+ * <p>
+ * The patterns are compiled into a flat table of transitions with one row per
+ * state. Each character is mapped to a small class first, so that the rows
+ * only need one column per character that is actually in a pattern. Every
+ * character of the text then costs a single table lookup.
+ * </p>
+ */
+public class AhoCorasickMatcher implements PatternMatcher {
+
+	/**
+	 * The patterns being searched for.
+	 */
+	private final String[] patterns;
+
+	/**
+	 * The length of the longest pattern.
+	 */
+	private final int maxLength;
+
+	/**
+	 * The class of each character. Characters past the end of this are in
+	 * class 0, along with every other character that is not in a pattern.
+	 */
+	private final int[] classOf;
+
+	/**
+	 * The number of character classes, which is the width of each row.
+	 */
+	private final int alphabet;
+
+	/**
+	 * The state to go to from each state on each class of character.
+	 */
+	private final int[] transitions;
+
+	/**
+	 * The first state on each state's chain of suffixes that ends a pattern,
+	 * or -1 if there is none.
+	 */
+	private final int[] report;
+
+	/**
+	 * The next state down the chain of suffixes that ends a pattern, or -1.
+	 */
+	private final int[] dictionary;
+
+	/**
+	 * The first pattern each state ends, or -1.
+	 */
+	private final int[] output;
+
+	/**
+	 * The next pattern that is the same as each pattern, or -1.
+	 */
+	private final int[] sameAs;
+
+	/**
+	 * This compiles a set of patterns.
+	 * 
+	 * @param patterns
+	 *            - The patterns, none of which can be empty.
+	 * @throws NullPointerException
+	 *             - If the patterns or any one of them are null.
+	 * @throws InvalidParameterException
+	 *             - If there are no patterns or one of them is empty.
+	 */
+	public AhoCorasickMatcher(String... patterns) {
+		// Error checking.
+		if (patterns == null)
+			throw new NullPointerException("Patterns cannot be null!");
+		else if (patterns.length == 0)
+			throw new InvalidParameterException("No patterns given!");
+		this.patterns = patterns.clone();
+		int maxChar = 0, totalLength = 0, longest = 0;
+		for (String pattern : this.patterns) {
+			if (pattern == null)
+				throw new NullPointerException("Pattern cannot be null!");
+			else if (pattern.isEmpty())
+				throw new InvalidParameterException("Pattern cannot be empty!");
+			for (int ix = 0; ix < pattern.length(); ix++) {
+				maxChar = Math.max(maxChar, pattern.charAt(ix));
+			}
+			totalLength += pattern.length();
+			longest = Math.max(longest, pattern.length());
+		}
+		maxLength = longest;
+
+		// Gives each character that shows up in a pattern its own class.
+		classOf = new int[maxChar + 1];
+		int classes = 1;
+		for (String pattern : this.patterns) {
+			for (int ix = 0; ix < pattern.length(); ix++) {
+				if (classOf[pattern.charAt(ix)] == 0)
+					classOf[pattern.charAt(ix)] = classes++;
+			}
+		}
+		alphabet = classes;
+
+		// Builds the trie. State 0 is the root, and no edge of the trie leads
+		// back to it, so 0 can stand for a missing edge for now.
+		int[] table = new int[(totalLength + 1) * alphabet];
+		int[] ends = new int[totalLength + 1];
+		Arrays.fill(ends, -1);
+		sameAs = new int[this.patterns.length];
+		int states = 1;
+		for (int ix = 0; ix < this.patterns.length; ix++) {
+			String pattern = this.patterns[ix];
+			int state = 0;
+			for (int iy = 0; iy < pattern.length(); iy++) {
+				int edge = state * alphabet + classOf[pattern.charAt(iy)];
+				if (table[edge] == 0)
+					table[edge] = states++;
+				state = table[edge];
+			}
+			sameAs[ix] = ends[state];
+			ends[state] = ix;
+		}
+		transitions = Arrays.copyOf(table, states * alphabet);
+		output = Arrays.copyOf(ends, states);
+
+		// Walks the trie breadth first, filling in the failure links and the
+		// missing transitions from the states that are one character shorter.
+		int[] failure = new int[states];
+		dictionary = new int[states];
+		report = new int[states];
+		Arrays.fill(dictionary, -1);
+		Arrays.fill(report, -1);
+		int[] queue = new int[states];
+		int head = 0, tail = 0;
+		for (int c = 0; c < alphabet; c++) {
+			if (transitions[c] != 0)
+				queue[tail++] = transitions[c];
+		}
+		while (head < tail) {
+			int state = queue[head++];
+			int fallback = failure[state];
+			for (int c = 0; c < alphabet; c++) {
+				int edge = state * alphabet + c;
+				int next = transitions[edge];
+				if (next != 0) {
+					int link = transitions[fallback * alphabet + c];
+					failure[next] = link;
+					dictionary[next] = output[link] >= 0 ? link
+							: dictionary[link];
+					queue[tail++] = next;
+				} else
+					transitions[edge] = transitions[fallback * alphabet + c];
+			}
+			report[state] = output[state] >= 0 ? state : dictionary[state];
+		}
+	}
+
+	@Override
+	public int getPatternCount() {
+		return patterns.length;
+	}
+
+	@Override
+	public String getPattern(int index) {
+		return patterns[index];
+	}
+
+	@Override
+	public int getMaxPatternLength() {
+		return maxLength;
+	}
+
+	@Override
+	public void search(CharSequence text, long offset, MatchListener listener) {
+		int state = 0;
+		for (int ix = 0, length = text.length(); ix < length; ix++) {
+			state = transitions[state * alphabet + classOf(text.charAt(ix))];
+			if (report[state] >= 0)
+				report(state, offset + ix + 1, listener);
+		}
+	}
+
+	@Override
+	public void search(ByteBuffer bytes, long offset, MatchListener listener) {
+		int state = 0;
+		int start = bytes.position();
+		for (int ix = start, limit = bytes.limit(); ix < limit; ix++) {
+			state = transitions[state * alphabet + classOf(bytes.get(ix) & 0xFF)];
+			if (report[state] >= 0)
+				report(state, offset + ix - start + 1, listener);
+		}
+	}
+
+	@Override
+	public void count(CharSequence text, long[] counts) {
+		int state = 0;
+		for (int ix = 0, length = text.length(); ix < length; ix++) {
+			state = transitions[state * alphabet + classOf(text.charAt(ix))];
+			if (report[state] >= 0)
+				count(state, counts);
+		}
+	}
+
+	@Override
+	public void count(ByteBuffer bytes, long[] counts) {
+		int state = 0;
+		for (int ix = bytes.position(), limit = bytes.limit(); ix < limit; ix++) {
+			state = transitions[state * alphabet + classOf(bytes.get(ix) & 0xFF)];
+			if (report[state] >= 0)
+				count(state, counts);
+		}
+	}
+
+	/**
+	 * Gets the class of a character.
+	 */
+	private int classOf(int c) {
+		return c < classOf.length ? classOf[c] : 0;
+	}
+
+	/**
+	 * Tells the listener about every pattern that ends at the current state.
+	 */
+	private void report(int state, long end, MatchListener listener) {
+		for (int s = report[state]; s >= 0; s = dictionary[s]) {
+			for (int p = output[s]; p >= 0; p = sameAs[p]) {
+				listener.match(p, end - patterns[p].length());
+			}
+		}
+	}
+
+	/**
+	 * Counts every pattern that ends at the current state.
+	 */
+	private void count(int state, long[] counts) {
+		for (int s = report[state]; s >= 0; s = dictionary[s]) {
+			for (int p = output[s]; p >= 0; p = sameAs[p]) {
+				counts[p]++;
+			}
+		}
+	}
+
+}
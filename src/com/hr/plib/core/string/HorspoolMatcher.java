@@ -0,0 +1,157 @@
+package com.hr.plib.core.string;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * This finds a single pattern with the Boyer-Moore-Horspool algorithm. It
+ * compares the pattern from the back and, after a mismatch, skips ahead by up
+ * to the length of the pattern, so on most text it only looks at a fraction of
+ * the characters.
+ */
+public class HorspoolMatcher implements PatternMatcher {
+
+	/**
+	 * The pattern being searched for.
+	 */
+	private final String pattern;
+
+	/**
+	 * The characters of the pattern.
+	 */
+	private final char[] chars;
+
+	/**
+	 * How far to skip for each character that ends the window. Characters
+	 * past the end of this skip the whole pattern.
+	 */
+	private final int[] skip;
+
+	/**
+	 * Whether every character of the pattern fits in a byte.
+	 */
+	private final boolean fitsInBytes;
+
+	/**
+	 * This compiles a pattern.
+	 * 
+	 * @param pattern
+	 *            - The pattern, which cannot be empty.
+	 * @throws NullPointerException
+	 *             - If the pattern is null.
+	 * @throws InvalidParameterException
+	 *             - If the pattern is empty.
+	 */
+	public HorspoolMatcher(String pattern) {
+		if (pattern == null)
+			throw new NullPointerException("Pattern cannot be null!");
+		else if (pattern.isEmpty())
+			throw new InvalidParameterException("Pattern cannot be empty!");
+		this.pattern = pattern;
+		chars = pattern.toCharArray();
+		int m = chars.length, maxChar = 0;
+		for (char c : chars) {
+			maxChar = Math.max(maxChar, c);
+		}
+		fitsInBytes = maxChar < 256;
+		skip = new int[maxChar + 1];
+		Arrays.fill(skip, m);
+		// The last character is left out so that a match never skips zero.
+		for (int ix = 0; ix < m - 1; ix++) {
+			skip[chars[ix]] = m - 1 - ix;
+		}
+	}
+
+	@Override
+	public int getPatternCount() {
+		return 1;
+	}
+
+	@Override
+	public String getPattern(int index) {
+		if (index != 0)
+			throw new IndexOutOfBoundsException("Invalid pattern index!");
+		return pattern;
+	}
+
+	@Override
+	public int getMaxPatternLength() {
+		return chars.length;
+	}
+
+	@Override
+	public void search(CharSequence text, long offset, MatchListener listener) {
+		int m = chars.length, last = m - 1;
+		for (int ix = 0, end = text.length() - m; ix <= end;) {
+			char c = text.charAt(ix + last);
+			if (c == chars[last] && matches(text, ix))
+				listener.match(0, offset + ix);
+			ix += c < skip.length ? skip[c] : m;
+		}
+	}
+
+	@Override
+	public void search(ByteBuffer bytes, long offset, MatchListener listener) {
+		if (!fitsInBytes)
+			return;
+		int m = chars.length, last = m - 1, start = bytes.position();
+		for (int ix = start, end = bytes.limit() - m; ix <= end;) {
+			int c = bytes.get(ix + last) & 0xFF;
+			if (c == chars[last] && matches(bytes, ix))
+				listener.match(0, offset + ix - start);
+			ix += c < skip.length ? skip[c] : m;
+		}
+	}
+
+	@Override
+	public void count(CharSequence text, long[] counts) {
+		int m = chars.length, last = m - 1;
+		long found = 0;
+		for (int ix = 0, end = text.length() - m; ix <= end;) {
+			char c = text.charAt(ix + last);
+			if (c == chars[last] && matches(text, ix))
+				found++;
+			ix += c < skip.length ? skip[c] : m;
+		}
+		counts[0] += found;
+	}
+
+	@Override
+	public void count(ByteBuffer bytes, long[] counts) {
+		if (!fitsInBytes)
+			return;
+		int m = chars.length, last = m - 1;
+		long found = 0;
+		for (int ix = bytes.position(), end = bytes.limit() - m; ix <= end;) {
+			int c = bytes.get(ix + last) & 0xFF;
+			if (c == chars[last] && matches(bytes, ix))
+				found++;
+			ix += c < skip.length ? skip[c] : m;
+		}
+		counts[0] += found;
+	}
+
+	/**
+	 * Checks the rest of the pattern against the text at a position.
+	 */
+	private boolean matches(CharSequence text, int at) {
+		for (int ix = chars.length - 2; ix >= 0; ix--) {
+			if (text.charAt(at + ix) != chars[ix])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the rest of the pattern against the bytes at a position.
+	 */
+	private boolean matches(ByteBuffer bytes, int at) {
+		for (int ix = chars.length - 2; ix >= 0; ix--) {
+			if ((bytes.get(at + ix) & 0xFF) != chars[ix])
+				return false;
+		}
+		return true;
+	}
+
+}
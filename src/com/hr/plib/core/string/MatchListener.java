@@ -0,0 +1,18 @@
+package com.hr.plib.core.string;
+
+/**
+ * This is told about every match a <code>PatternMatcher</code> finds.
+ */
+public interface MatchListener {
+
+	/**
+	 * This is called once for each match, in the order the matches end.
+	 * 
+	 * @param pattern
+	 *            - The index of the pattern that matched.
+	 * @param start
+	 *            - The position of the first character of the match.
+	 */
+	public void match(int pattern, long start);
+
+}
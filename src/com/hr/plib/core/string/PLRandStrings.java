@@ -2,6 +2,7 @@ package com.hr.plib.core.string;
 
 import java.security.InvalidParameterException;
 
+import com.hr.plib.core.math.AliasSampler;
 import com.hr.plib.core.math.PLMath;
 
 /**
@@ -84,25 +85,10 @@ public class PLRandStrings {
 			// Returns null if the length is unrealistic.
 			return null;
 		else {
-			/*
-			 * Checks to make sure that the string ranges is even, so that we
-			 * can actually use this.
-			 */
-			// Checks if the number is even.
-			if (stringRanges.length % 2 != 0)
+			// Checks to make sure that the ranges are usable.
+			if (!isValidRanges(stringRanges))
 				return null;
 
-			// Checks to make sure that you entered in valid numbers.
-			for (int ix = 0; ix < stringRanges.length; ix += 2) {
-				// If the first # > second #, then return null.
-				if (stringRanges[ix] > stringRanges[ix + 1]
-						|| stringRanges[ix] < 0 || stringRanges[ix] > 245
-						|| stringRanges[ix + 1] < 0
-						|| stringRanges[ix + 1] > 245
-						|| stringRanges[ix] == stringRanges[ix + 1])
-					return null;
-			}
-
 			// Loops through and adds random chars
 			for (int ix = 0; ix < lengthOfString; ix++) {
 				// Equation for getting a random position in the string
@@ -116,4 +102,113 @@ public class PLRandStrings {
 		// Returns the random string.
 		return sequence.toString();
 	}
+
+	/**
+	 * This generates a random string where each range is picked with a chance
+	 * proportional to its weight, rather than every range being equally
+	 * likely. The ranges work the same way as they do in
+	 * <code>randString(int[], int)</code>.
+	 * 
+	 * @param stringRanges
+	 *            The ranges that this string can have.
+	 * @param weights
+	 *            The weight of each range, one per pair of numbers. Use
+	 *            <code>rangeWidths(stringRanges)</code> to make every
+	 *            character equally likely.
+	 * @param lengthOfString
+	 *            The size of the string.
+	 * @return A randomly generated string, or null if the ranges or length are
+	 *         invalid.
+	 */
+	public static String randString(int[] stringRanges, double[] weights,
+			int lengthOfString) {
+		if (stringRanges == null)
+			throw new NullPointerException("Passed null for the string ranges.");
+		else if (weights == null)
+			throw new NullPointerException("Passed null for the weights.");
+		else if (lengthOfString < 1 || !isValidRanges(stringRanges))
+			return null;
+		else if (weights.length != stringRanges.length / 2)
+			throw new InvalidParameterException(
+					"Need exactly one weight per range!");
+		return randString(stringRanges, new AliasSampler(weights),
+				lengthOfString);
+	}
+
+	/**
+	 * This generates a random string using a sampler that was already built
+	 * for the ranges. Building the sampler once and reusing it is the fastest
+	 * way to make a lot of strings with the same weights.
+	 * 
+	 * @param stringRanges
+	 *            The ranges that this string can have.
+	 * @param rangeSampler
+	 *            A sampler with one weight per range.
+	 * @param lengthOfString
+	 *            The size of the string.
+	 * @return A randomly generated string, or null if the ranges or length are
+	 *         invalid.
+	 */
+	public static String randString(int[] stringRanges,
+			AliasSampler rangeSampler, int lengthOfString) {
+		if (stringRanges == null)
+			throw new NullPointerException("Passed null for the string ranges.");
+		else if (rangeSampler == null)
+			throw new NullPointerException("Passed null for the sampler.");
+		else if (lengthOfString < 1 || !isValidRanges(stringRanges))
+			return null;
+		else if (rangeSampler.size() != stringRanges.length / 2)
+			throw new InvalidParameterException(
+					"Need exactly one weight per range!");
+		StringBuilder sequence = new StringBuilder(lengthOfString);
+		for (int ix = 0; ix < lengthOfString; ix++) {
+			int range = rangeSampler.sample();
+			sequence.append(randChar(stringRanges[range * 2],
+					stringRanges[range * 2 + 1]));
+		}
+		return sequence.toString();
+	}
+
+	/**
+	 * This works out how many characters are in each range. Using these as the
+	 * weights makes every character in every range equally likely, unlike
+	 * <code>randString(int[], int)</code>, which favors the characters of
+	 * narrow ranges.
+	 * 
+	 * @param stringRanges
+	 *            The ranges, in the same format as <code>randString</code>.
+	 * @return The width of each range, or null if the ranges are invalid.
+	 */
+	public static double[] rangeWidths(int[] stringRanges) {
+		if (stringRanges == null)
+			throw new NullPointerException("Passed null for the string ranges.");
+		else if (!isValidRanges(stringRanges))
+			return null;
+		double[] widths = new double[stringRanges.length / 2];
+		for (int ix = 0; ix < widths.length; ix++) {
+			widths[ix] = stringRanges[ix * 2 + 1] - stringRanges[ix * 2] + 1;
+		}
+		return widths;
+	}
+
+	/**
+	 * Checks that there is an even amount of numbers and that each pair makes
+	 * a valid range.
+	 */
+	private static boolean isValidRanges(int[] stringRanges) {
+		// Checks if the number is even.
+		if (stringRanges.length % 2 != 0)
+			return false;
+		// Checks to make sure that you entered in valid numbers.
+		for (int ix = 0; ix < stringRanges.length; ix += 2) {
+			// If the first # > second #, then it is invalid.
+			if (stringRanges[ix] > stringRanges[ix + 1]
+					|| stringRanges[ix] < 0 || stringRanges[ix] > 245
+					|| stringRanges[ix + 1] < 0
+					|| stringRanges[ix + 1] > 245
+					|| stringRanges[ix] == stringRanges[ix + 1])
+				return false;
+		}
+		return true;
+	}
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.hr.plib.core.string;
 
 import static java.lang.String.valueOf;
 
+import java.security.InvalidParameterException;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -70,6 +71,26 @@ public class PLStrings {
 		return new StringBuilder(string).append(c).toString();
 	}
 
+	/**
+	 * This compiles a set of patterns so that text can be searched for all of
+	 * them at once. A single pattern gets a Boyer-Moore-Horspool matcher, which
+	 * skips through the text, and more than one get an Aho-Corasick matcher,
+	 * which reads the text only once no matter how many patterns there are.
+	 * 
+	 * @param patterns
+	 *            - The patterns to search for, none of which can be empty.
+	 * @return A matcher for the patterns.
+	 * @throws NullPointerException
+	 *             - If the patterns or any one of them are null.
+	 * @throws InvalidParameterException
+	 *             - If there are no patterns or one of them is empty.
+	 */
+	public static PatternMatcher compile(String... patterns) {
+		if (patterns != null && patterns.length == 1)
+			return new HorspoolMatcher(patterns[0]);
+		return new AhoCorasickMatcher(patterns);
+	}
+
 	/**
 	 * This method gets the number of letters that are in a string.
 	 * 
@@ -198,17 +219,43 @@ public class PLStrings {
 
 	/**
 	 * This determines if a string is palindromic or not, or that it is
-	 * Symmetrical.
+	 * Symmetrical. It works on any character sequence, such as a
+	 * <code>StringBuilder</code>, without copying it.
 	 * 
 	 * @param s
 	 *            - The string given.
 	 * @return True if this is palindromic, else false.
 	 */
-	public boolean isPalindromic(String s) {
+	public static boolean isPalindromic(CharSequence s) {
 		if (s == null)
 			throw new NullPointerException("String cannot be null!");
-		for (int ix = 0; ix < s.length() / 2; ix++) {
-			if (s.charAt(ix) != s.charAt(s.length() - (ix + 1)))
+		for (int ix = 0, iy = s.length() - 1; ix < iy; ix++, iy--) {
+			if (s.charAt(ix) != s.charAt(iy))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * This determines if part of a character array is palindromic or not.
+	 * 
+	 * @param chars
+	 *            - The characters.
+	 * @param offset
+	 *            - The index of the first character to check.
+	 * @param length
+	 *            - The number of characters to check.
+	 * @return True if the characters are palindromic, else false.
+	 * @throws InvalidParameterException
+	 *             - If offset or length is invalid.
+	 */
+	public static boolean isPalindromic(char[] chars, int offset, int length) {
+		if (chars == null)
+			throw new NullPointerException("Array cannot be null!");
+		else if (offset < 0 || length < 0 || offset > chars.length - length)
+			throw new InvalidParameterException("Invalid offset or length!");
+		for (int ix = offset, iy = offset + length - 1; ix < iy; ix++, iy--) {
+			if (chars[ix] != chars[iy])
 				return false;
 		}
 		return true;
@@ -0,0 +1,215 @@
+package com.hr.plib.core.string;
+
+import java.nio.CharBuffer;
+import java.security.InvalidParameterException;
+
+/**
+ * This class finds every palindrome in a piece of text in linear time using
+ * Manacher's algorithm. Once some text has been analyzed, it can give the
+ * longest palindrome, the number of palindromic substrings, and whether any
+ * substring is a palindrome in constant time.
+ * <p>
+ * Nothing is copied out of the text, and the work arrays are kept between
+ * calls, so one analyzer can be reused for many long sequences without making
+ * any garbage. An analyzer should only be used by one thread at a time.
+ * </p>
+ */
+public class PalindromeAnalyzer {
+
+	/**
+	 * The number of odd length palindromes centered on each character.
+	 */
+	private int[] odd = new int[0];
+
+	/**
+	 * The number of even length palindromes centered just before each
+	 * character.
+	 */
+	private int[] even = new int[0];
+
+	/**
+	 * The length of the text that was analyzed.
+	 */
+	private int length;
+
+	/**
+	 * The start of the longest palindrome.
+	 */
+	private int longestStart;
+
+	/**
+	 * The length of the longest palindrome.
+	 */
+	private int longestLength;
+
+	/**
+	 * The number of palindromic substrings.
+	 */
+	private long count;
+
+	/**
+	 * This analyzes a piece of text, replacing whatever was analyzed before.
+	 * 
+	 * @param text
+	 *            - The text to analyze.
+	 * @return This analyzer.
+	 */
+	public PalindromeAnalyzer analyze(CharSequence text) {
+		if (text == null)
+			throw new NullPointerException("Text cannot be null!");
+		int n = text.length();
+		// Only grows the work arrays when they are too small.
+		if (odd.length < n) {
+			odd = new int[n];
+			even = new int[n];
+		}
+		length = n;
+		longestStart = 0;
+		longestLength = 0;
+		count = 0;
+
+		// The odd palindromes. [l, r] is the rightmost palindrome found so far.
+		for (int ix = 0, l = 0, r = -1; ix < n; ix++) {
+			int k = ix > r ? 1 : Math.min(odd[l + r - ix], r - ix + 1);
+			while (ix - k >= 0 && ix + k < n
+					&& text.charAt(ix - k) == text.charAt(ix + k))
+				k++;
+			odd[ix] = k;
+			count += k;
+			if (2 * k - 1 > longestLength) {
+				longestLength = 2 * k - 1;
+				longestStart = ix - k + 1;
+			}
+			if (ix + k - 1 > r) {
+				l = ix - k + 1;
+				r = ix + k - 1;
+			}
+		}
+
+		// The even palindromes.
+		for (int ix = 0, l = 0, r = -1; ix < n; ix++) {
+			int k = ix > r ? 0 : Math.min(even[l + r - ix + 1], r - ix + 1);
+			while (ix - k - 1 >= 0 && ix + k < n
+					&& text.charAt(ix - k - 1) == text.charAt(ix + k))
+				k++;
+			even[ix] = k;
+			count += k;
+			if (2 * k > longestLength) {
+				longestLength = 2 * k;
+				longestStart = ix - k;
+			}
+			if (ix + k - 1 > r) {
+				l = ix - k;
+				r = ix + k - 1;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * This analyzes part of a character array, replacing whatever was analyzed
+	 * before. Positions are relative to the offset.
+	 * 
+	 * @param chars
+	 *            - The characters.
+	 * @param offset
+	 *            - The index of the first character to analyze.
+	 * @param length
+	 *            - The number of characters to analyze.
+	 * @return This analyzer.
+	 * @throws InvalidParameterException
+	 *             - If offset or length is invalid.
+	 */
+	public PalindromeAnalyzer analyze(char[] chars, int offset, int length) {
+		if (chars == null)
+			throw new NullPointerException("Array cannot be null!");
+		else if (offset < 0 || length < 0 || offset > chars.length - length)
+			throw new InvalidParameterException("Invalid offset or length!");
+		// Wrapping shares the array rather than copying it.
+		return analyze(CharBuffer.wrap(chars, offset, length).slice());
+	}
+
+	/**
+	 * @return The length of the text that was analyzed.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return The index of the first character of the longest palindrome. If
+	 *         there is a tie, this is the first one found.
+	 */
+	public int getLongestStart() {
+		return longestStart;
+	}
+
+	/**
+	 * @return The length of the longest palindrome.
+	 */
+	public int getLongestLength() {
+		return longestLength;
+	}
+
+	/**
+	 * @return The number of palindromic substrings, counting each position
+	 *         separately, so "aaa" has six.
+	 */
+	public long getPalindromeCount() {
+		return count;
+	}
+
+	/**
+	 * @param center
+	 *            - The index of a character.
+	 * @return The length of the longest odd length palindrome centered on the
+	 *         character.
+	 */
+	public int getOddLength(int center) {
+		checkIndex(center);
+		return 2 * odd[center] - 1;
+	}
+
+	/**
+	 * @param center
+	 *            - The index of a character.
+	 * @return The length of the longest even length palindrome centered just
+	 *         before the character.
+	 */
+	public int getEvenLength(int center) {
+		checkIndex(center);
+		return 2 * even[center];
+	}
+
+	/**
+	 * This checks if a substring of the analyzed text is a palindrome, in
+	 * constant time.
+	 * 
+	 * @param start
+	 *            - The index of the first character.
+	 * @param end
+	 *            - The index just past the last character.
+	 * @return True if the substring is a palindrome, else false.
+	 * @throws InvalidParameterException
+	 *             - If start or end is invalid.
+	 */
+	public boolean isPalindrome(int start, int end) {
+		if (start < 0 || end > length || start > end)
+			throw new InvalidParameterException("Invalid start or end!");
+		int size = end - start;
+		if (size == 0)
+			return true;
+		int center = start + size / 2;
+		return (size & 1) == 1 ? odd[center] >= (size + 1) / 2
+				: even[center] >= size / 2;
+	}
+
+	/**
+	 * Makes sure an index is inside the analyzed text.
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Invalid index!");
+	}
+
+}
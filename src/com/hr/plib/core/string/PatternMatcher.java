@@ -0,0 +1,83 @@
+package com.hr.plib.core.string;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This searches text for a fixed set of patterns. Matches may overlap, so
+ * searching "aaa" for "aa" finds two matches.
+ * <p>
+ * Byte buffers are read one character per byte, the same as ISO-8859-1, so
+ * that a memory-mapped file can be searched without decoding it first.
+ * Patterns with characters above 255 can never match a byte buffer.
+ * </p>
+ * 
+ * @see PLStrings#compile(String...)
+ */
+public interface PatternMatcher {
+
+	/**
+	 * @return The number of patterns.
+	 */
+	public int getPatternCount();
+
+	/**
+	 * @param index
+	 *            - The index of the pattern.
+	 * @return The pattern.
+	 */
+	public String getPattern(int index);
+
+	/**
+	 * @return The length of the longest pattern.
+	 */
+	public int getMaxPatternLength();
+
+	/**
+	 * This finds every match in some text.
+	 * 
+	 * @param text
+	 *            - The text to search.
+	 * @param offset
+	 *            - The amount added to every position that is reported, for
+	 *            when the text is part of something bigger.
+	 * @param listener
+	 *            - The listener to tell about each match.
+	 */
+	public void search(CharSequence text, long offset, MatchListener listener);
+
+	/**
+	 * This finds every match between the position and the limit of a buffer,
+	 * without moving its position.
+	 * 
+	 * @param bytes
+	 *            - The bytes to search.
+	 * @param offset
+	 *            - The amount added to every position that is reported, which
+	 *            are otherwise relative to the position of the buffer.
+	 * @param listener
+	 *            - The listener to tell about each match.
+	 */
+	public void search(ByteBuffer bytes, long offset, MatchListener listener);
+
+	/**
+	 * This counts the matches of each pattern in some text.
+	 * 
+	 * @param text
+	 *            - The text to search.
+	 * @param counts
+	 *            - The counts of each pattern, which are added to.
+	 */
+	public void count(CharSequence text, long[] counts);
+
+	/**
+	 * This counts the matches of each pattern between the position and the
+	 * limit of a buffer, without moving its position.
+	 * 
+	 * @param bytes
+	 *            - The bytes to search.
+	 * @param counts
+	 *            - The counts of each pattern, which are added to.
+	 */
+	public void count(ByteBuffer bytes, long[] counts);
+
+}
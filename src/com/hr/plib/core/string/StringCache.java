@@ -0,0 +1,107 @@
+package com.hr.plib.core.string;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * This remembers the <code>toString()</code> of objects, so that printing the
+ * same objects over and over, like a menu that is drawn every frame, only
+ * works out each string once. Objects are looked up by
+ * <code>equals()</code>, and are let go of as soon as nothing else refers to
+ * them.
+ * <p>
+ * This is only safe for immutable objects. If an object changes what its
+ * <code>toString()</code> returns, the old string will keep being used until
+ * the object is passed to <code>invalidate()</code>. The cache can be shared
+ * between threads.
+ * </p>
+ * <p>
+ * Text, such as a <code>String</code>, is never cached, since it is already
+ * its own string. A <code>String</code> would also be its own value, which
+ * would keep it from ever being let go of.
+ * </p>
+ */
+public class StringCache {
+
+	/**
+	 * The strings, by object.
+	 */
+	private final Map<Object, String> strings = new WeakHashMap<>();
+
+	/**
+	 * The number of lookups that found a string.
+	 */
+	private long hitCount;
+
+	/**
+	 * The number of lookups that had to call <code>toString()</code>.
+	 */
+	private long missCount;
+
+	/**
+	 * This gets the string of an object, calling its <code>toString()</code>
+	 * only if it is not already known. Text is not cached, and just has its
+	 * <code>toString()</code> called.
+	 * 
+	 * @param object
+	 *            The object.
+	 * @return The object's string.
+	 * @throws NullPointerException
+	 *             If the object is null.
+	 */
+	public synchronized String get(Object object) {
+		if (object == null)
+			throw new NullPointerException("Object cannot be null!");
+		else if (object instanceof CharSequence)
+			return object.toString();
+		String string = strings.get(object);
+		if (string != null) {
+			hitCount++;
+			return string;
+		}
+		missCount++;
+		string = object.toString();
+		strings.put(object, string);
+		return string;
+	}
+
+	/**
+	 * This forgets the string of an object, so that it is worked out again
+	 * the next time.
+	 * 
+	 * @param object
+	 *            The object.
+	 */
+	public synchronized void invalidate(Object object) {
+		strings.remove(object);
+	}
+
+	/**
+	 * This forgets every string.
+	 */
+	public synchronized void clear() {
+		strings.clear();
+	}
+
+	/**
+	 * @return The number of strings being remembered.
+	 */
+	public synchronized int size() {
+		return strings.size();
+	}
+
+	/**
+	 * @return The number of lookups that found a string.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return The number of lookups that had to call <code>toString()</code>.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+}
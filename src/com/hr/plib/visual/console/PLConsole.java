@@ -3,6 +3,7 @@ package com.hr.plib.visual.console;
 import static java.lang.System.out;
 
 import com.hr.plib.core.array.PLArrays;
+import com.hr.plib.core.string.StringCache;
 
 /**
  * This class handles all of the console-related menu methods. It can print
@@ -101,6 +102,45 @@ public class PLConsole {
 		printMenu(PLArrays.findStrings(objects), text, type);
 	}
 
+	/**
+	 * This menu works like <code>printMenu(Object[] objects)</code>, but gets
+	 * each object's name from a cache, so a menu that is printed over and over
+	 * only calls each toString method once. The objects should be immutable.
+	 * This method does not accept null values passed on as arguments & will
+	 * throw a NullPointerException if it detects a null argument.
+	 * 
+	 * @param objects
+	 *            The array of objects to use.
+	 * @param cache
+	 *            The cache of names, which should be kept between menus.
+	 */
+	public static void printMenu(Object[] objects, StringCache cache) {
+		printMenu(PLArrays.findStrings(objects, cache));
+	}
+
+	/**
+	 * This works like
+	 * <code>printMenu(Object[] objects, String text, PrintType type)</code>,
+	 * but gets each object's name from a cache, so a menu that is printed over
+	 * and over only calls each toString method once. The objects should be
+	 * immutable. This method does not accept null values passed on as
+	 * arguments & will throw a NullPointerException if it detects a null
+	 * argument.
+	 * 
+	 * @param objects
+	 *            The objects to use in the menu.
+	 * @param cache
+	 *            The cache of names, which should be kept between menus.
+	 * @param text
+	 *            The introduction or ending text.
+	 * @param type
+	 *            The type of the text string. Is it a prefix or a suffix?
+	 */
+	public static void printMenu(Object[] objects, StringCache cache,
+			String text, PrintType type) {
+		printMenu(PLArrays.findStrings(objects, cache), text, type);
+	}
+
 	/**
 	 * This prints a menu with a given set of items to print. This method does
 	 * not accept null values passed on as arguments & will throw a